@@ -0,0 +1,130 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Asynchronous, deadline-bounded computer moves. A request returns a
+ * {@link DecisionTicket} at once, seeded with a greedy move from
+ * {@link RolloutPolicy}, and decides in the background: {@link MctsPlayer}s
+ * search anytime until the deadline, other computer players run their own
+ * decision logic. When the deadline passes the ticket completes with the
+ * best move found so far. A new request cancels the one still pending,
+ * since it was made for a state that no longer exists.
+ *
+ * The background work runs on a copy of the player and its game, taken when
+ * the request is made, so the live player is never touched off its thread.
+ * Only shared-scorecard games can be copied; elsewhere the greedy move is
+ * the decision. The executors belong to the caller, who shuts them down.
+ */
+public class DecisionEngine {
+    private final ExecutorService searchExecutor;
+    private final ScheduledExecutorService timer;
+    private DecisionTicket pending;
+
+    public DecisionEngine(ExecutorService searchExecutor, ScheduledExecutorService timer) {
+        if (searchExecutor == null || timer == null) {
+            throw new IllegalArgumentException("Executors cannot be null");
+        }
+        this.searchExecutor = searchExecutor;
+        this.timer = timer;
+    }
+
+    /**
+     * Decide the next move of {@code player}, whose turn is in progress in {@code round}.
+     * Call it from the game's own thread.
+     *
+     * @param timeoutMillis time until the ticket completes with the best move so far
+     */
+    public synchronized DecisionTicket request(ComputerPlayer player, Round round, long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        Turn turn = round.getCurrentTurn();
+        if (turn == null || turn.isComplete()) {
+            throw new IllegalStateException("No turn in progress");
+        }
+        cancelPending();
+
+        ScoreCard scoreCard = round.getScoreCard(player);
+        int dice = PackedDice.pack(turn.getDice());
+        int rollsLeft = turn.getRollsLeft();
+        DecisionTicket ticket = new DecisionTicket(greedyMove(dice, rollsLeft, scoreCard.getFilledMask()));
+        pending = ticket;
+        if (!round.hasSharedScoreCard() || rollsLeft == GameState.MAX_ROLLS) {
+            // Nothing to copy, or nothing rolled yet: the greedy move is the decision
+            ticket.finish();
+            return ticket;
+        }
+
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        GameState state = round.toGameState();
+        ComputerPlayer copy = player.copyForDecision(round);
+        searchExecutor.execute(() -> {
+            if (ticket.isCancelled()) return;
+            try {
+                if (copy instanceof MctsPlayer) {
+                    ticket.offer(((MctsPlayer) copy).search(state, deadline, ticket::isCancelled, ticket::offer));
+                } else {
+                    ticket.offer(decide(copy));
+                }
+                ticket.finish();
+            } catch (RuntimeException e) {
+                ticket.fail(e);
+            }
+        });
+        timer.schedule(ticket::finish, timeoutMillis, TimeUnit.MILLISECONDS);
+        return ticket;
+    }
+
+    /**
+     * Cancel the pending request, e.g. when the user skips the turn
+     */
+    public synchronized void cancelPending() {
+        if (pending != null) {
+            pending.cancel();
+            pending = null;
+        }
+    }
+
+    /**
+     * Roll again or score, as the copied player's own logic decides, the way {@code TurnDriver} asks it
+     */
+    private static Move decide(ComputerPlayer copy) {
+        Round round = copy.getCurrentRound();
+        ScoreCard scoreCard = round.getScoreCard(copy);
+        if (round.getCurrentTurn().getRollsLeft() > 0 && copy.shouldRollAgain(round)) {
+            return Move.roll(copy.determineDiceToHold());
+        }
+        ScoreCategory category = copy.determineNextMove(scoreCard);
+        return category != null && !scoreCard.isScored(category) ? Move.score(category) : null;
+    }
+
+    /**
+     * Move available instantly: the rollout policy's hold, or its category choice
+     */
+    static Move greedyMove(int dice, int rollsLeft, int filledMask) {
+        if (rollsLeft == GameState.MAX_ROLLS) {
+            return Move.roll(Collections.emptyList());
+        }
+        if (rollsLeft > 0) {
+            int hold = RolloutPolicy.chooseHolds(dice, filledMask);
+            if (hold != (1 << PackedDice.NUM_DICE) - 1) {
+                return Move.roll(PackedDice.heldIndices(hold));
+            }
+        }
+        return Move.score(ScoreCategory.values()[RolloutPolicy.chooseCategory(dice, filledMask)]);
+    }
+
+    /**
+     * Factory for the daemon threads of the executors handed to the engine
+     */
+    public static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.Move;
+import java.util.concurrent.*;
+
+/**
+ * Handle on one pending {@link DecisionEngine} request. It always holds a
+ * usable move: a greedy fallback at first, then whatever the search reports
+ * as it improves. The result completes with the best move so far when the
+ * search finishes or the deadline passes, whichever comes first, or
+ * exceptionally with a {@link CancellationException} once cancelled.
+ */
+public class DecisionTicket {
+    private final CompletableFuture<Move> result = new CompletableFuture<>();
+    private volatile Move bestSoFar;
+    private volatile boolean cancelled;
+
+    DecisionTicket(Move fallback) {
+        this.bestSoFar = fallback;
+    }
+
+    public CompletableFuture<Move> getResult() {
+        return result;
+    }
+
+    /**
+     * Best move found so far; never null
+     */
+    public Move getBestSoFar() {
+        return bestSoFar;
+    }
+
+    /**
+     * Block until the decision completes
+     *
+     * @throws CancellationException if the request was cancelled
+     */
+    public Move await() throws InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Decision failed", e.getCause());
+        }
+    }
+
+    /**
+     * Stop the search and fail the result; used when the game state changes
+     */
+    public void cancel() {
+        cancelled = true;
+        result.cancel(false);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    void offer(Move move) {
+        if (move != null && !result.isDone()) {
+            bestSoFar = move;
+        }
+    }
+
+    /**
+     * Complete with the best move so far; later calls have no effect
+     */
+    void finish() {
+        result.complete(bestSoFar);
+    }
+
+    void fail(Throwable error) {
+        result.completeExceptionally(error);
+    }
+}
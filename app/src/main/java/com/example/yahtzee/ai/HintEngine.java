@@ -0,0 +1,116 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.callbacks.HintCallback;
+import com.example.yahtzee.model.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computes hints speculatively on a background thread as soon as dice are
+ * rolled, so asking for one is a lookup. Each hint weighs every hold mask by
+ * the exact expected points of the rest of the turn ({@link TurnEvaluator}).
+ * The evaluator depends only on the open categories, so it is built once per
+ * turn and reused for every roll in it. A newer request supersedes any that
+ * has not started yet.
+ *
+ * By default a hint looks no further than the turn. With a {@link Lookahead}
+ * each category is also worth what it leaves for the rest of the game, which
+ * is only right when the player fills a card alone.
+ */
+public class HintEngine {
+    private static final long IDLE_SECONDS = 30;
+
+    /**
+     * Evaluator valuing the rest of the game from a card, or null where none is known
+     */
+    public interface Lookahead {
+        TurnEvaluator evaluator(int filledMask, int upperScore);
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Hint latest;
+    private volatile Lookahead lookahead;
+    private TurnEvaluator evaluator;
+    private int evaluatorUpper;
+    private Lookahead evaluatorLookahead;
+
+    public HintEngine() {
+        this.executor = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "hints");
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Value whole games from here on (null for single turns); hints already computed are dropped
+     */
+    public void setLookahead(Lookahead lookahead) {
+        this.lookahead = lookahead;
+        latest = null;
+    }
+
+    /**
+     * Start computing the hint for a position unless it is already known.
+     * {@code callback} (may be null) hears about it when it is ready.
+     */
+    public void requestHint(int packedDice, int rollsLeft, int filledMask, int upperScore, HintCallback callback) {
+        Hint known = latest;
+        if (known != null && known.appliesTo(packedDice, rollsLeft, filledMask)) {
+            if (callback != null) callback.onHintReady(known);
+            return;
+        }
+        long requestGeneration = generation.incrementAndGet();
+        executor.execute(() -> {
+            if (requestGeneration != generation.get()) return;
+            Hint hint = compute(packedDice, rollsLeft, filledMask, upperScore);
+            latest = hint;
+            if (callback != null && requestGeneration == generation.get()) {
+                callback.onHintReady(hint);
+            }
+        });
+    }
+
+    /**
+     * The hint for a position if it has been computed, otherwise null
+     */
+    public Hint getHint(int packedDice, int rollsLeft, int filledMask) {
+        Hint known = latest;
+        return known != null && known.appliesTo(packedDice, rollsLeft, filledMask) ? known : null;
+    }
+
+    public void shutdown() {
+        generation.incrementAndGet();
+        executor.shutdownNow();
+    }
+
+    private Hint compute(int packedDice, int rollsLeft, int filledMask, int upperScore) {
+        Lookahead current = lookahead;
+        int upper = current != null ? Math.min(upperScore, ScoreCard.UPPER_BONUS_THRESHOLD) : 0;
+        if (evaluator == null || evaluator.getFilledMask() != filledMask || evaluatorUpper != upper
+            || evaluatorLookahead != current) {
+            evaluator = current != null ? current.evaluator(filledMask, upper) : null;
+            if (evaluator == null) {
+                evaluator = new TurnEvaluator(filledMask);
+            }
+            evaluatorUpper = upper;
+            evaluatorLookahead = current;
+        }
+        ScoreCategory category = evaluator.bestCategory(packedDice);
+        int categoryScore = ScoreTable.score(packedDice, category);
+        int hold = evaluator.bestHold(packedDice, rollsLeft);
+        if (hold < 0) {
+            return new Hint(packedDice, rollsLeft, filledMask, Collections.emptyList(), true, category,
+                categoryScore, categoryScore);
+        }
+        // Points now plus what rolling gains over scoring now, which with a lookahead includes later turns
+        double expected = categoryScore + evaluator.holdValue(packedDice, rollsLeft, hold)
+            - evaluator.stopValue(packedDice);
+        return new Hint(packedDice, rollsLeft, filledMask, PackedDice.heldIndices(hold), false, category,
+            categoryScore, expected);
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.callbacks.GameStateCallback;
+import com.example.yahtzee.model.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.IntStream;
+
+/**
+ * Computer player that decides holds and categories by Monte Carlo tree
+ * search over the current turn, valuing leaves by playouts to the end of the
+ * shared-scorecard game. Several independent trees are searched in parallel
+ * (root parallelism) and their root visit counts are summed. Each decision
+ * stops at an iteration budget, a time budget, or whichever comes first, and
+ * the trees are kept between the decisions of a turn so the subtree for the
+ * dice actually rolled is not searched again from scratch.
+ *
+ * Games with one scorecard per player fall back to the rule-based heuristics.
+ */
+public class MctsPlayer extends ComputerPlayer {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_ITERATIONS = 20_000;
+    public static final double DEFAULT_EXPLORATION = 0.5;
+    // Iterations per tree between budget checks and best-move updates
+    private static final int SLICE_ITERATIONS = 512;
+
+    private int iterationBudget = DEFAULT_ITERATIONS;
+    private long timeBudgetMillis;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private double exploration = DEFAULT_EXPLORATION;
+    private long seed = new Random().nextLong();
+
+    // Search state lives for one turn and is never saved with the game
+    private transient MctsTree[] trees;
+    private transient GameState decidedState;
+    private transient int[] decidedActions;
+    private transient int[] decidedVisits;
+    private transient int decidedAction;
+
+    public MctsPlayer(String name, GameStateCallback callback) {
+        super(name, callback, ComputerPlayerParameters.defaults());
+    }
+
+    @Override
+    protected ComputerPlayer newInstance() {
+        MctsPlayer copy = new MctsPlayer(getName(), null);
+        copy.iterationBudget = iterationBudget;
+        copy.timeBudgetMillis = timeBudgetMillis;
+        copy.threads = threads;
+        copy.exploration = exploration;
+        copy.seed = seed;
+        return copy;
+    }
+
+    /**
+     * Total iterations per decision across all trees; 0 to rely on the time budget alone
+     */
+    public void setIterationBudget(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Iteration budget cannot be negative");
+        }
+        this.iterationBudget = iterations;
+    }
+
+    /**
+     * Wall-clock limit per decision; 0 to rely on the iteration budget alone
+     */
+    public void setTimeBudgetMillis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Time budget cannot be negative");
+        }
+        this.timeBudgetMillis = millis;
+    }
+
+    public void setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads must be positive");
+        }
+        this.threads = threads;
+        this.trees = null;
+    }
+
+    public void setExploration(double exploration) {
+        if (exploration < 0) {
+            throw new IllegalArgumentException("Exploration cannot be negative");
+        }
+        this.exploration = exploration;
+        this.trees = null;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.trees = null;
+    }
+
+    @Override
+    public void takeTurn(Round round) {
+        super.takeTurn(round);
+        decidedState = null;
+    }
+
+    @Override
+    public boolean shouldRollAgain(Round round) {
+        Turn turn = round.getCurrentTurn();
+        if (!round.hasSharedScoreCard() || turn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.shouldRollAgain(round);
+        }
+        if (turn.getRollsLeft() == 0) {
+            return false;
+        }
+        return decide(round.toGameState()) < MctsTree.SCORE_ACTION;
+    }
+
+    @Override
+    public List<Integer> determineDiceToHold() {
+        Round round = getCurrentRound();
+        if (round == null || !round.hasSharedScoreCard() || currentTurn == null
+            || currentTurn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.determineDiceToHold();
+        }
+        GameState state = round.toGameState();
+        int action = decide(state);
+        if (action >= MctsTree.SCORE_ACTION) {
+            return Collections.emptyList();
+        }
+        return heldIndices(state.getDice(), action);
+    }
+
+    @Override
+    public ScoreCategory determineNextMove(ScoreCard scoreCard) {
+        Round round = getCurrentRound();
+        if (round == null || !round.hasSharedScoreCard() || currentTurn == null
+            || currentTurn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.determineNextMove(scoreCard);
+        }
+        decide(round.toGameState());
+        return bestCategory();
+    }
+
+    @Override
+    public ScoreCategory chooseCategory(Round round, List<ScoreCategory> availableCategories) {
+        if (!round.hasSharedScoreCard() || round.getCurrentTurn().getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.chooseCategory(round, availableCategories);
+        }
+        decide(round.toGameState());
+        return bestCategory();
+    }
+
+    /**
+     * Search {@code state} within the player's budgets and return the most
+     * visited root action. The same state (whatever is held) is only searched once.
+     */
+    int decide(GameState state) {
+        GameState key = state.withHeldMask(0);
+        if (key.equals(decidedState)) {
+            return decidedAction;
+        }
+        if (iterationBudget == 0 && timeBudgetMillis == 0) {
+            throw new IllegalStateException("Either an iteration or a time budget is required");
+        }
+        long deadline = timeBudgetMillis > 0 ? System.nanoTime() + timeBudgetMillis * 1_000_000L : 0;
+        return search(key, iterationBudget > 0 ? iterationBudget : Integer.MAX_VALUE, deadline, () -> false, null);
+    }
+
+    /**
+     * Anytime search: run in slices until {@code iterations} are spent, the
+     * deadline (System.nanoTime, 0 for none) passes or {@code cancelled}
+     * returns true, reporting the best move after every slice that changes it.
+     * The player's own budgets do not apply.
+     *
+     * @return the best move found, or null if cancelled before the first slice finished
+     */
+    public Move search(GameState state, long deadline, BooleanSupplier cancelled, Consumer<Move> onImproved) {
+        if (state.getRollsLeft() == GameState.MAX_ROLLS) {
+            // Nothing rolled yet, so the only sensible move is the first roll
+            return Move.roll(Collections.emptyList());
+        }
+        GameState key = state.withHeldMask(0);
+        int action = search(key, Integer.MAX_VALUE, deadline, cancelled,
+            improved -> {
+                if (onImproved != null) onImproved.accept(toMove(key, improved));
+            });
+        return action < 0 ? null : toMove(key, action);
+    }
+
+    private synchronized int search(GameState key, int iterations, long deadline, BooleanSupplier cancelled,
+                                    IntConsumer onImproved) {
+        if (trees == null) {
+            trees = new MctsTree[threads];
+            for (int t = 0; t < threads; t++) {
+                trees[t] = new MctsTree(seed + t, exploration);
+            }
+        }
+        for (MctsTree tree : trees) {
+            tree.moveTo(key);
+        }
+        decidedState = null;
+        int best = -1;
+        int done = 0;
+        while (done < iterations && (deadline == 0 || System.nanoTime() < deadline) && !cancelled.getAsBoolean()) {
+            int slice = (int) Math.min(SLICE_ITERATIONS, ((long) iterations - done + threads - 1) / threads);
+            IntStream.range(0, trees.length).parallel().forEach(t -> trees[t].search(slice, deadline));
+            done += slice * threads;
+            int action = mergeRoots();
+            if (action != best) {
+                best = action;
+                if (onImproved != null) onImproved.accept(action);
+            }
+        }
+        if (best >= 0) {
+            decidedState = key;
+            decidedAction = best;
+        }
+        return best;
+    }
+
+    /**
+     * Sum the root statistics of all trees and return the most visited action;
+     * every tree's root has the same actions in the same order
+     */
+    private int mergeRoots() {
+        MctsTree.Node first = trees[0].getRoot();
+        int[] visits = new int[first.actions.length];
+        double[] rewards = new double[first.actions.length];
+        for (MctsTree tree : trees) {
+            MctsTree.Node root = tree.getRoot();
+            for (int a = 0; a < visits.length; a++) {
+                visits[a] += root.visits[a];
+                rewards[a] += root.rewards[a];
+            }
+        }
+        int best = 0;
+        for (int a = 1; a < visits.length; a++) {
+            if (visits[a] > visits[best]) {
+                best = a;
+            }
+        }
+        decidedActions = first.actions;
+        decidedVisits = visits;
+        setLastDecisionExplanation(describe(first.actions[best], visits[best],
+            rewards[best] / Math.max(1, visits[best])));
+        return first.actions[best];
+    }
+
+    private Move toMove(GameState state, int action) {
+        if (action >= MctsTree.SCORE_ACTION) {
+            return Move.score(ScoreCategory.values()[action - MctsTree.SCORE_ACTION]);
+        }
+        return Move.roll(heldIndices(state.getDice(), action));
+    }
+
+    /**
+     * Most visited scoring action of the last search, even if rolling was preferred
+     */
+    private ScoreCategory bestCategory() {
+        int best = -1;
+        for (int a = 0; a < decidedActions.length; a++) {
+            if (decidedActions[a] >= MctsTree.SCORE_ACTION && (best < 0 || decidedVisits[a] > decidedVisits[best])) {
+                best = a;
+            }
+        }
+        return ScoreCategory.values()[decidedActions[best] - MctsTree.SCORE_ACTION];
+    }
+
+    /**
+     * Map a hold on the sorted dice back to indices of the actual dice
+     */
+    private static List<Integer> heldIndices(int dice, int sortedHold) {
+        int sorted = MctsTree.sortDice(dice);
+        int[] wanted = new int[7];
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            if ((sortedHold & (1 << i)) != 0) {
+                wanted[PackedDice.get(sorted, i)]++;
+            }
+        }
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            int face = PackedDice.get(dice, i);
+            if (wanted[face] > 0) {
+                wanted[face]--;
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+
+    private static String describe(int action, int visits, double value) {
+        String choice = action >= MctsTree.SCORE_ACTION
+            ? "score " + ScoreCategory.values()[action - MctsTree.SCORE_ACTION].getDisplayName()
+            : "reroll keeping mask " + Integer.toBinaryString(action);
+        return String.format(Locale.US, "Search chose to %s (%d playouts, value %.2f)", choice, visits, value);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Single-threaded UCT search over the decisions of one turn. Decision nodes
+ * are (sorted dice, rolls left); their actions are the distinct holds and the
+ * open categories, and a hold leads to a chance node keyed by the sorted dice
+ * it rolls. Leaves are valued by a {@link RolloutPolicy} playout to the end
+ * of the game. {@link MctsPlayer} runs several trees in parallel and keeps
+ * each one between the decisions of a turn.
+ */
+final class MctsTree {
+    /** Actions at or above this value score category {@code action - SCORE_ACTION} */
+    static final int SCORE_ACTION = 1 << PackedDice.NUM_DICE;
+    private static final int ALL_HELD = SCORE_ACTION - 1;
+    // Decisions per turn are bounded by the rolls, so paths are short
+    private static final int MAX_DEPTH = GameState.MAX_ROLLS + 1;
+    // Solo games have no opponent to beat, so the reward is the final score on this scale
+    private static final double SOLO_SCORE_SCALE = 300.0;
+    // Index of each sorted multiset of re-rolled faces among those of its size
+    private static final short[] OUTCOME_INDEX = new short[PackedDice.PACKED_RANGE];
+    // Distinct multisets of k re-rolled dice, C(k + 5, 5)
+    private static final int[] OUTCOME_COUNT = new int[PackedDice.NUM_DICE + 1];
+
+    static {
+        for (int k = 0; k <= PackedDice.NUM_DICE; k++) {
+            indexOutcomes(k, 0, 1, 0);
+        }
+    }
+
+    private final SplittableRandom random;
+    private final double exploration;
+    private final Node[] pathNodes = new Node[MAX_DEPTH];
+    private final int[] pathActions = new int[MAX_DEPTH];
+    private RolloutState base;
+    private RolloutState scratch;
+    private int seat;
+    private Node root;
+
+    MctsTree(long seed, double exploration) {
+        this.random = new SplittableRandom(seed);
+        this.exploration = exploration;
+    }
+
+    /**
+     * Point the search at {@code state}. If the state is the outcome of a
+     * hold already explored from the current root, that subtree (and its
+     * statistics) becomes the new root; otherwise the tree starts over.
+     */
+    void moveTo(GameState state) {
+        int dice = sortDice(state.getDice());
+        int rolls = state.getRollsLeft();
+        if (root != null && base.filled == state.getFilledMask() && seat == state.getCurrentSeat()
+            && base.players == state.getPlayerCount()) {
+            if (root.dice == dice && root.rolls == rolls) {
+                return;
+            }
+            Node child = root.findOutcome(dice, rolls);
+            if (child != null) {
+                root = child;
+                return;
+            }
+        }
+        if (base == null || base.players != state.getPlayerCount()) {
+            base = new RolloutState(state.getPlayerCount());
+            scratch = new RolloutState(state.getPlayerCount());
+        }
+        base.reset(state);
+        seat = state.getCurrentSeat();
+        root = new Node(dice, rolls, base.filled);
+    }
+
+    /**
+     * Run iterations until {@code iterations} are done or {@code deadline}
+     * (System.nanoTime) passes; a deadline of 0 means none
+     */
+    void search(int iterations, long deadline) {
+        for (int i = 0; i < iterations; i++) {
+            if (deadline != 0 && (i & 63) == 0 && System.nanoTime() >= deadline) {
+                break;
+            }
+            iterate();
+        }
+    }
+
+    Node getRoot() {
+        return root;
+    }
+
+    private void iterate() {
+        Node node = root;
+        int depth = 0;
+        double reward;
+        while (true) {
+            int a = node.select(exploration);
+            pathNodes[depth] = node;
+            pathActions[depth] = a;
+            depth++;
+            int action = node.actions[a];
+            if (action >= SCORE_ACTION) {
+                reward = playOut(node.dice, node.rolls, action - SCORE_ACTION);
+                break;
+            }
+            int rerolled = reroll(node.dice, action);
+            int outcome = outcomeIndex(rerolled, action);
+            int rolled = sortDice(rerolled);
+            Node child = node.outcome(a, outcome);
+            if (child == null) {
+                child = node.addOutcome(a, outcome, rolled, base.filled);
+                reward = playOut(rolled, node.rolls - 1, -1);
+                break;
+            }
+            node = child;
+        }
+        for (int d = 0; d < depth; d++) {
+            pathNodes[d].update(pathActions[d], reward);
+        }
+    }
+
+    /**
+     * Value of finishing the game from the given turn position, optionally
+     * scoring {@code category} straight away
+     */
+    private double playOut(int dice, int rolls, int category) {
+        scratch.copyFrom(base);
+        scratch.dice = dice;
+        scratch.rolls = rolls;
+        if (category >= 0) {
+            scratch.score(category);
+        }
+        RolloutPolicy.playOut(scratch, random);
+        if (scratch.players == 1) {
+            return Math.min(1.0, scratch.totals[0] / SOLO_SCORE_SCALE);
+        }
+        return scratch.winShare(seat);
+    }
+
+    private int reroll(int dice, int hold) {
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            if ((hold & (1 << i)) == 0) {
+                dice = PackedDice.set(dice, i, random.nextInt(6) + 1);
+            }
+        }
+        return dice;
+    }
+
+    /**
+     * Dice in ascending order, so equal hands share a node
+     */
+    static int sortDice(int dice) {
+        int counts = 0;
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            counts += 1 << (PackedDice.get(dice, i) * 3);
+        }
+        int sorted = 0;
+        int index = 0;
+        for (int face = 1; face <= 6; face++) {
+            for (int n = (counts >>> (face * 3)) & 7; n > 0; n--) {
+                sorted = PackedDice.set(sorted, index++, face);
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Index of the faces a hold re-rolled, among the outcomes of re-rolling that many dice
+     */
+    static int outcomeIndex(int rolledDice, int hold) {
+        int free = 0;
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            if ((hold & (1 << i)) == 0) {
+                free |= PackedDice.DIE_MASK << (i * PackedDice.BITS_PER_DIE);
+            }
+        }
+        // sortDice drops the zeroed held dice and packs the rest from die 0
+        return OUTCOME_INDEX[sortDice(rolledDice & free)];
+    }
+
+    /**
+     * Number the sorted multisets of {@code size} faces in order, starting at {@code minFace}
+     */
+    private static void indexOutcomes(int size, int index, int minFace, int packed) {
+        if (index == size) {
+            OUTCOME_INDEX[packed] = (short) OUTCOME_COUNT[size]++;
+            return;
+        }
+        for (int face = minFace; face <= 6; face++) {
+            indexOutcomes(size, index + 1, face, PackedDice.set(packed, index, face));
+        }
+    }
+
+    static final class Node {
+        final int dice;
+        final int rolls;
+        final int[] actions;
+        final int[] visits;
+        final double[] rewards;
+        private int totalVisits;
+        // Per hold action: decision nodes by outcomeIndex, allocated on first visit
+        private final Node[][] outcomes;
+
+        Node(int dice, int rolls, int filled) {
+            this.dice = dice;
+            this.rolls = rolls;
+            this.actions = legalActions(dice, rolls, filled);
+            this.visits = new int[actions.length];
+            this.rewards = new double[actions.length];
+            this.outcomes = new Node[actions.length][];
+        }
+
+        int select(double exploration) {
+            if (totalVisits < actions.length) {
+                // Try every action once before trusting the averages
+                return totalVisits;
+            }
+            double logTotal = Math.log(totalVisits);
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int a = 0; a < actions.length; a++) {
+                double value = rewards[a] / visits[a] + exploration * Math.sqrt(logTotal / visits[a]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = a;
+                }
+            }
+            return best;
+        }
+
+        void update(int action, double reward) {
+            visits[action]++;
+            rewards[action] += reward;
+            totalVisits++;
+        }
+
+        Node outcome(int action, int outcome) {
+            Node[] children = outcomes[action];
+            return children != null ? children[outcome] : null;
+        }
+
+        Node addOutcome(int action, int outcome, int rolledDice, int filled) {
+            if (outcomes[action] == null) {
+                int rerolled = PackedDice.NUM_DICE - Integer.bitCount(actions[action]);
+                outcomes[action] = new Node[OUTCOME_COUNT[rerolled]];
+            }
+            Node child = new Node(rolledDice, rolls - 1, filled);
+            outcomes[action][outcome] = child;
+            return child;
+        }
+
+        Node findOutcome(int rolledDice, int rollsLeft) {
+            if (rollsLeft != rolls - 1) return null;
+            for (Node[] children : outcomes) {
+                if (children == null) continue;
+                for (Node child : children) {
+                    if (child != null && child.dice == rolledDice) return child;
+                }
+            }
+            return null;
+        }
+
+        int getTotalVisits() {
+            return totalVisits;
+        }
+
+        /**
+         * Holds that keep distinct sets of values (never all five), then the open categories
+         */
+        private static int[] legalActions(int dice, int rolls, int filled) {
+            int[] actions = new int[SCORE_ACTION + ScoreTable.CATEGORIES];
+            int count = 0;
+            if (rolls > 0) {
+                // On sorted dice, a hold is redundant unless each kept die's
+                // lower equal neighbour is kept too
+                for (int hold = 0; hold < ALL_HELD; hold++) {
+                    boolean canonical = true;
+                    for (int i = 1; i < PackedDice.NUM_DICE && canonical; i++) {
+                        if ((hold & (1 << i)) != 0 && (hold & (1 << (i - 1))) == 0
+                            && PackedDice.get(dice, i) == PackedDice.get(dice, i - 1)) {
+                            canonical = false;
+                        }
+                    }
+                    if (canonical) {
+                        actions[count++] = hold;
+                    }
+                }
+            }
+            for (int ordinal = 0; ordinal < ScoreTable.CATEGORIES; ordinal++) {
+                if ((filled & (1 << ordinal)) == 0) {
+                    actions[count++] = SCORE_ACTION + ordinal;
+                }
+            }
+            return Arrays.copyOf(actions, count);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import java.util.SplittableRandom;
+
+/**
+ * Cheap playout policy for Monte Carlo continuations of a shared-scorecard
+ * game. It works on primitives and {@link ScoreTable} lookups only: keep the
+ * most common face (or a straight draw), reroll the rest, then take the open
+ * category that beats its typical score by the most.
+ */
+public final class RolloutPolicy {
+    private static final int CATEGORIES = ScoreTable.CATEGORIES;
+    private static final int ALL_HELD = (1 << PackedDice.NUM_DICE) - 1;
+    private static final int SMALL_STRAIGHT = ScoreCategory.SMALL_STRAIGHT.ordinal();
+    private static final int LARGE_STRAIGHT = ScoreCategory.LARGE_STRAIGHT.ordinal();
+    private static final int FULL_HOUSE = ScoreCategory.FULL_HOUSE.ordinal();
+
+    private static final int COUNT_BITS = 3;
+    private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+
+    // Typical score of each category by ordinal, so choices are judged relative to it
+    private static final int[] PAR = {3, 6, 9, 12, 15, 18, 17, 10, 15, 18, 12, 8};
+
+    // Face bitmasks (bit f = face f present) of each four-long run
+    private static final int[] SMALL_RUNS = {0b11110, 0b111100, 0b1111000};
+
+    private RolloutPolicy() {
+    }
+
+    /**
+     * Play the game on from {@code state} to a full scorecard; afterwards
+     * {@code state.totals} holds each seat's final points, upper bonus included
+     */
+    static void playOut(RolloutState state, SplittableRandom random) {
+        while (!state.isComplete()) {
+            if (state.rolls == GameState.MAX_ROLLS) {
+                state.roll(0, random);
+            }
+            while (state.rolls > 0) {
+                int hold = chooseHolds(state.dice, state.filled);
+                if (hold == ALL_HELD) break;
+                state.roll(hold, random);
+            }
+            state.score(chooseCategory(state.dice, state.filled));
+        }
+    }
+
+    static int chooseHolds(int dice, int filled) {
+        // Count of each face in 3-bit fields, so no array is needed
+        int counts = 0;
+        int faces = 0;
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            int face = PackedDice.get(dice, i);
+            counts += 1 << (face * COUNT_BITS);
+            faces |= 1 << face;
+        }
+
+        boolean largeOpen = (filled & (1 << LARGE_STRAIGHT)) == 0;
+        boolean smallOpen = (filled & (1 << SMALL_STRAIGHT)) == 0;
+        if (largeOpen && ScoreTable.score(dice, LARGE_STRAIGHT) > 0) return ALL_HELD;
+        if (smallOpen && !largeOpen && ScoreTable.score(dice, SMALL_STRAIGHT) > 0) return ALL_HELD;
+        if ((filled & (1 << FULL_HOUSE)) == 0 && ScoreTable.score(dice, FULL_HOUSE) > 0) return ALL_HELD;
+
+        if (largeOpen || smallOpen) {
+            for (int run : SMALL_RUNS) {
+                if ((faces & run) == run) {
+                    return holdOnePerFace(dice, run);
+                }
+            }
+        }
+
+        int best = 6;
+        int bestCount = count(counts, best);
+        for (int face = 5; face >= 1; face--) {
+            if (count(counts, face) > bestCount) {
+                best = face;
+                bestCount = count(counts, face);
+            }
+        }
+        if (bestCount == PackedDice.NUM_DICE) return ALL_HELD;
+        int hold = 0;
+        if (bestCount > 1) {
+            for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+                if (PackedDice.get(dice, i) == best) {
+                    hold |= 1 << i;
+                }
+            }
+        }
+        return hold;
+    }
+
+    static int chooseCategory(int dice, int filled) {
+        int best = -1;
+        int bestMargin = Integer.MIN_VALUE;
+        for (int ordinal = 0; ordinal < CATEGORIES; ordinal++) {
+            if ((filled & (1 << ordinal)) != 0) continue;
+            int margin = ScoreTable.score(dice, ordinal) - PAR[ordinal];
+            if (margin > bestMargin) {
+                bestMargin = margin;
+                best = ordinal;
+            }
+        }
+        return best;
+    }
+
+    private static int count(int counts, int face) {
+        return (counts >>> (face * COUNT_BITS)) & COUNT_MASK;
+    }
+
+    private static int holdOnePerFace(int dice, int faces) {
+        int hold = 0;
+        int seen = 0;
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            int bit = 1 << PackedDice.get(dice, i);
+            if ((faces & bit) != 0 && (seen & bit) == 0) {
+                seen |= bit;
+                hold |= 1 << i;
+            }
+        }
+        return hold;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import java.util.SplittableRandom;
+
+/**
+ * Mutable, primitive-only copy of a {@link GameState} for playouts. One
+ * instance is reused per thread and reset from an immutable state (or copied
+ * from another scratch state) before each playout, so simulations allocate
+ * nothing per game.
+ */
+final class RolloutState {
+    private static final int ALL_FILLED = (1 << ScoreTable.CATEGORIES) - 1;
+    // Upper section categories are ordinals 0..5
+    private static final int UPPER_CATEGORIES = ScoreCategory.SIXES.ordinal() + 1;
+
+    final int[] totals;
+    int players;
+    int seat;
+    int starter;
+    int filled;
+    int upper;
+    boolean bonusTaken;
+    int dice;
+    int rolls;
+
+    RolloutState(int players) {
+        this.totals = new int[players];
+        this.players = players;
+    }
+
+    void reset(GameState state) {
+        players = state.getPlayerCount();
+        for (int s = 0; s < players; s++) {
+            totals[s] = state.getPlayerScore(s);
+        }
+        seat = state.getCurrentSeat();
+        starter = state.getRoundStarter();
+        filled = state.getFilledMask();
+        upper = state.getUpperSectionScore();
+        bonusTaken = state.getUpperBonusSeat() >= 0;
+        dice = state.getDice();
+        rolls = state.getRollsLeft();
+    }
+
+    void copyFrom(RolloutState other) {
+        players = other.players;
+        System.arraycopy(other.totals, 0, totals, 0, players);
+        seat = other.seat;
+        starter = other.starter;
+        filled = other.filled;
+        upper = other.upper;
+        bonusTaken = other.bonusTaken;
+        dice = other.dice;
+        rolls = other.rolls;
+    }
+
+    boolean isComplete() {
+        return filled == ALL_FILLED;
+    }
+
+    /**
+     * Reroll every die not in {@code hold}, using up a roll
+     */
+    void roll(int hold, SplittableRandom random) {
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            if ((hold & (1 << i)) == 0) {
+                dice = PackedDice.set(dice, i, random.nextInt(6) + 1);
+            }
+        }
+        rolls--;
+    }
+
+    /**
+     * Score the dice for the current seat and pass the turn on, in the same
+     * seat order as {@link GameState#withNextTurn()}
+     */
+    void score(int category) {
+        int score = ScoreTable.score(dice, category);
+        filled |= 1 << category;
+        totals[seat] += score;
+        if (category < UPPER_CATEGORIES) {
+            upper += score;
+            if (!bonusTaken && upper >= ScoreCard.UPPER_BONUS_THRESHOLD) {
+                bonusTaken = true;
+                totals[seat] += ScoreCard.UPPER_BONUS_POINTS;
+            }
+        }
+        seat = (seat + 1) % players;
+        if (seat == starter) {
+            starter = (starter + 1) % players;
+            seat = starter;
+        }
+        dice = 0;
+        rolls = GameState.MAX_ROLLS;
+    }
+
+    /**
+     * Share of the game won by {@code seat}: 1 for an outright win, split
+     * between tied leaders, 0 otherwise
+     */
+    double winShare(int seat) {
+        int best = Integer.MIN_VALUE;
+        int leaders = 0;
+        for (int s = 0; s < players; s++) {
+            if (totals[s] > best) {
+                best = totals[s];
+                leaders = 1;
+            } else if (totals[s] == best) {
+                leaders++;
+            }
+        }
+        return totals[seat] == best ? 1.0 / leaders : 0;
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Fits a {@link ValueFunction} by TD(0) self-play of the shared-scorecard game.
+ * Games are played in batches: every worker plays its share of a batch with
+ * the same frozen weights and sums its gradient, then the averaged gradient
+ * is applied once, so a run is reproducible for a given seed and worker
+ * count. Holds follow the {@link RolloutPolicy}; categories are chosen by
+ * immediate margin plus the current value estimate, with a little random
+ * exploration.
+ *
+ * With a checkpoint file set, the weights and games played are written
+ * after every {@code checkpointInterval} batches (to a temporary file that
+ * is then renamed over the old one, so a crash never leaves a torn file), and
+ * a later run with the same file continues where it stopped.
+ */
+public class SelfPlayTrainer {
+    private static final int CATEGORIES = ScoreTable.CATEGORIES;
+    private static final int ALL_HELD = (1 << PackedDice.NUM_DICE) - 1;
+    private static final String GAMES_KEY = "games";
+
+    private long seed = 1L;
+    private long games = 1_000_000;
+    private int batchGames = 4096;
+    private int players = 2;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private double learningRate = 0.01;
+    private double exploration = 0.05;
+    private File checkpointFile;
+    private int checkpointInterval = 16;
+
+    private TrainingListener listener;
+
+    public interface TrainingListener {
+        void onBatch(long gamesPlayed, double meanSquaredError, ValueFunction current);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Total games to train for, including any played before a resume
+     */
+    public void setGames(long games) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Games must be positive");
+        }
+        this.games = games;
+    }
+
+    public void setBatchGames(int batchGames) {
+        if (batchGames <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchGames = batchGames;
+    }
+
+    public void setPlayers(int players) {
+        if (players < 2 || players > GameState.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Players must be between 2 and " + GameState.MAX_PLAYERS);
+        }
+        this.players = players;
+    }
+
+    public void setWorkers(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Workers must be positive");
+        }
+        this.workers = workers;
+    }
+
+    public void setLearningRate(double learningRate) {
+        if (learningRate <= 0) {
+            throw new IllegalArgumentException("Learning rate must be positive");
+        }
+        this.learningRate = learningRate;
+    }
+
+    public void setExploration(double exploration) {
+        if (exploration < 0 || exploration > 1) {
+            throw new IllegalArgumentException("Exploration must be in [0, 1]");
+        }
+        this.exploration = exploration;
+    }
+
+    /**
+     * File to checkpoint to and resume from; null to train in memory only
+     */
+    public void setCheckpointFile(File checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    public void setCheckpointInterval(int batches) {
+        if (batches <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointInterval = batches;
+    }
+
+    public void setListener(TrainingListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Train until the configured number of games has been played, resuming
+     * from the checkpoint file if it exists
+     */
+    public ValueFunction train() throws IOException {
+        double[] weights = new double[ValueFunction.FEATURES];
+        long played = 0;
+        if (checkpointFile != null && checkpointFile.exists()) {
+            Properties checkpoint = new Properties();
+            try (InputStream in = new FileInputStream(checkpointFile)) {
+                checkpoint.load(in);
+            }
+            weights = ValueFunction.fromProperties(checkpoint).getWeights();
+            played = Long.parseLong(checkpoint.getProperty(GAMES_KEY, "0").trim());
+        }
+
+        long batch = played / batchGames;
+        int batchesSinceCheckpoint = 0;
+        while (played < games) {
+            ValueFunction current = new ValueFunction(weights);
+            int size = (int) Math.min(batchGames, games - played);
+            long batchSeed = seed + batch * workers;
+            BatchResult result = IntStream.range(0, workers)
+                .parallel()
+                .mapToObj(w -> playBatch(current, size / workers + (w < size % workers ? 1 : 0),
+                    new SplittableRandom(batchSeed + w)))
+                .reduce(BatchResult::merge)
+                .orElseThrow(IllegalStateException::new);
+
+            if (result.updates > 0) {
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] += learningRate * result.gradient[i] / result.updates;
+                }
+            }
+            played += size;
+            batch++;
+
+            if (checkpointFile != null && ++batchesSinceCheckpoint >= checkpointInterval) {
+                writeCheckpoint(weights, played);
+                batchesSinceCheckpoint = 0;
+            }
+            if (listener != null) {
+                listener.onBatch(played, result.updates == 0 ? 0 : result.squaredError / result.updates,
+                    new ValueFunction(weights));
+            }
+        }
+        if (checkpointFile != null && batchesSinceCheckpoint > 0) {
+            writeCheckpoint(weights, played);
+        }
+        return new ValueFunction(weights);
+    }
+
+    private void writeCheckpoint(double[] weights, long played) throws IOException {
+        Properties checkpoint = new ValueFunction(weights).toProperties();
+        checkpoint.setProperty(GAMES_KEY, String.valueOf(played));
+        File temp = new File(checkpointFile.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            checkpoint.store(out, "Self-play value function");
+            out.getFD().sync();
+        }
+        Files.move(temp.toPath(), checkpointFile.toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Play {@code count} games with fixed weights and sum the TD gradient
+     */
+    private BatchResult playBatch(ValueFunction value, int count, SplittableRandom random) {
+        int features = ValueFunction.FEATURES;
+        BatchResult result = new BatchResult(features);
+        RolloutState state = new RolloutState(players);
+        RolloutState scratch = new RolloutState(players);
+        GameState initial = GameState.initial(players);
+        double[] current = new double[features];
+        double[][] previous = new double[players][features];
+        double[] previousValue = new double[players];
+        double[] previousMargin = new double[players];
+        boolean[] hasPrevious = new boolean[players];
+
+        for (int game = 0; game < count; game++) {
+            state.reset(initial);
+            Arrays.fill(hasPrevious, false);
+            while (!state.isComplete()) {
+                int seat = state.seat;
+                state.roll(0, random);
+                while (state.rolls > 0) {
+                    int hold = RolloutPolicy.chooseHolds(state.dice, state.filled);
+                    if (hold == ALL_HELD) break;
+                    state.roll(hold, random);
+                }
+                state.score(random.nextDouble() < exploration
+                    ? randomOpen(state.filled, random)
+                    : greedyCategory(state, seat, value, scratch, current));
+
+                double margin = margin(state, seat);
+                double estimate = state.isComplete() ? 0 : value.evaluate(state, seat, current);
+                if (hasPrevious[seat]) {
+                    result.add(previous[seat], margin - previousMargin[seat] + estimate - previousValue[seat]);
+                }
+                System.arraycopy(current, 0, previous[seat], 0, features);
+                previousValue[seat] = estimate;
+                previousMargin[seat] = margin;
+                hasPrevious[seat] = !state.isComplete();
+            }
+            // Other seats' last afterstates are settled by the final totals
+            for (int seat = 0; seat < players; seat++) {
+                if (hasPrevious[seat]) {
+                    result.add(previous[seat], margin(state, seat) - previousMargin[seat] - previousValue[seat]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Open category with the best immediate margin plus estimated future margin
+     */
+    static int greedyCategory(RolloutState state, int seat, ValueFunction value, RolloutState scratch,
+                              double[] features) {
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < CATEGORIES; c++) {
+            if ((state.filled & (1 << c)) != 0) continue;
+            scratch.copyFrom(state);
+            scratch.score(c);
+            double candidate = margin(scratch, seat)
+                + (scratch.isComplete() ? 0 : value.evaluate(scratch, seat, features));
+            if (candidate > bestValue) {
+                bestValue = candidate;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Points of {@code seat} minus the average points of the other seats
+     */
+    static double margin(RolloutState state, int seat) {
+        int others = 0;
+        for (int s = 0; s < state.players; s++) {
+            if (s != seat) others += state.totals[s];
+        }
+        return state.totals[seat] - (double) others / (state.players - 1);
+    }
+
+    private static int randomOpen(int filled, SplittableRandom random) {
+        int pick = random.nextInt(CATEGORIES - Integer.bitCount(filled));
+        for (int c = 0; c < CATEGORIES; c++) {
+            if ((filled & (1 << c)) == 0 && pick-- == 0) {
+                return c;
+            }
+        }
+        throw new IllegalStateException("No open categories");
+    }
+
+    private static final class BatchResult {
+        final double[] gradient;
+        double squaredError;
+        long updates;
+
+        BatchResult(int features) {
+            gradient = new double[features];
+        }
+
+        void add(double[] features, double error) {
+            for (int i = 0; i < gradient.length; i++) {
+                gradient[i] += error * features[i];
+            }
+            squaredError += error * error;
+            updates++;
+        }
+
+        BatchResult merge(BatchResult other) {
+            for (int i = 0; i < gradient.length; i++) {
+                gradient[i] += other.gradient[i];
+            }
+            squaredError += other.squaredError;
+            updates += other.updates;
+            return this;
+        }
+    }
+
+    /**
+     * Train from the command line and print the weights in properties format.
+     * Arguments: [games] [checkpointFile] [workers] [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        SelfPlayTrainer trainer = new SelfPlayTrainer();
+        if (args.length > 0) trainer.setGames(Long.parseLong(args[0]));
+        if (args.length > 1) trainer.setCheckpointFile(new File(args[1]));
+        if (args.length > 2) trainer.setWorkers(Integer.parseInt(args[2]));
+        if (args.length > 3) trainer.setSeed(Long.parseLong(args[3]));
+        trainer.setListener((played, error, current) -> {
+            if (played % (trainer.batchGames * 64L) == 0) {
+                System.err.printf(Locale.US, "%d games: TD error %.2f%n", played, Math.sqrt(error));
+            }
+        });
+        trainer.train().toProperties().store(System.out, "Self-play value function");
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Exact expected points of the rest of a turn for a fixed set of open
+ * categories. Hands and kept dice are multisets (252 hands, 462 keeps), so
+ * the whole turn is a small dynamic program: the value of a hand with no
+ * rolls left is its best open category, and the value of a keep is the
+ * expected value of the hands it can roll into. That expectation is taken
+ * one die at a time: a keep is worth the average of the six keeps with one
+ * more die, and keeps are numbered largest first (the five-dice keeps being
+ * the hands themselves), so a pass over them reads only values already
+ * computed, in order. One evaluator is
+ * built per scorecard state and answers any dice, rolls left and hold mask
+ * by table lookup.
+ *
+ * By default a category is worth the points it scores. A {@link FutureValue}
+ * adds what scoring it is worth for the rest of the game, which turns the
+ * evaluator into one step of a whole-game solver. A solver only needs the
+ * turn value of each state; {@link #turnValue(int, FutureValue)} computes it
+ * in per-thread scratch arrays instead of building tables for every state.
+ */
+public final class TurnEvaluator {
+    /**
+     * Expected points of the rest of the game after scoring {@code score} in {@code category}
+     */
+    public interface FutureValue {
+        double after(int category, int score);
+    }
+
+    private static final int FACES = 6;
+    // Multisets are keyed by their face counts in base 6 (counts never exceed 5)
+    private static final int KEY_RANGE = 46656;
+    private static final int[] FACE_WEIGHT = {0, 1, 6, 36, 216, 1296, 7776};
+
+    private static final int[] HAND_DICE;
+    private static final int[] HAND_INDEX = new int[KEY_RANGE];
+    private static final int[] KEEP_INDEX = new int[KEY_RANGE];
+    private static final int KEEPS;
+    // KEEP_CHILD[keep * FACES + face - 1]: the keep plus one die of that face, for keeps of under five dice
+    private static final int[] KEEP_CHILD;
+    // Distinct keeps of each hand, flattened
+    private static final int[] SUBKEEP_START;
+    private static final int[] SUBKEEP;
+    // HAND_SCORE[hand * CATEGORIES + ordinal]
+    private static final int[] HAND_SCORE;
+    private static final int SCORE_RANGE;
+    // Distinct scores each category can take, so a FutureValue is asked once per score
+    private static final int[][] CATEGORY_SCORES;
+
+    // Not ThreadLocal.withInitial, which needs API 26
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    static {
+        Arrays.fill(HAND_INDEX, -1);
+        Arrays.fill(KEEP_INDEX, -1);
+        List<Integer> keepKeys = new ArrayList<>();
+        List<Integer> handKeys = new ArrayList<>();
+        collect(0, 1, 0, keepKeys, handKeys);
+        // Stable, so the hands come first and in the same order
+        keepKeys.sort(Comparator.comparingInt(key -> -size(key)));
+        KEEPS = keepKeys.size();
+        HAND_DICE = new int[handKeys.size()];
+        for (int h = 0; h < handKeys.size(); h++) {
+            HAND_INDEX[handKeys.get(h)] = h;
+            HAND_DICE[h] = toDice(handKeys.get(h));
+        }
+        for (int k = 0; k < KEEPS; k++) {
+            KEEP_INDEX[keepKeys.get(k)] = k;
+        }
+
+        KEEP_CHILD = new int[KEEPS * FACES];
+        for (int k = HAND_DICE.length; k < KEEPS; k++) {
+            for (int face = 1; face <= FACES; face++) {
+                KEEP_CHILD[k * FACES + face - 1] = KEEP_INDEX[keepKeys.get(k) + FACE_WEIGHT[face]];
+            }
+        }
+
+        SUBKEEP_START = new int[HAND_DICE.length + 1];
+        List<Integer> subkeeps = new ArrayList<>();
+        for (int h = 0; h < HAND_DICE.length; h++) {
+            SUBKEEP_START[h] = subkeeps.size();
+            Set<Integer> seen = new HashSet<>();
+            for (int mask = 0; mask < 1 << PackedDice.NUM_DICE; mask++) {
+                int keep = KEEP_INDEX[keyOf(HAND_DICE[h], mask)];
+                if (seen.add(keep)) {
+                    subkeeps.add(keep);
+                }
+            }
+        }
+        SUBKEEP_START[HAND_DICE.length] = subkeeps.size();
+        SUBKEEP = new int[subkeeps.size()];
+        for (int i = 0; i < SUBKEEP.length; i++) {
+            SUBKEEP[i] = subkeeps.get(i);
+        }
+
+        int categories = ScoreTable.CATEGORIES;
+        HAND_SCORE = new int[HAND_DICE.length * categories];
+        CATEGORY_SCORES = new int[categories][];
+        int maxScore = 0;
+        int[] handScores = new int[HAND_DICE.length];
+        for (int c = 0; c < categories; c++) {
+            Set<Integer> scores = new TreeSet<>();
+            ScoreTable.scoreAll(HAND_DICE, c, handScores);
+            for (int h = 0; h < HAND_DICE.length; h++) {
+                int score = handScores[h];
+                HAND_SCORE[h * categories + c] = score;
+                scores.add(score);
+                maxScore = Math.max(maxScore, score);
+            }
+            CATEGORY_SCORES[c] = new int[scores.size()];
+            int i = 0;
+            for (int score : scores) {
+                CATEGORY_SCORES[c][i++] = score;
+            }
+        }
+        SCORE_RANGE = maxScore + 1;
+    }
+
+    /**
+     * Working arrays of one thread, reused by every evaluation on it
+     */
+    private static final class Scratch {
+        // categoryValue[ordinal * SCORE_RANGE + score]: points plus future value
+        final double[] categoryValue = new double[ScoreTable.CATEGORIES * SCORE_RANGE];
+        final double[] stop = new double[HAND_DICE.length];
+        final double[] hands = new double[HAND_DICE.length];
+        final double[] previous = new double[HAND_DICE.length];
+        final double[] keeps = new double[KEEPS];
+        // Set while in use, as a FutureValue may itself evaluate a turn
+        boolean busy;
+
+        static Scratch acquire() {
+            Scratch scratch = SCRATCH.get();
+            if (scratch.busy) {
+                scratch = new Scratch();
+            }
+            scratch.busy = true;
+            return scratch;
+        }
+    }
+
+    private final int filledMask;
+    // handValue[r][hand]: expected points of a hand with r rolls left, playing optimally
+    private final double[][] handValue;
+    // keepValue[r][keep]: expected points after rerolling around a keep, r - 1 rolls left afterwards
+    private final double[][] keepValue;
+    private final int[] bestCategory;
+    private final double turnValue;
+
+    /**
+     * Build the tables for a scorecard where the categories in {@code filledMask} are taken
+     */
+    public TurnEvaluator(int filledMask) {
+        this(filledMask, null);
+    }
+
+    /**
+     * Build the tables valuing each category as its points plus {@code future}
+     * (null for points alone)
+     */
+    public TurnEvaluator(int filledMask, FutureValue future) {
+        if (filledMask == (1 << ScoreTable.CATEGORIES) - 1) {
+            throw new IllegalArgumentException("No open categories");
+        }
+        this.filledMask = filledMask;
+        int hands = HAND_DICE.length;
+        handValue = new double[GameState.MAX_ROLLS][hands];
+        keepValue = new double[GameState.MAX_ROLLS][];
+        bestCategory = new int[hands];
+        Scratch scratch = Scratch.acquire();
+        try {
+            stopValues(filledMask, future, scratch.categoryValue, handValue[0], bestCategory);
+            for (int r = 1; r < GameState.MAX_ROLLS; r++) {
+                double[] keeps = new double[KEEPS];
+                keepValues(handValue[r - 1], keeps);
+                keepValue[r] = keeps;
+                handValues(handValue[0], keeps, handValue[r]);
+            }
+            keepValues(handValue[GameState.MAX_ROLLS - 1], scratch.keeps);
+            turnValue = scratch.keeps[KEEP_INDEX[0]];
+        } finally {
+            scratch.busy = false;
+        }
+    }
+
+    /**
+     * Expected value of a whole turn, as {@link #turnValue()} of an evaluator
+     * built with the same arguments, reusing this thread's working arrays
+     */
+    public static double turnValue(int filledMask, FutureValue future) {
+        if (filledMask == (1 << ScoreTable.CATEGORIES) - 1) {
+            throw new IllegalArgumentException("No open categories");
+        }
+        Scratch scratch = Scratch.acquire();
+        try {
+            stopValues(filledMask, future, scratch.categoryValue, scratch.stop, null);
+            double[] previous = scratch.stop;
+            double[] hands = scratch.hands;
+            for (int r = 1; r < GameState.MAX_ROLLS; r++) {
+                keepValues(previous, scratch.keeps);
+                handValues(scratch.stop, scratch.keeps, hands);
+                previous = hands;
+                hands = hands == scratch.hands ? scratch.previous : scratch.hands;
+            }
+            keepValues(previous, scratch.keeps);
+            return scratch.keeps[KEEP_INDEX[0]];
+        } finally {
+            scratch.busy = false;
+        }
+    }
+
+    /**
+     * Value of scoring each hand in its best open category, and that category if {@code best} is given
+     */
+    private static void stopValues(int filledMask, FutureValue future, double[] categoryValue,
+                                   double[] stop, int[] best) {
+        int categories = ScoreTable.CATEGORIES;
+        for (int c = 0; c < categories; c++) {
+            if ((filledMask & (1 << c)) != 0) continue;
+            for (int score : CATEGORY_SCORES[c]) {
+                categoryValue[c * SCORE_RANGE + score] = future != null ? score + future.after(c, score) : score;
+            }
+        }
+        for (int h = 0; h < stop.length; h++) {
+            int bestCategory = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int c = 0, i = h * categories; c < categories; c++, i++) {
+                if ((filledMask & (1 << c)) != 0) continue;
+                double value = categoryValue[c * SCORE_RANGE + HAND_SCORE[i]];
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestCategory = c;
+                }
+            }
+            stop[h] = bestValue;
+            if (best != null) {
+                best[h] = bestCategory;
+            }
+        }
+    }
+
+    /**
+     * Expected value of rerolling around each keep, given the value of each hand once rolled
+     */
+    private static void keepValues(double[] handValues, double[] keeps) {
+        System.arraycopy(handValues, 0, keeps, 0, HAND_DICE.length);
+        for (int k = HAND_DICE.length, child = k * FACES; k < KEEPS; k++) {
+            double sum = 0;
+            for (int face = 0; face < FACES; face++) {
+                sum += keeps[KEEP_CHILD[child++]];
+            }
+            keeps[k] = sum / FACES;
+        }
+    }
+
+    /**
+     * Best of stopping and every keep, for each hand
+     */
+    private static void handValues(double[] stop, double[] keeps, double[] hands) {
+        for (int h = 0; h < hands.length; h++) {
+            double best = stop[h];
+            for (int i = SUBKEEP_START[h]; i < SUBKEEP_START[h + 1]; i++) {
+                best = Math.max(best, keeps[SUBKEEP[i]]);
+            }
+            hands[h] = best;
+        }
+    }
+
+    public int getFilledMask() {
+        return filledMask;
+    }
+
+    /**
+     * Expected value of the whole turn before the first roll
+     */
+    public double turnValue() {
+        return turnValue;
+    }
+
+    /**
+     * Expected points of the turn if the dice outside {@code holdMask} are
+     * rerolled now and play is optimal afterwards
+     */
+    public double holdValue(int packedDice, int rollsLeft, int holdMask) {
+        checkRolls(rollsLeft);
+        if (rollsLeft == 0) {
+            throw new IllegalArgumentException("No rolls left to reroll");
+        }
+        return keepValue[rollsLeft][KEEP_INDEX[keyOf(packedDice, holdMask)]];
+    }
+
+    /**
+     * Expected value of scoring the best open category now
+     */
+    public double stopValue(int packedDice) {
+        return handValue[0][handOf(packedDice)];
+    }
+
+    /**
+     * Expected points of the turn from here with optimal play
+     */
+    public double value(int packedDice, int rollsLeft) {
+        checkRolls(rollsLeft);
+        return handValue[rollsLeft][handOf(packedDice)];
+    }
+
+    /**
+     * Best open category for the dice as they are
+     */
+    public ScoreCategory bestCategory(int packedDice) {
+        return ScoreCategory.values()[bestCategory[handOf(packedDice)]];
+    }
+
+    /**
+     * Hold mask with the highest expected value, or -1 if scoring now is at least as good
+     */
+    public int bestHold(int packedDice, int rollsLeft) {
+        if (rollsLeft == 0) return -1;
+        int best = -1;
+        double bestValue = stopValue(packedDice);
+        for (int mask = 0; mask < (1 << PackedDice.NUM_DICE) - 1; mask++) {
+            double value = holdValue(packedDice, rollsLeft, mask);
+            if (value > bestValue + 1e-9) {
+                bestValue = value;
+                best = mask;
+            }
+        }
+        return best;
+    }
+
+    private static void checkRolls(int rollsLeft) {
+        if (rollsLeft < 0 || rollsLeft >= GameState.MAX_ROLLS) {
+            throw new IllegalArgumentException("Rolls left must be between 0 and " + (GameState.MAX_ROLLS - 1));
+        }
+    }
+
+    private static int handOf(int packedDice) {
+        int hand = HAND_INDEX[keyOf(packedDice, (1 << PackedDice.NUM_DICE) - 1)];
+        if (hand < 0) {
+            throw new IllegalArgumentException("Dice must all be between 1 and 6");
+        }
+        return hand;
+    }
+
+    private static int keyOf(int packedDice, int mask) {
+        int key = 0;
+        for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+            if ((mask & (1 << i)) != 0) {
+                int face = PackedDice.get(packedDice, i);
+                if (face < 1 || face > FACES) {
+                    throw new IllegalArgumentException("Dice must all be between 1 and 6");
+                }
+                key += FACE_WEIGHT[face];
+            }
+        }
+        return key;
+    }
+
+    private static int size(int key) {
+        int size = 0;
+        for (int face = 1; face <= FACES; face++) {
+            size += key / FACE_WEIGHT[face] % FACES;
+        }
+        return size;
+    }
+
+    private static int toDice(int key) {
+        int dice = 0;
+        int index = 0;
+        for (int face = 1; face <= FACES; face++) {
+            for (int n = key / FACE_WEIGHT[face] % FACES; n > 0; n--) {
+                dice = PackedDice.set(dice, index++, face);
+            }
+        }
+        return dice;
+    }
+
+    /**
+     * Every multiset of at most five dice, and separately those of exactly five
+     */
+    private static void collect(int key, int face, int count, List<Integer> keeps, List<Integer> hands) {
+        if (face > FACES) {
+            keeps.add(key);
+            if (count == PackedDice.NUM_DICE) {
+                hands.add(key);
+            }
+            return;
+        }
+        for (int n = 0; count + n <= PackedDice.NUM_DICE; n++) {
+            collect(key + n * FACE_WEIGHT[face], face + 1, count + n, keeps, hands);
+        }
+    }
+}
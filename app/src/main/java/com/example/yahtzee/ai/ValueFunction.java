@@ -0,0 +1,174 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Linear estimate of how a shared-scorecard game will go from here, seen
+ * from one seat: the points that seat will still gain minus the average of
+ * what each opponent will still gain. It is evaluated on afterstates (the
+ * card just after a category was scored), so a player picks the category
+ * maximizing its immediate margin plus this value. Weights are learned by
+ * {@link SelfPlayTrainer} and stored as properties.
+ *
+ * Features are computed from the open categories, the upper section and
+ * the order of the remaining turns, which decides who gets to use the open
+ * categories: the bias, then each open category weighted by the seat's turn
+ * advantage, each open category weighted by whether the seat picks next,
+ * and upper bonus progress weighted both ways while the bonus is reachable.
+ */
+public final class ValueFunction implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int FEATURES = 1 + 2 * ScoreTable.CATEGORIES + 2;
+
+    // Weights shipped with the app, trained by SelfPlayTrainer
+    private static final String DEFAULT_RESOURCE = "value-weights.properties";
+
+    private static final int CATEGORIES = ScoreTable.CATEGORIES;
+    private static final int UPPER_CATEGORIES = ScoreCategory.SIXES.ordinal() + 1;
+    private static final int TEMPO_OFFSET = 1;
+    private static final int FIRST_PICK_OFFSET = TEMPO_OFFSET + CATEGORIES;
+    private static final int BONUS_OFFSET = FIRST_PICK_OFFSET + CATEGORIES;
+
+    private final double[] weights;
+
+    public ValueFunction(double[] weights) {
+        if (weights == null || weights.length != FEATURES) {
+            throw new IllegalArgumentException("Expected " + FEATURES + " weights");
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * All weights zero: every afterstate is even, so play is greedy for immediate margin
+     */
+    public static ValueFunction zero() {
+        return new ValueFunction(new double[FEATURES]);
+    }
+
+    /**
+     * Load the weights bundled with the app
+     */
+    public static ValueFunction loadDefault() {
+        try (InputStream in = ValueFunction.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled weights: " + DEFAULT_RESOURCE);
+            }
+            return load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read bundled weights", e);
+        }
+    }
+
+    public static ValueFunction load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        return fromProperties(properties);
+    }
+
+    public static ValueFunction fromProperties(Properties properties) {
+        double[] weights = new double[FEATURES];
+        for (int i = 0; i < FEATURES; i++) {
+            String value = properties.getProperty("w." + i);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing weight w." + i);
+            }
+            try {
+                weights[i] = Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for w." + i + ": " + value, e);
+            }
+        }
+        return new ValueFunction(weights);
+    }
+
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        for (int i = 0; i < FEATURES; i++) {
+            properties.setProperty("w." + i, String.valueOf(weights[i]));
+        }
+        return properties;
+    }
+
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * Expected future margin of {@code seat} in a shared-scorecard game state,
+     * treating the state as the start of the current seat's turn
+     */
+    public double evaluate(GameState state, int seat) {
+        double[] features = new double[FEATURES];
+        features(state.getFilledMask(), state.getUpperSectionScore(), state.getUpperBonusSeat() >= 0,
+            state.getPlayerCount(), state.getCurrentSeat(), state.getRoundStarter(), seat, features);
+        return dot(features);
+    }
+
+    double evaluate(RolloutState state, int seat, double[] scratch) {
+        features(state, seat, scratch);
+        return dot(scratch);
+    }
+
+    double dot(double[] features) {
+        double sum = 0;
+        for (int i = 0; i < FEATURES; i++) {
+            sum += weights[i] * features[i];
+        }
+        return sum;
+    }
+
+    static void features(RolloutState state, int seat, double[] out) {
+        features(state.filled, state.upper, state.bonusTaken, state.players, state.seat, state.starter, seat, out);
+    }
+
+    /**
+     * Fill {@code out} with the features of a card seen from {@code seat},
+     * with {@code nextSeat} to play next in a round started by {@code starter}
+     */
+    static void features(int filled, int upper, boolean bonusTaken, int players, int nextSeat, int starter,
+                         int seat, double[] out) {
+        // Walk the remaining turns in seat order to see how many belong to this seat
+        int remaining = CATEGORIES - Integer.bitCount(filled);
+        int mine = 0;
+        int turnSeat = nextSeat;
+        int turnStarter = starter;
+        for (int t = 0; t < remaining; t++) {
+            if (turnSeat == seat) mine++;
+            turnSeat = (turnSeat + 1) % players;
+            if (turnSeat == turnStarter) {
+                turnStarter = (turnStarter + 1) % players;
+                turnSeat = turnStarter;
+            }
+        }
+        double tempo = players > 1 ? mine - (double) (remaining - mine) / (players - 1) : mine;
+        double firstPick = remaining == 0 ? 0 : nextSeat == seat ? 1 : -1;
+
+        out[0] = 1;
+        int upperMax = 0;
+        for (int c = 0; c < CATEGORIES; c++) {
+            boolean open = (filled & (1 << c)) == 0;
+            out[TEMPO_OFFSET + c] = open ? tempo : 0;
+            out[FIRST_PICK_OFFSET + c] = open ? firstPick : 0;
+            if (open && c < UPPER_CATEGORIES) {
+                upperMax += PackedDice.NUM_DICE * (c + 1);
+            }
+        }
+        boolean reachable = !bonusTaken && upper + upperMax >= ScoreCard.UPPER_BONUS_THRESHOLD;
+        double progress = reachable ? Math.min(1.0, (double) upper / ScoreCard.UPPER_BONUS_THRESHOLD) : 0;
+        out[BONUS_OFFSET] = progress * tempo;
+        out[BONUS_OFFSET + 1] = progress * firstPick;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ValueFunction{");
+        for (int i = 0; i < FEATURES; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(String.format(Locale.US, "%.3f", weights[i]));
+        }
+        return sb.append('}').toString();
+    }
+}
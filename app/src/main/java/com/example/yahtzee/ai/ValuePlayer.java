@@ -0,0 +1,143 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.callbacks.GameStateCallback;
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Computer player driven by a learned {@link ValueFunction}. Each turn is
+ * played exactly with a {@link TurnEvaluator} whose categories are worth
+ * their points, any upper bonus they complete, and the value function's
+ * estimate of the margin still to come afterwards. One evaluator is built
+ * per turn, so a decision costs a few milliseconds and no search.
+ *
+ * Games with one scorecard per player fall back to the rule-based heuristics.
+ */
+public class ValuePlayer extends ComputerPlayer {
+    private static final long serialVersionUID = 1L;
+
+    private static final int UPPER_CATEGORIES = ScoreCategory.SIXES.ordinal() + 1;
+
+    private final ValueFunction valueFunction;
+
+    // Evaluator of the current turn, rebuilt when the card or seat changes
+    private transient TurnEvaluator evaluator;
+    private transient long evaluatorKey;
+
+    public ValuePlayer(String name, GameStateCallback callback, ValueFunction valueFunction) {
+        super(name, callback, ComputerPlayerParameters.defaults());
+        if (valueFunction == null) {
+            throw new IllegalArgumentException("Value function cannot be null");
+        }
+        this.valueFunction = valueFunction;
+    }
+
+    public ValueFunction getValueFunction() {
+        return valueFunction;
+    }
+
+    @Override
+    protected ComputerPlayer newInstance() {
+        return new ValuePlayer(getName(), null, valueFunction);
+    }
+
+    @Override
+    public boolean shouldRollAgain(Round round) {
+        Turn turn = round.getCurrentTurn();
+        if (!round.hasSharedScoreCard() || turn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.shouldRollAgain(round);
+        }
+        GameState state = round.toGameState();
+        return evaluatorFor(state).bestHold(state.getDice(), state.getRollsLeft()) >= 0;
+    }
+
+    @Override
+    public List<Integer> determineDiceToHold() {
+        Round round = getCurrentRound();
+        if (round == null || !round.hasSharedScoreCard() || currentTurn == null
+            || currentTurn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.determineDiceToHold();
+        }
+        GameState state = round.toGameState();
+        int hold = evaluatorFor(state).bestHold(state.getDice(), state.getRollsLeft());
+        if (hold < 0) {
+            return Collections.emptyList();
+        }
+        setLastDecisionExplanation(String.format(Locale.US, "Rerolling keeps an expected %.1f point margin",
+            evaluator.holdValue(state.getDice(), state.getRollsLeft(), hold)));
+        return PackedDice.heldIndices(hold);
+    }
+
+    @Override
+    public ScoreCategory determineNextMove(ScoreCard scoreCard) {
+        Round round = getCurrentRound();
+        if (round == null || !round.hasSharedScoreCard() || currentTurn == null
+            || currentTurn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.determineNextMove(scoreCard);
+        }
+        return bestCategory(round.toGameState());
+    }
+
+    @Override
+    public ScoreCategory chooseCategory(Round round, List<ScoreCategory> availableCategories) {
+        if (!round.hasSharedScoreCard() || round.getCurrentTurn().getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.chooseCategory(round, availableCategories);
+        }
+        return bestCategory(round.toGameState());
+    }
+
+    private ScoreCategory bestCategory(GameState state) {
+        TurnEvaluator turn = evaluatorFor(state);
+        ScoreCategory category = turn.bestCategory(state.getDice());
+        setLastDecisionExplanation(String.format(Locale.US, "%s keeps an expected %.1f point margin",
+            category.getDisplayName(), turn.stopValue(state.getDice())));
+        return category;
+    }
+
+    /**
+     * Evaluator for the turn in progress; built once per turn
+     */
+    private TurnEvaluator evaluatorFor(GameState state) {
+        long key = (long) state.getRoundNumber() << 32 | state.getCurrentSeat() << 16 | state.getFilledMask();
+        if (evaluator == null || key != evaluatorKey) {
+            evaluator = new TurnEvaluator(state.getFilledMask(), future(state));
+            evaluatorKey = key;
+        }
+        return evaluator;
+    }
+
+    /**
+     * Upper bonus plus the learned value of the card after each possible score
+     */
+    private TurnEvaluator.FutureValue future(GameState state) {
+        int seat = state.getCurrentSeat();
+        int players = state.getPlayerCount();
+        int filled = state.getFilledMask();
+        int upper = state.getUpperSectionScore();
+        boolean bonusTaken = state.getUpperBonusSeat() >= 0;
+
+        // Seat order after this turn, as in GameState.withNextTurn
+        int nextSeat = (seat + 1) % players;
+        int starter = state.getRoundStarter();
+        if (nextSeat == starter) {
+            starter = (starter + 1) % players;
+            nextSeat = starter;
+        }
+        int afterStarter = starter;
+        int afterSeat = nextSeat;
+
+        double[] features = new double[ValueFunction.FEATURES];
+        return (category, score) -> {
+            int afterFilled = filled | (1 << category);
+            int afterUpper = category < UPPER_CATEGORIES ? upper + score : upper;
+            boolean bonus = !bonusTaken && afterUpper >= ScoreCard.UPPER_BONUS_THRESHOLD;
+            double value = bonus ? ScoreCard.UPPER_BONUS_POINTS : 0;
+            if (afterFilled != (1 << ScoreTable.CATEGORIES) - 1) {
+                ValueFunction.features(afterFilled, afterUpper, bonusTaken || bonus, players, afterSeat,
+                    afterStarter, seat, features);
+                value += valueFunction.dot(features);
+            }
+            return value;
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.callbacks.WinProbabilityCallback;
+import com.example.yahtzee.model.GameState;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Estimates each seat's chance of winning a shared-scorecard game by parallel
+ * Monte Carlo continuations with {@link RolloutPolicy}. Results are cached per
+ * {@link GameState}, so refreshing the UI for an unchanged state is a map
+ * lookup. {@link #requestUpdate} runs on a background thread and abandons any
+ * estimate still running for an older state.
+ */
+public class WinProbabilityEstimator {
+    public static final int DEFAULT_ROLLOUTS = 4000;
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    // Work is split into this many independently seeded chunks
+    private static final int CHUNKS = 32;
+    private static final long NOT_CANCELLABLE = -1;
+    private static final long IDLE_SECONDS = 30;
+
+    private final int rollouts;
+    private final Map<GameState, double[]> cache;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> pending;
+
+    public WinProbabilityEstimator() {
+        this(DEFAULT_ROLLOUTS, DEFAULT_CACHE_SIZE);
+    }
+
+    public WinProbabilityEstimator(int rollouts, int cacheSize) {
+        if (rollouts <= 0 || cacheSize <= 0) {
+            throw new IllegalArgumentException("Rollouts and cache size must be positive");
+        }
+        this.rollouts = rollouts;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<GameState, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GameState, double[]> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        // One background thread that exits when idle, so an abandoned estimator holds no thread
+        this.executor = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "win-probability");
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Win probability per seat, computed on the calling thread if not cached
+     */
+    public double[] estimate(GameState state) {
+        return estimate(state, NOT_CANCELLABLE).clone();
+    }
+
+    /**
+     * Estimate in the background and report to {@code callback}. A newer request
+     * cancels this one. Cached states are reported immediately on the caller's thread.
+     */
+    public synchronized void requestUpdate(GameState state, WinProbabilityCallback callback) {
+        long requestGeneration = generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        double[] cached = cache.get(state);
+        if (cached != null) {
+            callback.onWinProbabilityUpdated(state, cached.clone());
+            return;
+        }
+        pending = executor.submit(() -> {
+            try {
+                double[] probabilities = estimate(state, requestGeneration);
+                callback.onWinProbabilityUpdated(state, probabilities.clone());
+            } catch (CancellationException e) {
+                // Superseded by a newer state
+            }
+        });
+    }
+
+    /**
+     * Drop any pending request and stop the background thread
+     */
+    public synchronized void shutdown() {
+        generation.incrementAndGet();
+        executor.shutdownNow();
+    }
+
+    private double[] estimate(GameState state, long requestGeneration) {
+        double[] cached = cache.get(state);
+        if (cached != null) {
+            return cached;
+        }
+        double[] probabilities = state.isComplete() ? finalResult(state) : simulate(state, requestGeneration);
+        cache.put(state, probabilities);
+        return probabilities;
+    }
+
+    private double[] simulate(GameState state, long requestGeneration) {
+        int players = state.getPlayerCount();
+        int perChunk = (rollouts + CHUNKS - 1) / CHUNKS;
+        double[] wins = IntStream.range(0, CHUNKS).parallel()
+            .mapToObj(chunk -> {
+                double[] chunkWins = new double[players];
+                RolloutState scratch = new RolloutState(players);
+                // Seeded from the state, so the same state always gets the same estimate
+                SplittableRandom random = new SplittableRandom(state.hashCode() * 0x9E3779B97F4A7C15L + chunk);
+                for (int i = 0; i < perChunk; i++) {
+                    if ((i & 63) == 0 && isCancelled(requestGeneration)) {
+                        throw new CancellationException();
+                    }
+                    scratch.reset(state);
+                    RolloutPolicy.playOut(scratch, random);
+                    for (int seat = 0; seat < players; seat++) {
+                        chunkWins[seat] += scratch.winShare(seat);
+                    }
+                }
+                return chunkWins;
+            })
+            .reduce(new double[players], (a, b) -> {
+                double[] sum = new double[players];
+                for (int seat = 0; seat < players; seat++) {
+                    sum[seat] = a[seat] + b[seat];
+                }
+                return sum;
+            });
+        int played = perChunk * CHUNKS;
+        for (int seat = 0; seat < players; seat++) {
+            wins[seat] /= played;
+        }
+        return wins;
+    }
+
+    private boolean isCancelled(long requestGeneration) {
+        return requestGeneration != NOT_CANCELLABLE && requestGeneration != generation.get();
+    }
+
+    private static double[] finalResult(GameState state) {
+        RolloutState scratch = new RolloutState(state.getPlayerCount());
+        scratch.reset(state);
+        double[] result = new double[state.getPlayerCount()];
+        for (int seat = 0; seat < result.length; seat++) {
+            result[seat] = scratch.winShare(seat);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Columnar in-memory store of scored turns from simulated games.
+ * Each column is a growable primitive array indexed by row, so millions of
+ * games cost a few bytes per scored turn instead of TurnRecord and Map objects,
+ * and queries are tight loops over a single column.
+ */
+public class GameColumnStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int CATEGORIES = ScoreCategory.values().length;
+    // Highest score any single category can produce (Yahtzee)
+    private static final int MAX_CATEGORY_SCORE = 50;
+
+    private int[] gameIds;
+    private byte[] players;
+    private byte[] rounds;
+    private byte[] categories;
+    private short[] scores;
+    private int[] dice;
+    private int size;
+    private int maxGameId = -1;
+
+    public GameColumnStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public GameColumnStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        gameIds = new int[capacity];
+        players = new byte[capacity];
+        rounds = new byte[capacity];
+        categories = new byte[capacity];
+        scores = new short[capacity];
+        dice = new int[capacity];
+    }
+
+    /**
+     * Append one scored turn.
+     *
+     * @param packedDice final dice packed with {@link PackedDice}, or 0 if unknown
+     */
+    public void append(int gameId, int playerIndex, int roundNumber, ScoreCategory category, int score, int packedDice) {
+        if (gameId < 0) {
+            throw new IllegalArgumentException("Game id cannot be negative");
+        }
+        if (size == gameIds.length) {
+            grow();
+        }
+        gameIds[size] = gameId;
+        players[size] = (byte) playerIndex;
+        rounds[size] = (byte) roundNumber;
+        categories[size] = (byte) category.ordinal();
+        scores[size] = (short) score;
+        dice[size] = packedDice;
+        size++;
+        if (gameId > maxGameId) {
+            maxGameId = gameId;
+        }
+    }
+
+    /**
+     * Append the final record of a scored turn
+     */
+    public void appendTurn(int gameId, int playerIndex, TurnRecord record) {
+        if (record.getSelectedCategory() == null) {
+            throw new IllegalArgumentException("Turn record has no selected category");
+        }
+        append(gameId, playerIndex, record.getRound().getRoundNumber(), record.getSelectedCategory(),
+            record.getFinalScore(), PackedDice.pack(record.getDice()));
+    }
+
+    /**
+     * Append every scored category of every scorecard of a finished tournament,
+     * each credited to the seat of the player who scored it.
+     * Final dice are not kept by the scorecard, so the dice column is left empty.
+     */
+    public void appendGame(int gameId, Tournament tournament) {
+        List<Player> playerList = tournament.getPlayers();
+        boolean perPlayer = tournament.getScoreCardMode() == ScoreCardMode.PER_PLAYER;
+        for (int seat = 0; seat < (perPlayer ? playerList.size() : 1); seat++) {
+            ScoreCard scoreCard = tournament.getScoreCard(playerList.get(seat));
+            for (ScoreCategory category : ScoreCategory.values()) {
+                ScoreEntry entry = scoreCard.getEntry(category);
+                if (entry == null) continue;
+                append(gameId, tournament.getPlayerIndex(entry.getPlayer()), entry.getRound(),
+                    category, entry.getScore(), 0);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getGameCount() {
+        return maxGameId + 1;
+    }
+
+    /**
+     * Average score per category (group by category), indexed by ordinal
+     */
+    public double[] averageScoreByCategory() {
+        long[] sums = new long[CATEGORIES];
+        long[] counts = new long[CATEGORIES];
+        for (int i = 0; i < size; i++) {
+            int category = categories[i];
+            sums[category] += scores[i];
+            counts[category]++;
+        }
+        double[] averages = new double[CATEGORIES];
+        for (int c = 0; c < CATEGORIES; c++) {
+            averages[c] = counts[c] == 0 ? Double.NaN : (double) sums[c] / counts[c];
+        }
+        return averages;
+    }
+
+    /**
+     * Total points per game credited to one player, indexed by game id
+     */
+    public int[] totalsByGame(int playerIndex) {
+        int[] totals = new int[getGameCount()];
+        for (int i = 0; i < size; i++) {
+            // Branch-free accumulate so the scan stays a straight loop
+            int match = players[i] == playerIndex ? 1 : 0;
+            totals[gameIds[i]] += scores[i] * match;
+        }
+        return totals;
+    }
+
+    /**
+     * Number of rows where a category scored at least {@code minScore}
+     */
+    public long countAtLeast(ScoreCategory category, int minScore) {
+        byte target = (byte) category.ordinal();
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            count += (categories[i] == target & scores[i] >= minScore) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Exact percentile of the scores recorded in one category.
+     * Scores are bounded, so this is a counting pass rather than a sort.
+     */
+    public int scorePercentile(ScoreCategory category, double percentile) {
+        long[] histogram = new long[MAX_CATEGORY_SCORE + 1];
+        byte target = (byte) category.ordinal();
+        for (int i = 0; i < size; i++) {
+            if (categories[i] == target) {
+                histogram[scores[i]]++;
+            }
+        }
+        return ScoreHistogram.percentileOf(histogram, percentile);
+    }
+
+    /**
+     * Exact percentile of a player's per-game totals
+     */
+    public int totalPercentile(int playerIndex, double percentile) {
+        int[] totals = totalsByGame(playerIndex);
+        int max = 0;
+        for (int total : totals) {
+            max = Math.max(max, total);
+        }
+        long[] histogram = new long[max + 1];
+        for (int total : totals) {
+            histogram[total]++;
+        }
+        return ScoreHistogram.percentileOf(histogram, percentile);
+    }
+
+    public int getGameId(int row) {
+        checkRow(row);
+        return gameIds[row];
+    }
+
+    public int getPlayerIndex(int row) {
+        checkRow(row);
+        return players[row];
+    }
+
+    public int getRound(int row) {
+        checkRow(row);
+        return rounds[row];
+    }
+
+    public ScoreCategory getCategory(int row) {
+        checkRow(row);
+        return ScoreCategory.values()[categories[row]];
+    }
+
+    public int getScore(int row) {
+        checkRow(row);
+        return scores[row];
+    }
+
+    public int getPackedDice(int row) {
+        checkRow(row);
+        return dice[row];
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Invalid row: " + row);
+        }
+    }
+
+    private void grow() {
+        int capacity = gameIds.length * 2;
+        gameIds = Arrays.copyOf(gameIds, capacity);
+        players = Arrays.copyOf(players, capacity);
+        rounds = Arrays.copyOf(rounds, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        dice = Arrays.copyOf(dice, capacity);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.ScoreCategory;
+
+/**
+ * Predicate over a {@link GameLogRecord} that is pushed down into the segment
+ * scan, so rejected games are skipped before any object is handed to the caller.
+ */
+@FunctionalInterface
+public interface GameFilter {
+    GameFilter ALL = record -> true;
+
+    boolean test(GameLogRecord record);
+
+    default GameFilter and(GameFilter other) {
+        return record -> test(record) && other.test(record);
+    }
+
+    default GameFilter negate() {
+        return record -> !test(record);
+    }
+
+    /**
+     * Games where a player scored a category strictly before the given round,
+     * e.g. "the computer scored YAHTZEE before round 5"
+     */
+    static GameFilter scoredBeforeRound(ScoreCategory category, int playerIndex, int roundNumber) {
+        int ordinal = category.ordinal();
+        return record -> {
+            int count = record.getEntryCount();
+            for (int i = 0; i < count; i++) {
+                if (record.getCategoryOrdinal(i) == ordinal && record.getPlayerIndex(i) == playerIndex) {
+                    return record.getRound(i) < roundNumber;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Games where a category was scored with a non-zero value by anyone
+     */
+    static GameFilter scoredNonZero(ScoreCategory category) {
+        int ordinal = category.ordinal();
+        return record -> {
+            int count = record.getEntryCount();
+            for (int i = 0; i < count; i++) {
+                if (record.getCategoryOrdinal(i) == ordinal && record.getScore(i) > 0) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    static GameFilter wonBy(int playerIndex) {
+        return record -> record.getWinnerIndex() == playerIndex;
+    }
+
+    static GameFilter upperBonusEarned() {
+        return GameLogRecord::hasUpperBonus;
+    }
+}
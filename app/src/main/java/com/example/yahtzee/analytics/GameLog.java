@@ -0,0 +1,168 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.GameState;
+import com.example.yahtzee.model.Tournament;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+/**
+ * Append-only, segmented on-disk log of completed games.
+ * Every game is written as one {@link GameLogRecord} of one or more
+ * fixed-size slots, all in the same segment; once a segment holds
+ * {@code recordsPerSegment} slots a new segment file is started.
+ * A game torn by a crash is ignored by readers and overwritten on reopen.
+ */
+public class GameLog implements Closeable {
+    public static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20;
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final File directory;
+    private final int recordsPerSegment;
+    private final ByteBuffer recordBuffer;
+    private FileChannel channel;
+    private int segmentIndex;
+    private int recordsInSegment;
+    private long nextGameId;
+
+    public GameLog(File directory) throws IOException {
+        this(directory, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    public GameLog(File directory, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment <= 0) {
+            throw new IllegalArgumentException("Segments must hold at least one record");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create game log directory: " + directory);
+        }
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.recordBuffer = ByteBuffer.allocate(GameLogRecord.SIZE * GameState.MAX_PLAYERS).order(BYTE_ORDER);
+
+        // Resume after the last complete game of the newest segment
+        List<File> segments = listSegments(directory);
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            File last = segments.get(segments.size() - 1);
+            openSegment(segmentIndexOf(last));
+            recordsInSegment = completeSlots(channel);
+            channel.truncate((long) recordsInSegment * GameLogRecord.SIZE);
+            channel.position(channel.size());
+        }
+        long existingRecords = 0;
+        for (File segment : listSegments(directory)) {
+            existingRecords += segment.length() / GameLogRecord.SIZE;
+        }
+        this.nextGameId = existingRecords;
+    }
+
+    /**
+     * Slots of a segment up to the end of its last whole game
+     */
+    private static int completeSlots(FileChannel channel) throws IOException {
+        int slots = (int) (channel.size() / GameLogRecord.SIZE);
+        ByteBuffer header = ByteBuffer.allocate(GameLogRecord.HEADER_SIZE).order(BYTE_ORDER);
+        for (int slot = slots - 1; slot >= 0; slot--) {
+            header.clear();
+            channel.read(header, (long) slot * GameLogRecord.SIZE);
+            GameLogRecord record = new GameLogRecord(header, 0);
+            if (!record.isContinuation()) {
+                return slot + record.getSlotCount() <= slots ? slots : slot;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Append a completed game and return the id assigned to it: the number
+     * of slots written before it, so ids grow with every game
+     */
+    public synchronized long append(Tournament tournament) throws IOException {
+        if (tournament == null) {
+            throw new IllegalArgumentException("Tournament cannot be null");
+        }
+        if (channel == null) {
+            throw new IllegalStateException("Game log is closed");
+        }
+        long gameId = nextGameId;
+        recordBuffer.clear();
+        int slots = GameLogRecord.encode(tournament, gameId, System.currentTimeMillis(), recordBuffer);
+        recordBuffer.flip();
+        if (recordsInSegment > 0 && recordsInSegment + slots > recordsPerSegment) {
+            channel.close();
+            openSegment(segmentIndex + 1);
+        }
+        while (recordBuffer.hasRemaining()) {
+            channel.write(recordBuffer);
+        }
+        recordsInSegment += slots;
+        nextGameId += slots;
+        return gameId;
+    }
+
+    /**
+     * Number of slots written, one per game unless games are PER_PLAYER
+     */
+    public synchronized long getRecordCount() {
+        return nextGameId;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Force written records to the storage device
+     */
+    public synchronized void flush() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void openSegment(int index) throws IOException {
+        segmentIndex = index;
+        recordsInSegment = 0;
+        File file = new File(directory, segmentName(index));
+        // RandomAccessFile rather than FileChannel.open, which needs API 26
+        channel = new RandomAccessFile(file, "rw").getChannel();
+        channel.position(channel.size());
+    }
+
+    static String segmentName(int index) {
+        return String.format(Locale.ROOT, "%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    private static int segmentIndexOf(File segment) {
+        String name = segment.getName();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * List the segment files of a log directory in write order
+     */
+    static List<File> listSegments(File directory) {
+        File[] files = directory.listFiles((dir, name) ->
+            name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        List<File> segments = new ArrayList<>(Arrays.asList(files));
+        segments.sort(Comparator.comparing(File::getName));
+        return segments;
+    }
+}
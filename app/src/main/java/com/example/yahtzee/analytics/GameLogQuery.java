@@ -0,0 +1,172 @@
+package com.example.yahtzee.analytics;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming, read-only query layer over a {@link GameLog} directory.
+ * Each segment is memory-mapped and scanned by its own spliterator, segments
+ * are processed in parallel, and filters run inside the scan loop.
+ * Scans step over continuation slots, so every game is seen once.
+ */
+public class GameLogQuery {
+    private final List<ByteBuffer> segments;
+    private final GameFilter filter;
+
+    private GameLogQuery(List<ByteBuffer> segments, GameFilter filter) {
+        this.segments = segments;
+        this.filter = filter;
+    }
+
+    /**
+     * Map every segment currently in the log directory.
+     * Records appended afterwards are not visible to this query.
+     */
+    public static GameLogQuery open(File directory) throws IOException {
+        List<ByteBuffer> segments = new ArrayList<>();
+        for (File file : GameLog.listSegments(directory)) {
+            long records = file.length() / GameLogRecord.SIZE;
+            if (records == 0) continue;
+            try (RandomAccessFile in = new RandomAccessFile(file, "r");
+                 FileChannel channel = in.getChannel()) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, records * GameLogRecord.SIZE);
+                segments.add(mapped.order(GameLog.BYTE_ORDER));
+            }
+        }
+        return new GameLogQuery(Collections.unmodifiableList(segments), GameFilter.ALL);
+    }
+
+    /**
+     * Narrow the query; filters are combined and evaluated during the scan
+     */
+    public GameLogQuery filter(GameFilter additional) {
+        if (additional == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        return new GameLogQuery(segments, filter == GameFilter.ALL ? additional : filter.and(additional));
+    }
+
+    /**
+     * Stream the matching records, one spliterator per segment.
+     * Records are views over the mapped segments and stay valid while the query is reachable.
+     */
+    public Stream<GameLogRecord> stream() {
+        return segments.parallelStream()
+            .flatMap(segment -> StreamSupport.stream(new SegmentSpliterator(segment, filter), false));
+    }
+
+    public long count() {
+        return segments.parallelStream()
+            .mapToLong(segment -> {
+                long[] matches = {0};
+                scan(segment, record -> matches[0]++);
+                return matches[0];
+            })
+            .sum();
+    }
+
+    /**
+     * Average score of each category by the round it was scored in,
+     * aggregated per segment in parallel and merged.
+     */
+    public ScoreByRound averageScoreByRound() {
+        return segments.parallelStream()
+            .map(segment -> {
+                ScoreByRound partial = new ScoreByRound();
+                scan(segment, partial::add);
+                return partial;
+            })
+            .reduce(ScoreByRound::merge)
+            .orElseGet(ScoreByRound::new);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void scan(ByteBuffer segment, Consumer<GameLogRecord> action) {
+        GameLogRecord cursor = new GameLogRecord(segment, 0);
+        int limit = segment.capacity();
+        for (int offset = 0; offset + GameLogRecord.SIZE <= limit; offset += GameLogRecord.SIZE) {
+            cursor.moveTo(offset);
+            if (isGame(cursor, offset, limit) && filter.test(cursor)) {
+                action.accept(cursor);
+            }
+        }
+    }
+
+    /**
+     * Whether the cursor is at the first slot of a game that ends within the
+     * mapped range; a game still being written may not
+     */
+    static boolean isGame(GameLogRecord cursor, int offset, int limit) {
+        return !cursor.isContinuation() && offset + cursor.getSlotCount() * GameLogRecord.SIZE <= limit;
+    }
+
+    /**
+     * Spliterator over the records of one segment. It can split its record range
+     * further when a single segment is streamed on its own.
+     */
+    static final class SegmentSpliterator implements Spliterator<GameLogRecord> {
+        private static final int MIN_SPLIT_RECORDS = 4096;
+
+        private final ByteBuffer segment;
+        private final GameFilter filter;
+        private final GameLogRecord cursor;
+        private int record;
+        private final int end;
+
+        SegmentSpliterator(ByteBuffer segment, GameFilter filter) {
+            this(segment, filter, 0, segment.capacity() / GameLogRecord.SIZE);
+        }
+
+        private SegmentSpliterator(ByteBuffer segment, GameFilter filter, int start, int end) {
+            this.segment = segment;
+            this.filter = filter;
+            this.cursor = new GameLogRecord(segment, 0);
+            this.record = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super GameLogRecord> action) {
+            while (record < end) {
+                int offset = record++ * GameLogRecord.SIZE;
+                cursor.moveTo(offset);
+                if (isGame(cursor, offset, segment.capacity()) && filter.test(cursor)) {
+                    action.accept(new GameLogRecord(segment, offset));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<GameLogRecord> trySplit() {
+            int remaining = end - record;
+            if (remaining < MIN_SPLIT_RECORDS * 2) {
+                return null;
+            }
+            int mid = record + remaining / 2;
+            SegmentSpliterator prefix = new SegmentSpliterator(segment, filter, record, mid);
+            record = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - record;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Binary layout of one completed game in the {@link GameLog}, made of
+ * fixed-size slots. A game on a shared scorecard fits one slot; in
+ * {@link ScoreCardMode#PER_PLAYER} mode the entries of every player's card
+ * run on into continuation slots that directly follow the first one.
+ * A record is a light view over a segment buffer, so reading it never
+ * materializes Tournament, Round or ScoreCard objects.
+ *
+ * Slot layout (little endian):
+ *   0  long  game id
+ *   8  long  completion time (epoch millis)
+ *   16 byte  number of scored entries, over all slots
+ *   17 byte  number of players
+ *   18 byte  winner player index
+ *   19 byte  flags (bit 0 = upper bonus earned on any card, bit 1 = continuation slot)
+ *   20 byte  number of slots of the game (0 in logs written before it, meaning 1)
+ *   21 3 bytes reserved
+ *   24 up to 12 4-byte entries: category, score, round, player index
+ */
+public final class GameLogRecord {
+    public static final int ENTRIES_PER_SLOT = ScoreCategory.values().length;
+    public static final int MAX_ENTRIES = ENTRIES_PER_SLOT * GameState.MAX_PLAYERS;
+    public static final int HEADER_SIZE = 24;
+    public static final int ENTRY_SIZE = 4;
+    // Size of one slot
+    public static final int SIZE = HEADER_SIZE + ENTRIES_PER_SLOT * ENTRY_SIZE;
+
+    public static final int NO_PLAYER = 0xFF;
+    static final int FLAG_UPPER_BONUS = 1;
+    static final int FLAG_CONTINUATION = 2;
+
+    private static final int GAME_ID = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int ENTRY_COUNT = 16;
+    private static final int PLAYER_COUNT = 17;
+    private static final int WINNER = 18;
+    private static final int FLAGS = 19;
+    private static final int SLOTS = 20;
+
+    private final ByteBuffer buffer;
+    private int offset;
+
+    GameLogRecord(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * Re-point this view at another record of the same buffer.
+     * Only used by scanners that evaluate filters on a reusable cursor.
+     */
+    void moveTo(int offset) {
+        this.offset = offset;
+    }
+
+    public long getGameId() {
+        return buffer.getLong(offset + GAME_ID);
+    }
+
+    public long getTimestamp() {
+        return buffer.getLong(offset + TIMESTAMP);
+    }
+
+    public int getEntryCount() {
+        return buffer.get(offset + ENTRY_COUNT) & 0xFF;
+    }
+
+    public int getPlayerCount() {
+        return buffer.get(offset + PLAYER_COUNT) & 0xFF;
+    }
+
+    public int getWinnerIndex() {
+        return buffer.get(offset + WINNER) & 0xFF;
+    }
+
+    public boolean hasUpperBonus() {
+        return (buffer.get(offset + FLAGS) & FLAG_UPPER_BONUS) != 0;
+    }
+
+    /**
+     * Number of slots the game takes, this one included
+     */
+    public int getSlotCount() {
+        return Math.max(1, buffer.get(offset + SLOTS) & 0xFF);
+    }
+
+    /**
+     * Whether this slot only continues the entries of the game before it
+     */
+    boolean isContinuation() {
+        return (buffer.get(offset + FLAGS) & FLAG_CONTINUATION) != 0;
+    }
+
+    public int getCategoryOrdinal(int entry) {
+        return buffer.get(entryOffset(entry)) & 0xFF;
+    }
+
+    public ScoreCategory getCategory(int entry) {
+        return ScoreCategory.values()[getCategoryOrdinal(entry)];
+    }
+
+    public int getScore(int entry) {
+        return buffer.get(entryOffset(entry) + 1) & 0xFF;
+    }
+
+    public int getRound(int entry) {
+        return buffer.get(entryOffset(entry) + 2) & 0xFF;
+    }
+
+    public int getPlayerIndex(int entry) {
+        return buffer.get(entryOffset(entry) + 3) & 0xFF;
+    }
+
+    /**
+     * Sum of the category scores credited to a player
+     */
+    public int getPlayerTotal(int playerIndex) {
+        int total = 0;
+        int count = getEntryCount();
+        for (int i = 0; i < count; i++) {
+            if (getPlayerIndex(i) == playerIndex) {
+                total += getScore(i);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Find the first entry for a category, or -1 if it was never scored.
+     * In PER_PLAYER games each player has an entry of their own for it.
+     */
+    public int findEntry(ScoreCategory category) {
+        int count = getEntryCount();
+        for (int i = 0; i < count; i++) {
+            if (getCategoryOrdinal(i) == category.ordinal()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int entryOffset(int entry) {
+        if (entry < 0 || entry >= getSlotCount() * ENTRIES_PER_SLOT) {
+            throw new IndexOutOfBoundsException("Invalid entry: " + entry);
+        }
+        return offset + entry / ENTRIES_PER_SLOT * SIZE + HEADER_SIZE + entry % ENTRIES_PER_SLOT * ENTRY_SIZE;
+    }
+
+    /**
+     * Write a completed tournament into {@code out} at its current position,
+     * every scorecard of it, and return the number of slots written.
+     * Player indices follow the order of {@link Tournament#getPlayers()}.
+     */
+    static int encode(Tournament tournament, long gameId, long timestamp, ByteBuffer out) {
+        List<Player> players = tournament.getPlayers();
+        Player winner = tournament.determineWinner();
+        boolean perPlayer = tournament.getScoreCardMode() == ScoreCardMode.PER_PLAYER;
+
+        // Entries packed as category, score, round, player index from the low byte up
+        List<Integer> entries = new ArrayList<>();
+        boolean upperBonus = false;
+        for (int seat = 0; seat < (perPlayer ? players.size() : 1); seat++) {
+            ScoreCard scoreCard = tournament.getScoreCard(players.get(seat));
+            upperBonus |= scoreCard.getUpperBonus() > 0;
+            for (ScoreCategory category : ScoreCategory.values()) {
+                ScoreEntry entry = scoreCard.getEntry(category);
+                if (entry == null) continue;
+                int playerIndex = perPlayer ? seat : players.indexOf(tournament.getCategoryScorer(category));
+                entries.add(category.ordinal() | entry.getScore() << 8 | entry.getRound() << 16
+                    | (playerIndex >= 0 ? playerIndex : NO_PLAYER) << 24);
+            }
+        }
+
+        int slots = Math.max(1, (entries.size() + ENTRIES_PER_SLOT - 1) / ENTRIES_PER_SLOT);
+        for (int slot = 0; slot < slots; slot++) {
+            out.putLong(gameId);
+            out.putLong(timestamp);
+            out.put((byte) entries.size());
+            out.put((byte) players.size());
+            out.put((byte) (winner != null ? players.indexOf(winner) : NO_PLAYER));
+            out.put((byte) ((upperBonus ? FLAG_UPPER_BONUS : 0) | (slot > 0 ? FLAG_CONTINUATION : 0)));
+            out.put((byte) slots);
+            out.put((byte) 0);
+            out.putShort((short) 0);
+            // Pad unused entries so every slot has the same size
+            for (int i = slot * ENTRIES_PER_SLOT; i < (slot + 1) * ENTRIES_PER_SLOT; i++) {
+                int entry = i < entries.size() ? entries.get(i) : 0;
+                for (int shift = 0; shift < 32; shift += 8) {
+                    out.put((byte) (entry >>> shift));
+                }
+            }
+        }
+        return slots;
+    }
+}
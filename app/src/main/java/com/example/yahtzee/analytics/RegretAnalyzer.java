@@ -0,0 +1,103 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.ai.TurnEvaluator;
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.solver.OptimalSolver;
+import java.io.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Post-game review of every hold and category choice recorded in a game's
+ * {@link TurnRecord} history. Each choice is valued by {@link OptimalSolver}
+ * as expected final points, and its regret is how far it falls short of the
+ * best choice from the same position. Values are those of a player filling
+ * the scorecard alone, so in shared-scorecard games they ignore what the
+ * opponents will take. Games are analyzed in parallel.
+ */
+public class RegretAnalyzer {
+    private final OptimalSolver solver;
+    private final boolean keepDecisions;
+
+    /**
+     * @param keepDecisions keep every decision in the report, not just per-player totals
+     */
+    public RegretAnalyzer(OptimalSolver solver, boolean keepDecisions) {
+        if (solver == null) {
+            throw new IllegalArgumentException("Solver cannot be null");
+        }
+        this.solver = solver;
+        this.keepDecisions = keepDecisions;
+    }
+
+    /**
+     * Analyze games in memory; decisions are tagged with their index in the list
+     */
+    public RegretReport analyze(List<Tournament> games) {
+        return IntStream.range(0, games.size()).parallel()
+            .mapToObj(index -> analyzeGame(index, games.get(index)))
+            .collect(() -> new RegretReport(keepDecisions), RegretReport::merge, RegretReport::merge);
+    }
+
+    /**
+     * Analyze saved games, loading them in parallel. Files that cannot be
+     * loaded are counted in the report and otherwise skipped.
+     */
+    public RegretReport analyzeFiles(List<File> savedGames) {
+        return IntStream.range(0, savedGames.size()).parallel()
+            .mapToObj(index -> {
+                Tournament game;
+                try {
+                    game = new Tournament(savedGames.get(index).getPath());
+                } catch (IOException e) {
+                    RegretReport report = new RegretReport(keepDecisions);
+                    report.countUnreadableGame();
+                    return report;
+                }
+                return analyzeGame(index, game);
+            })
+            .collect(() -> new RegretReport(keepDecisions), RegretReport::merge, RegretReport::merge);
+    }
+
+    RegretReport analyzeGame(int gameIndex, Tournament game) {
+        RegretReport report = new RegretReport(keepDecisions);
+        for (List<TurnRecord> turn : game.getCompletedTurns()) {
+            analyzeTurn(gameIndex, turn, report);
+        }
+        report.countGame();
+        return report;
+    }
+
+    private void analyzeTurn(int gameIndex, List<TurnRecord> turn, RegretReport report) {
+        if (turn.isEmpty() || turn.get(0).getPlayer() == null) {
+            return;
+        }
+        TurnRecord first = turn.get(0);
+        if (first.getFilledMask() == OptimalSolver.FULL_MASK) {
+            return;
+        }
+        TurnEvaluator evaluator = solver.evaluator(first.getFilledMask(), first.getUpperScore());
+        String playerName = first.getPlayer().getName();
+        int roundNumber = first.getRound().getRoundNumber();
+
+        for (int i = 0; i < turn.size(); i++) {
+            TurnRecord record = turn.get(i);
+            int rollsLeft = record.getRollsLeft();
+            if (record.getDice().contains(0) || rollsLeft >= GameState.MAX_ROLLS) {
+                continue;
+            }
+            int dice = PackedDice.pack(record.getDice());
+            double optimal = evaluator.value(dice, rollsLeft);
+            if (i + 1 < turn.size()) {
+                int hold = PackedDice.holdMask(turn.get(i + 1).getHeldDiceIndices());
+                report.add(new RegretReport.Decision(gameIndex, playerName, roundNumber, rollsLeft, dice,
+                    RegretReport.Kind.HOLD, evaluator.holdValue(dice, rollsLeft, hold), optimal));
+            } else if (record.getSelectedCategory() != null) {
+                double chosen = solver.categoryValue(first.getFilledMask(), first.getUpperScore(),
+                    record.getSelectedCategory().ordinal(), record.getFinalScore());
+                report.add(new RegretReport.Decision(gameIndex, playerName, roundNumber, rollsLeft, dice,
+                    RegretReport.Kind.CATEGORY, chosen, optimal));
+            }
+        }
+    }
+}
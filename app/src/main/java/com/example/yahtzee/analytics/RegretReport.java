@@ -0,0 +1,228 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Per-decision regret of analyzed games and per-player totals. Like
+ * {@link ScoreStatistics}, a report is filled by one worker and combined
+ * with others through {@link #merge(RegretReport)}.
+ */
+public class RegretReport {
+    // Regrets below this are rounding noise, not mistakes
+    public static final double MISTAKE_THRESHOLD = 0.01;
+
+    public enum Kind {
+        /** Which dice to keep before rolling again */
+        HOLD,
+        /** Stopping and scoring a category */
+        CATEGORY
+    }
+
+    /**
+     * One decision: the value of the choice made and of the best choice, in expected points
+     */
+    public static final class Decision {
+        private final int gameIndex;
+        private final String playerName;
+        private final int roundNumber;
+        private final int rollsLeft;
+        private final int packedDice;
+        private final Kind kind;
+        private final double chosenValue;
+        private final double optimalValue;
+
+        Decision(int gameIndex, String playerName, int roundNumber, int rollsLeft, int packedDice, Kind kind,
+                 double chosenValue, double optimalValue) {
+            this.gameIndex = gameIndex;
+            this.playerName = playerName;
+            this.roundNumber = roundNumber;
+            this.rollsLeft = rollsLeft;
+            this.packedDice = packedDice;
+            this.kind = kind;
+            this.chosenValue = chosenValue;
+            this.optimalValue = optimalValue;
+        }
+
+        public int getGameIndex() {
+            return gameIndex;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public int getRoundNumber() {
+            return roundNumber;
+        }
+
+        public int getRollsLeft() {
+            return rollsLeft;
+        }
+
+        public List<Integer> getDice() {
+            return PackedDice.unpack(packedDice);
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public double getChosenValue() {
+            return chosenValue;
+        }
+
+        public double getOptimalValue() {
+            return optimalValue;
+        }
+
+        /**
+         * Expected points lost by this decision; never negative
+         */
+        public double getRegret() {
+            return Math.max(0, optimalValue - chosenValue);
+        }
+    }
+
+    /**
+     * Totals of one player's decisions
+     */
+    public static final class PlayerSummary {
+        private final String playerName;
+        private final long[] decisions = new long[Kind.values().length];
+        private final long[] mistakes = new long[Kind.values().length];
+        private final double[] regret = new double[Kind.values().length];
+
+        PlayerSummary(String playerName) {
+            this.playerName = playerName;
+        }
+
+        void add(Decision decision) {
+            int kind = decision.getKind().ordinal();
+            decisions[kind]++;
+            regret[kind] += decision.getRegret();
+            if (decision.getRegret() > MISTAKE_THRESHOLD) {
+                mistakes[kind]++;
+            }
+        }
+
+        void merge(PlayerSummary other) {
+            for (int kind = 0; kind < decisions.length; kind++) {
+                decisions[kind] += other.decisions[kind];
+                mistakes[kind] += other.mistakes[kind];
+                regret[kind] += other.regret[kind];
+            }
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public long getDecisionCount(Kind kind) {
+            return decisions[kind.ordinal()];
+        }
+
+        public long getMistakeCount(Kind kind) {
+            return mistakes[kind.ordinal()];
+        }
+
+        public double getTotalRegret(Kind kind) {
+            return regret[kind.ordinal()];
+        }
+
+        public double getTotalRegret() {
+            double total = 0;
+            for (double r : regret) {
+                total += r;
+            }
+            return total;
+        }
+
+        /**
+         * Average expected points lost per decision of a kind
+         */
+        public double getMeanRegret(Kind kind) {
+            long count = decisions[kind.ordinal()];
+            return count == 0 ? 0 : regret[kind.ordinal()] / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s: %d holds (%.3f lost each), %d categories (%.3f lost each)",
+                playerName, decisions[Kind.HOLD.ordinal()], getMeanRegret(Kind.HOLD),
+                decisions[Kind.CATEGORY.ordinal()], getMeanRegret(Kind.CATEGORY));
+        }
+    }
+
+    private final boolean keepDecisions;
+    private final List<Decision> decisions = new ArrayList<>();
+    private final Map<String, PlayerSummary> players = new TreeMap<>();
+    private long games;
+    private long unreadableGames;
+
+    /**
+     * @param keepDecisions keep every decision, not just the per-player totals
+     */
+    public RegretReport(boolean keepDecisions) {
+        this.keepDecisions = keepDecisions;
+    }
+
+    void add(Decision decision) {
+        if (keepDecisions) {
+            decisions.add(decision);
+        }
+        players.computeIfAbsent(decision.getPlayerName(), PlayerSummary::new).add(decision);
+    }
+
+    void countGame() {
+        games++;
+    }
+
+    void countUnreadableGame() {
+        unreadableGames++;
+    }
+
+    public void merge(RegretReport other) {
+        decisions.addAll(other.decisions);
+        for (PlayerSummary summary : other.players.values()) {
+            players.computeIfAbsent(summary.getPlayerName(), PlayerSummary::new).merge(summary);
+        }
+        games += other.games;
+        unreadableGames += other.unreadableGames;
+    }
+
+    /**
+     * Every analyzed decision, if the report keeps them; otherwise empty
+     */
+    public List<Decision> getDecisions() {
+        return Collections.unmodifiableList(decisions);
+    }
+
+    /**
+     * Decisions sorted by regret, worst first
+     */
+    public List<Decision> getWorstDecisions(int limit) {
+        List<Decision> sorted = new ArrayList<>(decisions);
+        sorted.sort((a, b) -> Double.compare(b.getRegret(), a.getRegret()));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    public Collection<PlayerSummary> getPlayerSummaries() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    public PlayerSummary getPlayerSummary(String playerName) {
+        return players.get(playerName);
+    }
+
+    public long getGameCount() {
+        return games;
+    }
+
+    /**
+     * Saved games that could not be loaded
+     */
+    public long getUnreadableGameCount() {
+        return unreadableGames;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.ScoreCard;
+import com.example.yahtzee.model.ScoreCategory;
+
+/**
+ * Mergeable per-category, per-round score sums used for log aggregations.
+ * Rounds are indexed by {@code Round.getRoundNumber()}.
+ */
+public class ScoreByRound {
+    private static final int CATEGORIES = ScoreCategory.values().length;
+    private static final int ROUNDS = ScoreCard.TOTAL_ROUNDS + 1;
+
+    private final long[] sums = new long[CATEGORIES * ROUNDS];
+    private final long[] counts = new long[CATEGORIES * ROUNDS];
+
+    void add(GameLogRecord record) {
+        int entries = record.getEntryCount();
+        for (int i = 0; i < entries; i++) {
+            int round = record.getRound(i);
+            if (round >= ROUNDS) continue;
+            int slot = record.getCategoryOrdinal(i) * ROUNDS + round;
+            sums[slot] += record.getScore(i);
+            counts[slot]++;
+        }
+    }
+
+    ScoreByRound merge(ScoreByRound other) {
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] += other.sums[i];
+            counts[i] += other.counts[i];
+        }
+        return this;
+    }
+
+    /**
+     * Average score of a category when it was scored in the given round, or NaN if it never was
+     */
+    public double getAverage(ScoreCategory category, int roundNumber) {
+        int slot = slot(category, roundNumber);
+        return counts[slot] == 0 ? Double.NaN : (double) sums[slot] / counts[slot];
+    }
+
+    public long getCount(ScoreCategory category, int roundNumber) {
+        return counts[slot(category, roundNumber)];
+    }
+
+    private static int slot(ScoreCategory category, int roundNumber) {
+        if (roundNumber < 0 || roundNumber >= ROUNDS) {
+            throw new IllegalArgumentException("Invalid round: " + roundNumber);
+        }
+        return category.ordinal() * ROUNDS + roundNumber;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.yahtzee.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative integer scores with one bucket per value.
+ * Because every value has its own bucket, quantiles are exact, and two
+ * histograms merge by adding counts. The range given at construction is a
+ * starting size; a larger value grows the histogram to fit it.
+ * Not thread-safe: each worker records into its own instance and merges at the end.
+ */
+public class ScoreHistogram {
+    private long[] counts;
+    private long total;
+    private long sum;
+
+    public ScoreHistogram(int maxValue) {
+        if (maxValue < 0) {
+            throw new IllegalArgumentException("Max value cannot be negative");
+        }
+        this.counts = new long[maxValue + 1];
+    }
+
+    public void record(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative: " + value);
+        }
+        if (value >= counts.length) {
+            grow(value);
+        }
+        counts[value]++;
+        total++;
+        sum += value;
+    }
+
+    public ScoreHistogram merge(ScoreHistogram other) {
+        if (other.counts.length > counts.length) {
+            grow(other.counts.length - 1);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        return this;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public long getCount(int value) {
+        return value >= 0 && value < counts.length ? counts[value] : 0;
+    }
+
+    public double getMean() {
+        return total == 0 ? Double.NaN : (double) sum / total;
+    }
+
+    /**
+     * Largest value the histogram currently has a bucket for
+     */
+    public int getMaxValue() {
+        return counts.length - 1;
+    }
+
+    /**
+     * Exact quantile, for q between 0 and 1
+     */
+    public int quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        return percentileOf(counts, q * 100);
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(counts, counts.length);
+    }
+
+    private void grow(int maxValue) {
+        counts = Arrays.copyOf(counts, Math.max(maxValue + 1, counts.length * 2));
+    }
+
+    /**
+     * Smallest value whose cumulative count reaches the requested percentile (0-100)
+     */
+    static int percentileOf(long[] histogram, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            throw new IllegalStateException("No values recorded");
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            seen += histogram[value];
+            if (seen >= rank) {
+                return value;
+            }
+        }
+        return histogram.length - 1;
+    }
+}
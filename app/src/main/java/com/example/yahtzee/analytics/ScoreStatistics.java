@@ -0,0 +1,123 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Score-distribution sink for batch simulations.
+ * Records final totals, per-category scores, upper-bonus hit rate and
+ * per-round points into {@link ScoreHistogram}s. Every scorecard of a game
+ * is recorded; the points of a round on a shared card add up over all seats,
+ * so those histograms grow to fit the largest round seen. An instance is owned by a
+ * single worker thread, so recording takes no locks; workers' instances are
+ * combined with {@link #merge(ScoreStatistics)} once they finish.
+ */
+public class ScoreStatistics {
+    // Highest possible total: 105 upper, the 35 bonus and 193 lower (three of a kind counts only the three dice)
+    public static final int MAX_TOTAL = 333;
+    private static final int MAX_CATEGORY_SCORE = 50;
+    // Initial range only: a shared card's round collects one category per seat
+    private static final int MAX_ROUND_SCORE = 2 * MAX_CATEGORY_SCORE;
+
+    private final ScoreHistogram totals = new ScoreHistogram(MAX_TOTAL);
+    private final ScoreHistogram[] categoryScores = new ScoreHistogram[ScoreCategory.values().length];
+    private final ScoreHistogram[] roundPoints = new ScoreHistogram[ScoreCard.TOTAL_ROUNDS];
+    private long scoreCards;
+    private long upperBonusHits;
+
+    public ScoreStatistics() {
+        for (int i = 0; i < categoryScores.length; i++) {
+            categoryScores[i] = new ScoreHistogram(MAX_CATEGORY_SCORE);
+        }
+        for (int i = 0; i < roundPoints.length; i++) {
+            roundPoints[i] = new ScoreHistogram(MAX_ROUND_SCORE);
+        }
+    }
+
+    /**
+     * Record a finished scorecard, e.g. from a single-player simulation
+     */
+    public void recordScoreCard(ScoreCard scoreCard) {
+        totals.record(scoreCard.getTotalScore());
+        recordCard(scoreCard);
+    }
+
+    /**
+     * Record a finished tournament: one total per player and every scorecard,
+     * the shared one or one per seat
+     */
+    public void recordGame(Tournament tournament) {
+        for (int total : tournament.calculatePlayerScores().values()) {
+            totals.record(total);
+        }
+        List<Player> players = tournament.getPlayers();
+        boolean perPlayer = tournament.getScoreCardMode() == ScoreCardMode.PER_PLAYER;
+        for (int seat = 0; seat < (perPlayer ? players.size() : 1); seat++) {
+            recordCard(tournament.getScoreCard(players.get(seat)));
+        }
+    }
+
+    private void recordCard(ScoreCard scoreCard) {
+        for (ScoreCategory category : ScoreCategory.values()) {
+            if (scoreCard.isScored(category)) {
+                categoryScores[category.ordinal()].record(scoreCard.getScore(category));
+            }
+        }
+        for (int round = 1; round <= roundPoints.length; round++) {
+            roundPoints[round - 1].record(scoreCard.getRoundScore(round));
+        }
+        scoreCards++;
+        if (scoreCard.getUpperBonus() > 0) {
+            upperBonusHits++;
+        }
+    }
+
+    /**
+     * Add another worker's statistics into this one
+     */
+    public ScoreStatistics merge(ScoreStatistics other) {
+        totals.merge(other.totals);
+        for (int i = 0; i < categoryScores.length; i++) {
+            categoryScores[i].merge(other.categoryScores[i]);
+        }
+        for (int i = 0; i < roundPoints.length; i++) {
+            roundPoints[i].merge(other.roundPoints[i]);
+        }
+        scoreCards += other.scoreCards;
+        upperBonusHits += other.upperBonusHits;
+        return this;
+    }
+
+    public ScoreHistogram getTotals() {
+        return totals;
+    }
+
+    public ScoreHistogram getCategoryScores(ScoreCategory category) {
+        return categoryScores[category.ordinal()];
+    }
+
+    public ScoreHistogram getRoundPoints(int roundNumber) {
+        if (roundNumber < 1 || roundNumber > roundPoints.length) {
+            throw new IllegalArgumentException("Invalid round: " + roundNumber);
+        }
+        return roundPoints[roundNumber - 1];
+    }
+
+    public long getScoreCardCount() {
+        return scoreCards;
+    }
+
+    public double getUpperBonusRate() {
+        return scoreCards == 0 ? Double.NaN : (double) upperBonusHits / scoreCards;
+    }
+
+    @Override
+    public String toString() {
+        if (totals.getCount() == 0) {
+            return "No games recorded";
+        }
+        return String.format(Locale.ROOT, "%d totals: mean %.2f, p10 %d, median %d, p90 %d, upper bonus %.1f%%",
+            totals.getCount(), totals.getMean(), totals.quantile(0.1), totals.quantile(0.5),
+            totals.quantile(0.9), getUpperBonusRate() * 100);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.yahtzee.analytics;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hands every simulation thread its own {@link ScoreStatistics}, so recording
+ * never contends, and merges all of them on demand.
+ * Call {@link #merged()} after the workers have finished recording.
+ */
+public class ScoreStatisticsCollector {
+    private final Queue<ScoreStatistics> perThread = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ScoreStatistics> local = new ThreadLocal<ScoreStatistics>() {
+        @Override
+        protected ScoreStatistics initialValue() {
+            ScoreStatistics statistics = new ScoreStatistics();
+            perThread.add(statistics);
+            return statistics;
+        }
+    };
+
+    /**
+     * The calling thread's private statistics
+     */
+    public ScoreStatistics local() {
+        return local.get();
+    }
+
+    public ScoreStatistics merged() {
+        ScoreStatistics result = new ScoreStatistics();
+        for (ScoreStatistics statistics : perThread) {
+            result.merge(statistics);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.yahtzee.callbacks;
+
+import com.example.yahtzee.model.Hint;
+
+public interface HintCallback {
+    /**
+     * Called from a background thread when the hint for the current dice is ready
+     */
+    void onHintReady(Hint hint);
+}
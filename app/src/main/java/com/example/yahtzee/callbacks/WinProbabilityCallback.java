@@ -0,0 +1,11 @@
+package com.example.yahtzee.callbacks;
+
+import com.example.yahtzee.model.GameState;
+
+public interface WinProbabilityCallback {
+    /**
+     * Called from a background thread when the estimate for a state is ready
+     * @param winProbabilities chance of winning per seat; ties are shared
+     */
+    void onWinProbabilityUpdated(GameState state, double[] winProbabilities);
+}
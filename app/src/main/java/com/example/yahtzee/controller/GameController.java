@@ -1,8 +1,15 @@
 package com.example.yahtzee.controller;
 
+import com.example.yahtzee.ai.DecisionEngine;
+import com.example.yahtzee.ai.DecisionTicket;
+import com.example.yahtzee.ai.HintEngine;
+import com.example.yahtzee.ai.WinProbabilityEstimator;
+import com.example.yahtzee.analytics.GameLog;
 import com.example.yahtzee.callbacks.*;
 import com.example.yahtzee.model.*;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class GameController {
     private Tournament tournament;
@@ -16,6 +23,27 @@ public class GameController {
     private boolean skipComputerExplanations = false;
     private Thread computerTurnThread;
 
+    // Optional log that completed games are appended to
+    private GameLog gameLog;
+
+    // Optional live win probabilities, refreshed after every scored category
+    private WinProbabilityCallback winProbabilityCallback;
+    private WinProbabilityEstimator winProbabilityEstimator;
+    // State of the latest estimate requested; older results are dropped
+    private volatile GameState winProbabilityState;
+
+    // Set by shutdown(); background results arriving later are dropped
+    private volatile boolean shutDown;
+
+    // Deadline-bounded computer moves; the engine and its threads are created on first use
+    private DecisionEngine decisionEngine;
+    private ExecutorService decisionExecutor;
+    private ScheduledExecutorService decisionTimer;
+
+    // Hints for human players, computed in the background after every roll
+    private final HintEngine hintEngine = new HintEngine();
+    private HintCallback hintCallback;
+
     public GameController(Tournament tournament, GameStateCallback gameStateCallback) {
         if (tournament == null) {
             throw new IllegalArgumentException("Tournament cannot be null");
@@ -48,6 +76,8 @@ public class GameController {
     }
 
     public void startNewTurn() {
+        cancelPendingDecision();
+
         // Make sure currentRound is set
         currentRound = tournament.getCurrentRound();
         
@@ -58,12 +88,8 @@ public class GameController {
         Player currentPlayer = tournament.getCurrentPlayer();
         
         // Initialize dice with random values for the new turn
-        Random random = new Random();
-        List<Integer> initialDiceValues = new ArrayList<>();
-        for (int i = 0; i < 5; i++) {
-            initialDiceValues.add(random.nextInt(6) + 1);
-        }
-        currentTurn.setDiceValues(initialDiceValues);
+        currentTurn.dealDice();
+        List<Integer> initialDiceValues = new ArrayList<>(currentTurn.getDice());
         
         // Clear any previously held dice
         List<Integer> heldIndices = new ArrayList<>(currentTurn.getHeldDiceIndices());
@@ -81,6 +107,7 @@ public class GameController {
         currentTurn.setCallback(new TurnCallback() {
             @Override
             public void onRollsUpdated(int rollsLeft) {
+                cancelPendingDecision();
                 if (turnCallback != null) {
                     turnCallback.onRollsUpdated(rollsLeft);
                 }
@@ -92,6 +119,7 @@ public class GameController {
                     turnCallback.onDiceValuesChanged(values);
                 }
                 gameStateCallback.onDiceRolled(values, currentTurn.getHeldDiceIndices());
+                requestHint();
             }
 
             @Override
@@ -174,21 +202,10 @@ public class GameController {
             return false;
         }
 
-        // Get the current dice and held dice info
-        List<Integer> dice = new ArrayList<>(currentTurn.getDice());
+        // Roll all non-held dice from the tournament's seeded dice
         List<Integer> heldIndices = currentTurn.getHeldDiceIndices();
-        
-        // Roll all non-held dice
-            Random random = new Random();
-        for (int i = 0; i < dice.size(); i++) {
-            if (!heldIndices.contains(i)) {
-                dice.set(i, random.nextInt(6) + 1);
-            }
-        }
-        
-        // Update dice values and decrement rolls
-        currentTurn.setDiceValues(dice);
-            currentTurn.decrementRolls();
+        currentTurn.roll();
+        List<Integer> dice = new ArrayList<>(currentTurn.getDice());
             
             // Notify about the roll
             if (gameStateCallback != null) {
@@ -215,24 +232,10 @@ public class GameController {
             return false;
         }
         
-        // Get the current dice and held indices
-        List<Integer> currentDice = currentTurn.getDice();
-            List<Integer> heldIndices = currentTurn.getHeldDiceIndices();
-        List<Integer> newDiceValues = new ArrayList<>();
-        
         // Roll non-held dice, keep held dice
-            Random random = new Random();
-        for (int i = 0; i < currentDice.size(); i++) {
-                if (heldIndices.contains(i)) {
-                newDiceValues.add(currentDice.get(i));
-                } else {
-                newDiceValues.add(random.nextInt(6) + 1);
-            }
-        }
-        
-        // Update dice values and decrement rolls
-        currentTurn.setDiceValues(newDiceValues);
-            currentTurn.decrementRolls();
+            List<Integer> heldIndices = currentTurn.getHeldDiceIndices();
+        currentTurn.roll();
+        List<Integer> newDiceValues = new ArrayList<>(currentTurn.getDice());
             
         // Notify about the roll and update UI
             if (gameStateCallback != null) {
@@ -316,6 +319,7 @@ public class GameController {
     }
 
     public void selectCategory(ScoreCategory category) {
+        cancelPendingDecision();
         try {
             if (!isCategoryValid(category)) {
                 gameStateCallback.onError("Category " + category.name() + " is not available");
@@ -324,14 +328,9 @@ public class GameController {
 
             // Get current player and calculate score
             Player currentPlayer = tournament.getCurrentPlayer();
-            ScoreCard scoreCard = tournament.getScoreCard(); // Now using shared scorecard
-            int score = scoreCard.calculateScore(category, currentTurn.getDice());
-            
-            // Record the score
-            scoreCard.setScore(category, score, currentPlayer, currentRound);
             
-            // Record which player scored this category
-            tournament.recordCategoryScorer(category, currentPlayer);
+            // Record the score and which player scored this category
+            int score = tournament.scoreCategory(category);
             
             // Notify about score selection
             gameStateCallback.onScoreSelected(category, score, currentRound);
@@ -346,14 +345,8 @@ public class GameController {
             
             // IMPORTANT FIX: Directly verify the player changed and force it if not
             if (tournament.getCurrentPlayer() == previousPlayer) {
-                // Player didn't change - explicitly switch player
-                if (previousPlayer == tournament.getHumanPlayer()) {
-                    // Switch from human to computer
-                    tournament.setCurrentPlayer(tournament.getComputerPlayer());
-                } else {
-                    // Switch from computer to human
-                    tournament.setCurrentPlayer(tournament.getHumanPlayer());
-                }
+                // Player didn't change - explicitly switch to the other player
+                tournament.setCurrentPlayer(tournament.getNextPlayer(previousPlayer));
                 
                 // Log for debugging
                 System.out.println("FORCED PLAYER SWITCH from " + previousPlayer.getName() + 
@@ -362,9 +355,15 @@ public class GameController {
                 System.out.println("Player switched normally from " + previousPlayer.getName() + 
                                   " to " + tournament.getCurrentPlayer().getName());
             }
+
+            updateWinProbability();
+            
+            // Check if every scorecard is complete
+            boolean isGameComplete = tournament.areScoreCardsComplete();
             
-            // Check if the shared scorecard is complete
-            boolean isGameComplete = scoreCard.isComplete();
+            if (isGameComplete || tournament.isGameOver()) {
+                recordCompletedGame();
+            }
             
             if (isGameComplete) {
                 // Get player scores
@@ -406,8 +405,7 @@ public class GameController {
 
     public void setComputerDiceValues(List<Integer> values) {
         if (currentTurn == null) return;
-        currentTurn.setDiceValues(values);
-        currentTurn.decrementRolls();
+        currentTurn.enterDiceValues(values);
         if (gameStateCallback != null) {
             gameStateCallback.onTurnStarted(tournament.getCurrentPlayer(), currentTurn.getRollsLeft());
         }
@@ -416,8 +414,7 @@ public class GameController {
     public void setManualDiceValues(List<Integer> values) {
         if (currentTurn != null) {
             try {
-                currentTurn.setDiceValues(values);
-                currentTurn.decrementRolls();
+                currentTurn.enterDiceValues(values);
                 if (gameStateCallback != null) {
                     gameStateCallback.onTurnStarted(tournament.getCurrentPlayer(), currentTurn.getRollsLeft());
                 }
@@ -643,38 +640,19 @@ public class GameController {
                 
                 // Only proceed with additional checks if the selected category would score zero
                 if (score == 0) {
-                    // Check if there are any non-zero scoring categories available
-                    List<ScoreCategory> nonZeroCategories = new ArrayList<>();
-                    Map<ScoreCategory, Integer> categoryScores = new HashMap<>();
-                    
-                    for (ScoreCategory category : getAvailableCategories()) {
-                        int categoryScore = scoreCard.calculateScore(category, dice);
-                        categoryScores.put(category, categoryScore);
-                        if (categoryScore > 0) {
-                            nonZeroCategories.add(category);
-                        }
-                    }
+                    // Open categories the dice score points in
+                    int packed = PackedDice.pack(dice);
+                    int nonZero = ScoreTable.nonZeroMask(packed) & ~scoreCard.getFilledMask();
                     
                     // If we have non-zero options, use the highest scoring one instead
-                    if (!nonZeroCategories.isEmpty()) {
-                        ScoreCategory highestScoringCategory = null;
-                        int highestScore = -1;
-                        
-                        for (ScoreCategory category : nonZeroCategories) {
-                            int categoryScore = categoryScores.get(category);
-                            if (categoryScore > highestScore) {
-                                highestScore = categoryScore;
-                                highestScoringCategory = category;
-                            }
-                        }
-                        
-                        if (highestScoringCategory != null) {
-                            System.out.println("GameController overriding computer choice from " + 
-                                bestCategory.getDisplayName() + " (0 pts) to " + 
-                                highestScoringCategory.getDisplayName() + " (" + 
-                                categoryScores.get(highestScoringCategory) + " pts)");
-                            bestCategory = highestScoringCategory;
-                        }
+                    if (nonZero != 0) {
+                        ScoreCategory highestScoringCategory =
+                            ScoreCategory.values()[ScoreTable.bestCategory(packed, nonZero)];
+                        System.out.println("GameController overriding computer choice from " + 
+                            bestCategory.getDisplayName() + " (0 pts) to " + 
+                            highestScoringCategory.getDisplayName() + " (" + 
+                            ScoreTable.score(packed, highestScoringCategory) + " pts)");
+                        bestCategory = highestScoringCategory;
                     }
                 }
             }
@@ -728,6 +706,118 @@ public class GameController {
         gameStateCallback.onComputerTurnWaitingForUser(nextStepDescription, nextAction);
     }
 
+    /**
+     * Append the finished game to the game log, if one is attached.
+     */
+    private void recordCompletedGame() {
+        if (gameLog == null) return;
+        try {
+            gameLog.append(tournament);
+            gameLog.flush();
+        } catch (IOException e) {
+            gameStateCallback.onError("Failed to record game: " + e.getMessage());
+        }
+    }
+
+    public void setGameLog(GameLog gameLog) {
+        this.gameLog = gameLog;
+    }
+
+    /**
+     * Receive win probability estimates after each scored category.
+     * Only shared-scorecard games are estimated.
+     */
+    public void setWinProbabilityCallback(WinProbabilityCallback callback) {
+        this.winProbabilityCallback = callback;
+        if (callback == null) {
+            if (winProbabilityEstimator != null) {
+                winProbabilityEstimator.shutdown();
+                winProbabilityEstimator = null;
+            }
+            return;
+        }
+        if (shutDown) {
+            return;
+        }
+        if (winProbabilityEstimator == null) {
+            winProbabilityEstimator = new WinProbabilityEstimator();
+        }
+        updateWinProbability();
+    }
+
+    /**
+     * Start a background estimate for the current state; any older estimate is cancelled
+     */
+    private void updateWinProbability() {
+        WinProbabilityCallback callback = winProbabilityCallback;
+        if (shutDown || callback == null || tournament.getScoreCardMode() != ScoreCardMode.SHARED
+            || tournament.getCurrentTurn() == null) {
+            return;
+        }
+        GameState state = tournament.toGameState();
+        winProbabilityState = state;
+        winProbabilityEstimator.requestUpdate(state, (estimated, probabilities) -> {
+            if (isCurrentWinProbabilityState(estimated)) {
+                callback.onWinProbabilityUpdated(estimated, probabilities);
+            }
+        });
+    }
+
+    /**
+     * Whether an estimate for {@code state} still describes this game, i.e. it
+     * is for the latest requested state and the controller has not been shut down
+     */
+    public boolean isCurrentWinProbabilityState(GameState state) {
+        return !shutDown && state != null && state.equals(winProbabilityState);
+    }
+
+    /**
+     * Ask the current computer player for its next move in the background.
+     * The ticket completes within {@code timeoutMillis} with the best move
+     * found by then, and is cancelled if the turn moves on first.
+     */
+    public synchronized DecisionTicket requestComputerMove(long timeoutMillis) {
+        if (shutDown) {
+            throw new IllegalStateException("Controller has been shut down");
+        }
+        Player player = tournament.getCurrentPlayer();
+        if (!(player instanceof ComputerPlayer)) {
+            throw new IllegalStateException("It is not a computer player's turn");
+        }
+        if (decisionEngine == null) {
+            decisionExecutor = Executors.newSingleThreadExecutor(DecisionEngine.daemon("decision-search"));
+            decisionTimer = Executors.newSingleThreadScheduledExecutor(DecisionEngine.daemon("decision-deadline"));
+            decisionEngine = new DecisionEngine(decisionExecutor, decisionTimer);
+        }
+        return decisionEngine.request((ComputerPlayer) player, currentRound, timeoutMillis);
+    }
+
+    private synchronized void cancelPendingDecision() {
+        if (decisionEngine != null) {
+            decisionEngine.cancelPending();
+        }
+    }
+
+    /**
+     * Stop the decision, hint and win probability threads and drop their
+     * pending results. Call when the controller is replaced or its activity
+     * is destroyed; the controller must not be used afterwards.
+     */
+    public void shutdown() {
+        shutDown = true;
+        synchronized (this) {
+            if (decisionEngine != null) {
+                decisionEngine.cancelPending();
+                decisionExecutor.shutdownNow();
+                decisionTimer.shutdownNow();
+            }
+        }
+        hintEngine.shutdown();
+        if (winProbabilityEstimator != null) {
+            winProbabilityEstimator.shutdown();
+        }
+    }
+
     public void setTurnCallback(TurnCallback callback) {
         this.turnCallback = callback;
     }
@@ -757,6 +847,12 @@ public class GameController {
             return null;
         }
 
+        Hint hint = getHint();
+        if (hint != null) {
+            return new SuggestionResult(hint.getCategory(), hint.getCategoryScore(), hint.toString(),
+                hint.getCategoryScore(), Math.max(hint.getCategoryScore(), (int) Math.round(hint.getExpectedPoints())));
+        }
+
         Map<ScoreCategory, SuggestionResult> suggestions = 
             currentPlayer.analyzePossibleMoves(tournament.getScoreCard(currentPlayer));
         
@@ -770,6 +866,52 @@ public class GameController {
             .orElse(null);
     }
 
+    /**
+     * The hint for the current dice if the background computation has finished, otherwise null
+     */
+    public Hint getHint() {
+        if (currentTurn == null || currentTurn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return null;
+        }
+        Player currentPlayer = tournament.getCurrentPlayer();
+        return hintEngine.getHint(PackedDice.pack(currentTurn.getDice()), currentTurn.getRollsLeft(),
+            tournament.getScoreCard(currentPlayer).getFilledMask());
+    }
+
+    /**
+     * Make hints weigh the rest of the game, for games where every player has a card of their own
+     */
+    public void setHintLookahead(HintEngine.Lookahead lookahead) {
+        hintEngine.setLookahead(lookahead);
+    }
+
+    /**
+     * Receive hints for human players as soon as they are ready after a roll
+     */
+    public void setHintCallback(HintCallback callback) {
+        this.hintCallback = callback;
+    }
+
+    /**
+     * Start computing the hint for a human player's freshly rolled dice
+     */
+    private void requestHint() {
+        if (shutDown || currentTurn == null || currentTurn.getRollsLeft() == GameState.MAX_ROLLS
+            || currentTurn.getDice().contains(0)) {
+            return;
+        }
+        Player currentPlayer = tournament.getCurrentPlayer();
+        if (currentPlayer == null || currentPlayer.isComputer()) {
+            return;
+        }
+        ScoreCard scoreCard = tournament.getScoreCard(currentPlayer);
+        if (scoreCard.isComplete()) {
+            return;
+        }
+        hintEngine.requestHint(PackedDice.pack(currentTurn.getDice()), currentTurn.getRollsLeft(),
+            scoreCard.getFilledMask(), scoreCard.getUpperSectionScore(), hintCallback);
+    }
+
     /**
      * Checks if the current turn should automatically end and handles it if needed.
      * This happens when the player has no rolls left and all unselected categories would score 0.
@@ -785,21 +927,11 @@ public class GameController {
         ScoreCard scoreCard = tournament.getScoreCard(); // Get shared scorecard
         if (scoreCard == null) return false;
         
-        List<Integer> diceValues = currentTurn.getDice();
-        
-        // Check if all unselected categories would score 0
-        boolean allZeros = true;
-        for (ScoreCategory category : getAvailableCategories()) {
-            int potentialScore = scoreCard.calculateScore(category, diceValues);
-            if (potentialScore > 0) {
-                // Found at least one category that would score points
-                allZeros = false;
-                break;
-            }
-        }
+        int available = ScoreTable.ALL_CATEGORIES & ~scoreCard.getFilledMask();
+        int packed = PackedDice.pack(currentTurn.getDice());
         
         // If all potential scores are zero, automatically end the turn without scoring
-        if (allZeros && !getAvailableCategories().isEmpty()) {
+        if (available != 0 && (ScoreTable.nonZeroMask(packed) & available) == 0) {
             skipTurn("No possible points available. Skipping turn.");
             return true;
         }
@@ -825,8 +957,10 @@ public class GameController {
             gameStateCallback.onError(reason);
         }
         
+        cancelPendingDecision();
+
         // Switch to the next player (this will advance the turn in the tournament)
-        tournament.switchToNextPlayer();
+        tournament.skipTurn();
         
         // Update the current turn reference
         if (tournament.getCurrentTurn() != null) {
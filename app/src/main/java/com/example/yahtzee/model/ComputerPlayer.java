@@ -3,15 +3,11 @@ package com.example.yahtzee.model;
 import com.example.yahtzee.callbacks.GameStateCallback;
 import java.util.*;
 
-public class ComputerPlayer extends Player implements ComputerPlayerActions {
-    // Thresholds for different category types
-    private static final double YAHTZEE_THRESHOLD = 0.7;  // More aggressive for Yahtzee
-    private static final double STRAIGHT_THRESHOLD = 0.5; // More aggressive for straights
-    private static final double FULL_HOUSE_THRESHOLD = 0.5;
-    private static final double KIND_THRESHOLD = 0.4;
+import static com.example.yahtzee.model.ComputerPlayerParameters.Parameter.*;
 
-    // Upper section bonus strategy - prioritize completing upper section
-    private static final double UPPER_SECTION_BONUS_WEIGHT = 1.2;
+public class ComputerPlayer extends Player implements ComputerPlayerActions {
+    // Roll thresholds and category weights, see ComputerPlayerParameters for the defaults
+    private final ComputerPlayerParameters parameters;
 
     // Track explanations and prevent repetition
     private List<String> explanations = new ArrayList<>();
@@ -25,14 +21,88 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
     private int rollCount = 0;
     private Map<String, Object> turnContext = new HashMap<>();
 
+    // Habits of the human opponents in a shared-scorecard game, if known
+    private OpponentModel opponentModel;
+
     // Track game progress
     private int turnNumber = 0;
     private boolean earlyGame = true;
     private boolean isFirstRoll = true;
 
     public ComputerPlayer(GameStateCallback callback) {
-        super("Computer");
+        this(callback, ComputerPlayerParameters.defaults());
+    }
+
+    public ComputerPlayer(GameStateCallback callback, ComputerPlayerParameters parameters) {
+        this("Computer", callback, parameters);
+    }
+
+    /**
+     * Create a computer player with its own name, so that several computer
+     * players can share a game.
+     */
+    public ComputerPlayer(String name, GameStateCallback callback, ComputerPlayerParameters parameters) {
+        super(name);
+        if (parameters == null) {
+            throw new IllegalArgumentException("Parameters cannot be null");
+        }
         this.gameStateCallback = callback;
+        this.parameters = parameters;
+    }
+
+    public ComputerPlayerParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Share a model of the opponents' category choices, so categories they
+     * are likely to take next are claimed first. Only meaningful when the
+     * scorecard is shared.
+     */
+    public void setOpponentModel(OpponentModel opponentModel) {
+        this.opponentModel = opponentModel;
+    }
+
+    public OpponentModel getOpponentModel() {
+        return opponentModel;
+    }
+
+    /**
+     * A detached copy of this player in a copy of its shared-scorecard game,
+     * with the same settings, game progress and state of the current turn.
+     * Deciding moves on the copy leaves this player and its game untouched,
+     * so it can run on another thread. Call it from the game's own thread.
+     *
+     * @throws IllegalStateException if the round has no shared scorecard
+     */
+    public ComputerPlayer copyForDecision(Round round) {
+        GameState state = round.toGameState();
+        ComputerPlayer copy = newInstance();
+        List<Player> seats = new ArrayList<>();
+        for (Player player : round.getPlayers()) {
+            // The other seats only matter as owners of filled categories
+            seats.add(player == this ? copy : new HumanPlayer(player.getName()));
+        }
+        Tournament game = Tournament.fromGameState(state, seats, new Dice(), null);
+
+        copy.opponentModel = opponentModel;
+        copy.currentTargetCategory = currentTargetCategory;
+        copy.rollCount = rollCount;
+        copy.turnContext = new HashMap<>(turnContext);
+        copy.turnNumber = turnNumber;
+        copy.earlyGame = earlyGame;
+        copy.isFirstRoll = isFirstRoll;
+        copy.setCurrentRound(game.getCurrentRound());
+        copy.scoreCard = game.getScoreCard(copy);
+        return copy;
+    }
+
+    /**
+     * A fresh player with the same name and settings and no callback.
+     * Subclasses with settings of their own override it.
+     */
+    protected ComputerPlayer newInstance() {
+        return new ComputerPlayer(getName(), null, parameters);
     }
 
     private void addExplanation(String title, String explanation) {
@@ -731,28 +801,28 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
         }
         
         // Adjust probability threshold based on category and game state
-        double probabilityThreshold = 0.8; // Default threshold
+        double probabilityThreshold = parameters.get(ROLL_THRESHOLD_DEFAULT);
         
         if (bestCategory != null) {
             // Adjust threshold based on category value
             switch (bestCategory) {
                 case YAHTZEE:
-                    probabilityThreshold = 0.5; // Even more aggressive for Yahtzee
+                    probabilityThreshold = parameters.get(ROLL_THRESHOLD_YAHTZEE);
                     break;
                 case FOUR_OF_A_KIND:
-                    probabilityThreshold = 0.55; // More aggressive for Four of a Kind (decreased from 0.7)
+                    probabilityThreshold = parameters.get(ROLL_THRESHOLD_FOUR_OF_A_KIND);
                     break;
                 case THREE_OF_A_KIND:
-                    probabilityThreshold = 0.6; // Aggressive for Three of a Kind (new value)
+                    probabilityThreshold = parameters.get(ROLL_THRESHOLD_THREE_OF_A_KIND);
                     break;
                 case FULL_HOUSE:
-                    probabilityThreshold = 0.65; // Somewhat more aggressive for these
+                    probabilityThreshold = parameters.get(ROLL_THRESHOLD_FULL_HOUSE);
                     break;
                 case LARGE_STRAIGHT:
-                    probabilityThreshold = 0.75; // Less aggressive for Large Straight (increased from 0.6)
+                    probabilityThreshold = parameters.get(ROLL_THRESHOLD_LARGE_STRAIGHT);
                     break;
                 case SMALL_STRAIGHT:
-                    probabilityThreshold = 0.8; // Less aggressive for Small Straight (increased from 0.65)
+                    probabilityThreshold = parameters.get(ROLL_THRESHOLD_SMALL_STRAIGHT);
                     break;
                 default:
                     // Keep default threshold for other categories
@@ -766,26 +836,27 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
             
             // Adjust based on current score relative to max
             if (percentOfMax > 0.8) {
-                probabilityThreshold -= 0.1; // More likely to keep if already at 80% of max
+                probabilityThreshold += parameters.get(HIGH_SCORE_ADJUSTMENT); // More likely to keep if already at 80% of max
             } else if (percentOfMax < 0.5) {
-                probabilityThreshold += 0.1; // More likely to roll if below 50% of max
+                probabilityThreshold += parameters.get(LOW_SCORE_ADJUSTMENT); // More likely to roll if below 50% of max
             }
             
             // Adjust based on rolls left
             if (currentTurn.getRollsLeft() == 1) {
-                probabilityThreshold -= 0.2; // Last roll - be more willing to keep
+                probabilityThreshold += parameters.get(LAST_ROLL_ADJUSTMENT); // Last roll - be more willing to keep
             } else if (currentTurn.getRollsLeft() == 2) {
-                probabilityThreshold -= 0.1; // First roll - be more willing to roll again
+                probabilityThreshold += parameters.get(FIRST_ROLL_ADJUSTMENT);
             }
             
             // Adjust for early vs late game
             if (!earlyGame && bestCategory.isUpperSection()) {
-                probabilityThreshold -= 0.1; // Less picky about upper section later in game
+                probabilityThreshold += parameters.get(LATE_UPPER_ADJUSTMENT); // Less picky about upper section later in game
             }
         }
         
         // Clamp threshold to reasonable values
-        probabilityThreshold = Math.max(0.4, Math.min(0.9, probabilityThreshold));
+        probabilityThreshold = Math.max(parameters.get(MIN_ROLL_THRESHOLD),
+            Math.min(parameters.get(MAX_ROLL_THRESHOLD), probabilityThreshold));
         
         // Make the decision
         boolean shouldRoll = bestProbability < probabilityThreshold && currentTurn.getRollsLeft() > 0;
@@ -1061,7 +1132,7 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
         // If we already have a target category with good probability, stick with it
         if (currentTargetCategory != null && 
             probabilities.containsKey(currentTargetCategory) && 
-            probabilities.get(currentTargetCategory) >= 0.4) {
+            probabilities.get(currentTargetCategory) >= parameters.get(STICK_WITH_TARGET_PROBABILITY)) {
             return currentTargetCategory;
         }
         
@@ -1186,7 +1257,7 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
             }
             
             // Skip if probability too low (except in last roll)
-            if (probability < 0.2 && currentTurn.getRollsLeft() > 0) continue;
+            if (probability < parameters.get(MIN_CATEGORY_PROBABILITY) && currentTurn.getRollsLeft() > 0) continue;
             
             int categoryValue = getMaxPossibleScore(category);
             
@@ -1196,27 +1267,27 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
             // Strategy adjustments based on category
             switch (category) {
                 case YAHTZEE:
-                    valueMultiplier = 1.8; // Highest priority for Yahtzee
+                    valueMultiplier = parameters.get(YAHTZEE_WEIGHT);
                     break;
                 case FOUR_OF_A_KIND:
-                    valueMultiplier = 1.6; // Higher priority for Four of a Kind (increased from 1.2)
+                    valueMultiplier = parameters.get(FOUR_OF_A_KIND_WEIGHT);
                     break;
                 case THREE_OF_A_KIND:
-                    valueMultiplier = 1.5; // Higher priority for Three of a Kind (new value)
+                    valueMultiplier = parameters.get(THREE_OF_A_KIND_WEIGHT);
                     break;
                 case FULL_HOUSE:
-                    valueMultiplier = 1.4; // Increased priority for Full House (increased from 1.2)
+                    valueMultiplier = parameters.get(FULL_HOUSE_WEIGHT);
                     break;
                 case LARGE_STRAIGHT:
-                    valueMultiplier = 1.2; // Lower priority for Large Straight (decreased from 1.4)
+                    valueMultiplier = parameters.get(LARGE_STRAIGHT_WEIGHT);
                     break;
                 case SMALL_STRAIGHT:
-                    valueMultiplier = 1.1; // Lower priority for Small Straight (decreased from 1.3)
+                    valueMultiplier = parameters.get(SMALL_STRAIGHT_WEIGHT);
                     break;
                 default:
                     // Upper section bonus strategy
                     if (category.isUpperSection() && needUpperBonus && earlyGame) {
-                        valueMultiplier = UPPER_SECTION_BONUS_WEIGHT;
+                        valueMultiplier = parameters.get(UPPER_SECTION_BONUS_WEIGHT);
                     }
                     break;
             }
@@ -1225,20 +1296,26 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
             if (currentTurn != null && currentTurn.getRollsLeft() == 0) {
                 int currentScore = calculateScore(diceValues, category);
                 double actualScoreRatio = (double) currentScore / categoryValue;
-                valueMultiplier *= (1.0 + actualScoreRatio * 2.0); // More weight to actual score
+                valueMultiplier *= (1.0 + actualScoreRatio * parameters.get(ACTUAL_SCORE_WEIGHT)); // More weight to actual score
             }
             
             // Late game strategy adjustments
             if (!earlyGame) {
                 // In late game, be more willing to take what we can get
-                valueMultiplier *= 1.1;
+                valueMultiplier *= parameters.get(LATE_GAME_WEIGHT);
                 
                 // Especially for empty categories
                 if (calculateScore(getAllDice(), category) == 0) {
-                    valueMultiplier *= 0.8; // Less excited about scoring zero
+                    valueMultiplier *= parameters.get(LATE_GAME_ZERO_WEIGHT); // Less excited about scoring zero
                 }
             }
             
+            // Race the opponent for categories it is likely to take next
+            if (opponentModel != null && calculateScore(diceValues, category) > 0) {
+                valueMultiplier *= 1.0 + parameters.get(DENIAL_WEIGHT)
+                    * opponentModel.claimProbability(category, scoreCard.getFilledMask());
+            }
+
             // Calculate expected value with the value multiplier
             double expectedValue = probability * categoryValue * valueMultiplier;
             
@@ -1976,40 +2053,15 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
     private ScoreCategory findHighestScoringCategory(List<Integer> diceValues) {
         if (scoreCard == null) return null;
         
-        List<ScoreCategory> availableCategories = new ArrayList<>();
-        for (ScoreCategory category : ScoreCategory.values()) {
-            if (!scoreCard.isCategoryFilled(category)) {
-                availableCategories.add(category);
-            }
-        }
-        
-        if (availableCategories.isEmpty()) return null;
-        
-        // Find categories with non-zero scores first
-        List<ScoreCategory> nonZeroCategories = new ArrayList<>();
-        Map<ScoreCategory, Integer> categoryScores = new HashMap<>();
-        
-        for (ScoreCategory category : availableCategories) {
-            int score = scoreCard.calculateScore(category, diceValues);
-            categoryScores.put(category, score);
-            if (score > 0) {
-                nonZeroCategories.add(category);
-            }
-        }
+        int available = ScoreTable.ALL_CATEGORIES & ~scoreCard.getFilledMask();
+        if (available == 0) return null;
         
         // If we have any non-zero scoring categories, only consider those
-        if (!nonZeroCategories.isEmpty()) {
-            // Find the highest scoring category among non-zero options
-            ScoreCategory bestCategory = null;
-            int highestScore = -1;
-            
-            for (ScoreCategory category : nonZeroCategories) {
-                int score = categoryScores.get(category);
-                if (score > highestScore) {
-                    highestScore = score;
-                    bestCategory = category;
-                }
-            }
+        int packed = PackedDice.pack(diceValues);
+        int nonZero = ScoreTable.nonZeroMask(packed) & available;
+        if (nonZero != 0) {
+            ScoreCategory bestCategory = ScoreCategory.values()[ScoreTable.bestCategory(packed, nonZero)];
+            int highestScore = ScoreTable.score(packed, bestCategory);
             
             addExplanation("Best Score", String.format("Selected %s for highest score (%d points)", 
                 bestCategory.getDisplayName(), highestScore));
@@ -2017,6 +2069,12 @@ public class ComputerPlayer extends Player implements ComputerPlayerActions {
         }
         
         // If all categories would score zero, try to pick the best category to sacrifice
+        List<ScoreCategory> availableCategories = new ArrayList<>();
+        for (ScoreCategory category : ScoreCategory.values()) {
+            if (!scoreCard.isCategoryFilled(category)) {
+                availableCategories.add(category);
+            }
+        }
         
         // Special case for 4 of a kind - prefer upper section matching the value
         boolean hasFourOfAKind = hasFourOfAKind(diceValues);
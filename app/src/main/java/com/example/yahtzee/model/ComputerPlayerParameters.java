@@ -0,0 +1,171 @@
+package com.example.yahtzee.model;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Tunable constants of the {@link ComputerPlayer} heuristics as a flat vector.
+ * Each {@link Parameter} has a default (the hand-tuned value) and a search
+ * range, so optimizers can treat a configuration as a plain double[].
+ */
+public final class ComputerPlayerParameters implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum Parameter {
+        // shouldRollAgain: keep the dice once the best category reaches this probability
+        ROLL_THRESHOLD_DEFAULT(0.8, 0.3, 1.0),
+        ROLL_THRESHOLD_YAHTZEE(0.5, 0.2, 1.0),
+        ROLL_THRESHOLD_FOUR_OF_A_KIND(0.55, 0.2, 1.0),
+        ROLL_THRESHOLD_THREE_OF_A_KIND(0.6, 0.2, 1.0),
+        ROLL_THRESHOLD_FULL_HOUSE(0.65, 0.2, 1.0),
+        ROLL_THRESHOLD_LARGE_STRAIGHT(0.75, 0.2, 1.0),
+        ROLL_THRESHOLD_SMALL_STRAIGHT(0.8, 0.2, 1.0),
+        // shouldRollAgain adjustments, added to the threshold
+        HIGH_SCORE_ADJUSTMENT(-0.1, -0.4, 0.2),
+        LOW_SCORE_ADJUSTMENT(0.1, -0.2, 0.4),
+        LAST_ROLL_ADJUSTMENT(-0.2, -0.5, 0.2),
+        FIRST_ROLL_ADJUSTMENT(-0.1, -0.4, 0.2),
+        LATE_UPPER_ADJUSTMENT(-0.1, -0.4, 0.2),
+        MIN_ROLL_THRESHOLD(0.4, 0.0, 0.8),
+        MAX_ROLL_THRESHOLD(0.9, 0.5, 1.0),
+        // decideBestCategory
+        STICK_WITH_TARGET_PROBABILITY(0.4, 0.0, 1.0),
+        MIN_CATEGORY_PROBABILITY(0.2, 0.0, 0.8),
+        YAHTZEE_WEIGHT(1.8, 0.5, 3.0),
+        FOUR_OF_A_KIND_WEIGHT(1.6, 0.5, 3.0),
+        THREE_OF_A_KIND_WEIGHT(1.5, 0.5, 3.0),
+        FULL_HOUSE_WEIGHT(1.4, 0.5, 3.0),
+        LARGE_STRAIGHT_WEIGHT(1.2, 0.5, 3.0),
+        SMALL_STRAIGHT_WEIGHT(1.1, 0.5, 3.0),
+        UPPER_SECTION_BONUS_WEIGHT(1.2, 0.5, 3.0),
+        ACTUAL_SCORE_WEIGHT(2.0, 0.0, 5.0),
+        LATE_GAME_WEIGHT(1.1, 0.5, 2.0),
+        LATE_GAME_ZERO_WEIGHT(0.8, 0.1, 1.5),
+        // Extra weight per unit of chance that the opponent claims a category next
+        DENIAL_WEIGHT(0.5, 0.0, 2.0);
+
+        private final double defaultValue;
+        private final double min;
+        private final double max;
+
+        Parameter(double defaultValue, double min, double max) {
+            this.defaultValue = defaultValue;
+            this.min = min;
+            this.max = max;
+        }
+
+        public double getDefaultValue() {
+            return defaultValue;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double clamp(double value) {
+            return Math.max(min, Math.min(max, value));
+        }
+    }
+
+    public static final int SIZE = Parameter.values().length;
+
+    private static final ComputerPlayerParameters DEFAULTS = fromVector(defaultVector());
+
+    private final double[] values;
+
+    private ComputerPlayerParameters(double[] values) {
+        this.values = values;
+    }
+
+    public static ComputerPlayerParameters defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Build parameters from a vector indexed by {@link Parameter#ordinal()}.
+     * Values outside a parameter's range are clamped.
+     */
+    public static ComputerPlayerParameters fromVector(double[] vector) {
+        if (vector == null || vector.length != SIZE) {
+            throw new IllegalArgumentException("Expected " + SIZE + " parameters");
+        }
+        double[] values = new double[SIZE];
+        for (Parameter parameter : Parameter.values()) {
+            values[parameter.ordinal()] = parameter.clamp(vector[parameter.ordinal()]);
+        }
+        return new ComputerPlayerParameters(values);
+    }
+
+    /**
+     * Read parameters by name, falling back to the default for any that are missing
+     */
+    public static ComputerPlayerParameters fromProperties(Properties properties) {
+        double[] vector = defaultVector();
+        for (Parameter parameter : Parameter.values()) {
+            String value = properties.getProperty(parameter.name());
+            if (value == null) continue;
+            try {
+                vector[parameter.ordinal()] = Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + parameter.name() + ": " + value, e);
+            }
+        }
+        return fromVector(vector);
+    }
+
+    public static double[] defaultVector() {
+        double[] vector = new double[SIZE];
+        for (Parameter parameter : Parameter.values()) {
+            vector[parameter.ordinal()] = parameter.getDefaultValue();
+        }
+        return vector;
+    }
+
+    public double get(Parameter parameter) {
+        return values[parameter.ordinal()];
+    }
+
+    public ComputerPlayerParameters with(Parameter parameter, double value) {
+        double[] vector = toVector();
+        vector[parameter.ordinal()] = value;
+        return fromVector(vector);
+    }
+
+    public double[] toVector() {
+        return values.clone();
+    }
+
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        for (Parameter parameter : Parameter.values()) {
+            properties.setProperty(parameter.name(), String.valueOf(get(parameter)));
+        }
+        return properties;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(values, ((ComputerPlayerParameters) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Parameter parameter : Parameter.values()) {
+            sb.append(parameter.name()).append('=')
+              .append(String.format(Locale.US, "%.4f", get(parameter))).append('\n');
+        }
+        return sb.toString();
+    }
+}
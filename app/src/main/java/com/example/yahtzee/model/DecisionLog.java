@@ -0,0 +1,102 @@
+package com.example.yahtzee.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Compact, append-only log of every decision that changes a game's state.
+ * Together with the {@link Dice} seed it fully determines a game, which is
+ * what {@code ReplayEngine} relies on. Each decision is a single int: the
+ * type in the top byte and a type-specific payload in the low 24 bits.
+ */
+public class DecisionLog implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Initial dice dealt at the start of a turn (no payload) */
+    public static final int DEAL = 1;
+    /** Roll of the non-held dice; payload is the 5-bit hold mask */
+    public static final int ROLL = 2;
+    /** Dice values entered by hand; payload is the packed dice */
+    public static final int MANUAL = 3;
+    /** Category scored by the current player; payload is the category ordinal */
+    public static final int SCORE = 4;
+    /** Turn skipped without scoring (no payload) */
+    public static final int SKIP = 5;
+    /** First player chosen; payload is the player index */
+    public static final int FIRST_PLAYER = 6;
+    /** Current player forced; payload is the player index */
+    public static final int SWITCH_PLAYER = 7;
+
+    private static final int TYPE_SHIFT = 24;
+    private static final int PAYLOAD_MASK = (1 << TYPE_SHIFT) - 1;
+
+    private int[] decisions;
+    private int size;
+
+    public DecisionLog() {
+        this.decisions = new int[64];
+    }
+
+    public DecisionLog(int[] decisions) {
+        this.decisions = Arrays.copyOf(decisions, Math.max(decisions.length, 1));
+        this.size = decisions.length;
+    }
+
+    public void recordDeal() {
+        append(DEAL, 0);
+    }
+
+    public void recordRoll(int holdMask) {
+        append(ROLL, holdMask);
+    }
+
+    public void recordManualDice(int packedDice) {
+        append(MANUAL, packedDice);
+    }
+
+    public void recordScore(ScoreCategory category) {
+        append(SCORE, category.ordinal());
+    }
+
+    public void recordSkip() {
+        append(SKIP, 0);
+    }
+
+    public void recordFirstPlayer(int playerIndex) {
+        append(FIRST_PLAYER, playerIndex);
+    }
+
+    public void recordSwitchPlayer(int playerIndex) {
+        append(SWITCH_PLAYER, playerIndex);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid decision index: " + index);
+        }
+        return decisions[index];
+    }
+
+    public static int typeOf(int decision) {
+        return decision >>> TYPE_SHIFT;
+    }
+
+    public static int payloadOf(int decision) {
+        return decision & PAYLOAD_MASK;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(decisions, size);
+    }
+
+    private void append(int type, int payload) {
+        if (size == decisions.length) {
+            decisions = Arrays.copyOf(decisions, size * 2);
+        }
+        decisions[size++] = (type << TYPE_SHIFT) | (payload & PAYLOAD_MASK);
+    }
+}
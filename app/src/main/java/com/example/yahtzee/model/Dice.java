@@ -0,0 +1,57 @@
+package com.example.yahtzee.model;
+
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * Seedable source of die faces for a game.
+ * Every die rolled in a tournament is drawn from one instance, so a game is
+ * reproducible from its seed and the decisions recorded in its {@link DecisionLog}.
+ */
+public class Dice implements Serializable {
+    private static final long serialVersionUID = 1L;
+    public static final int FACES = 6;
+
+    private final long seed;
+    private final Random random;
+
+    public Dice() {
+        this(new Random().nextLong());
+    }
+
+    public Dice(long seed) {
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Dice of the same kind and seed that draw the same faces again from the start
+     */
+    public Dice fromStart() {
+        return new Dice(seed);
+    }
+
+    /**
+     * Draw the next face, between 1 and 6
+     */
+    public int roll() {
+        return random.nextInt(FACES) + 1;
+    }
+
+    /**
+     * Face for one die of one roll of a turn. Sequential dice ignore the position;
+     * {@link PositionalDice} derives the face from it instead.
+     *
+     * @param roundNumber round the turn belongs to
+     * @param seat index of the player taking the turn
+     * @param rollNumber 0 for the first roll of the turn, 1 and 2 for re-rolls, -1 for the deal
+     * @param dieIndex position of the die, 0 to 4
+     */
+    public int roll(int roundNumber, int seat, int rollNumber, int dieIndex) {
+        return roll();
+    }
+}
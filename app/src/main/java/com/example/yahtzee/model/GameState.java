@@ -0,0 +1,325 @@
+package com.example.yahtzee.model;
+
+import java.io.Serializable;
+
+/**
+ * Immutable snapshot of a shared-scorecard game packed into primitives:
+ * the scorecard (scores, scorers and scoring rounds per category), the upper
+ * bonus owner, the dice, held mask and rolls of the current turn, and whose
+ * turn it is. Transitions return a new state and never touch the old one,
+ * so {@link #fork()} is free and search code can branch from any state.
+ */
+public final class GameState implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_PLAYERS = 16;
+    public static final int MAX_ROLLS = 3;
+
+    private static final int CATEGORIES = ScoreCategory.values().length;
+    private static final int SCORE_BITS = 6;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+    private static final int SEAT_BITS = 4;
+    private static final long SEAT_MASK = (1L << SEAT_BITS) - 1;
+    private static final int NO_SEAT = -1;
+    private static final int UPPER_MASK = upperMask();
+
+    // 6 bits per category, by ordinal
+    private final long scores0;
+    private final long scores1;
+    // 4 bits per category: seat that scored it and round it was scored in
+    private final long owners;
+    private final long rounds;
+    private final int filledMask;
+
+    private final int dice;
+    private final byte heldMask;
+    private final byte rollsLeft;
+    private final byte currentSeat;
+    private final byte playerCount;
+    private final byte roundNumber;
+    private final byte roundStarter;
+    private final byte upperBonusSeat;
+
+    private GameState(long scores0, long scores1, long owners, long rounds, int filledMask, int dice, int heldMask,
+                      int rollsLeft, int currentSeat, int playerCount, int roundNumber, int roundStarter, int upperBonusSeat) {
+        this.scores0 = scores0;
+        this.scores1 = scores1;
+        this.owners = owners;
+        this.rounds = rounds;
+        this.filledMask = filledMask;
+        this.dice = dice;
+        this.heldMask = (byte) heldMask;
+        this.rollsLeft = (byte) rollsLeft;
+        this.currentSeat = (byte) currentSeat;
+        this.playerCount = (byte) playerCount;
+        this.roundNumber = (byte) roundNumber;
+        this.roundStarter = (byte) roundStarter;
+        this.upperBonusSeat = (byte) upperBonusSeat;
+    }
+
+    /**
+     * Start of a game: empty card, first seat to move, no dice rolled yet
+     */
+    public static GameState initial(int playerCount) {
+        if (playerCount < 1 || playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Player count must be between 1 and " + MAX_PLAYERS);
+        }
+        return new GameState(0, 0, 0, 0, 0, 0, 0, MAX_ROLLS, 0, playerCount, 1, 0, NO_SEAT);
+    }
+
+    /**
+     * Pack a scorecard and turn; {@code ownerSeats} is indexed by category ordinal
+     */
+    static GameState of(int playerCount, ScoreCard scoreCard, int[] ownerSeats, int upperBonusSeat, int dice,
+                        int heldMask, int rollsLeft, int currentSeat, int roundNumber, int roundStarter) {
+        long scores0 = 0;
+        long scores1 = 0;
+        long owners = 0;
+        long rounds = 0;
+        for (ScoreCategory category : ScoreCategory.values()) {
+            ScoreEntry entry = scoreCard.getEntry(category);
+            if (entry == null) continue;
+            int ordinal = category.ordinal();
+            if (ordinal < CATEGORIES / 2) {
+                scores0 |= (entry.getScore() & SCORE_MASK) << (ordinal * SCORE_BITS);
+            } else {
+                scores1 |= (entry.getScore() & SCORE_MASK) << ((ordinal - CATEGORIES / 2) * SCORE_BITS);
+            }
+            owners |= (ownerSeats[ordinal] & SEAT_MASK) << (ordinal * SEAT_BITS);
+            rounds |= (entry.getRound() & SEAT_MASK) << (ordinal * SEAT_BITS);
+        }
+        return new GameState(scores0, scores1, owners, rounds, scoreCard.getFilledMask(), dice, heldMask,
+            rollsLeft, currentSeat, playerCount, roundNumber, roundStarter, upperBonusSeat);
+    }
+
+    /**
+     * States are immutable, so a fork is the state itself
+     */
+    public GameState fork() {
+        return this;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public int getRoundStarter() {
+        return roundStarter;
+    }
+
+    /**
+     * Current dice packed with {@link PackedDice}; zero before the first roll
+     */
+    public int getDice() {
+        return dice;
+    }
+
+    public int getDie(int index) {
+        return PackedDice.get(dice, index);
+    }
+
+    public int getHeldMask() {
+        return heldMask;
+    }
+
+    public int getRollsLeft() {
+        return rollsLeft;
+    }
+
+    /**
+     * Bit {@code ordinal} is set for every scored category
+     */
+    public int getFilledMask() {
+        return filledMask;
+    }
+
+    public boolean isFilled(ScoreCategory category) {
+        return (filledMask & (1 << category.ordinal())) != 0;
+    }
+
+    public boolean isComplete() {
+        return filledMask == (1 << CATEGORIES) - 1;
+    }
+
+    public int getScore(ScoreCategory category) {
+        return (int) score(category.ordinal());
+    }
+
+    /**
+     * Seat that scored a category, or -1 if it is still open
+     */
+    public int getOwner(ScoreCategory category) {
+        return isFilled(category) ? (int) ((owners >>> (category.ordinal() * SEAT_BITS)) & SEAT_MASK) : NO_SEAT;
+    }
+
+    public int getScoredRound(ScoreCategory category) {
+        return (int) ((rounds >>> (category.ordinal() * SEAT_BITS)) & SEAT_MASK);
+    }
+
+    public int getUpperSectionScore() {
+        int sum = 0;
+        for (int ordinal = 0; ordinal < CATEGORIES; ordinal++) {
+            if ((UPPER_MASK & (1 << ordinal)) != 0) {
+                sum += score(ordinal);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Seat credited with the upper bonus, or -1 if nobody has earned it
+     */
+    public int getUpperBonusSeat() {
+        return upperBonusSeat;
+    }
+
+    /**
+     * Points credited to a seat, including the upper bonus if it earned it
+     */
+    public int getPlayerScore(int seat) {
+        int total = seat == upperBonusSeat ? ScoreCard.UPPER_BONUS_POINTS : 0;
+        for (int ordinal = 0; ordinal < CATEGORIES; ordinal++) {
+            if ((filledMask & (1 << ordinal)) != 0
+                && ((owners >>> (ordinal * SEAT_BITS)) & SEAT_MASK) == seat) {
+                total += score(ordinal);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Replace the dice without using a roll, e.g. the initial deal
+     */
+    public GameState withDice(int packedDice) {
+        return new GameState(scores0, scores1, owners, rounds, filledMask, packedDice, heldMask,
+            rollsLeft, currentSeat, playerCount, roundNumber, roundStarter, upperBonusSeat);
+    }
+
+    /**
+     * Result of a roll: new dice and one roll fewer
+     */
+    public GameState withRoll(int packedDice) {
+        if (rollsLeft <= 0) {
+            throw new IllegalStateException("No rolls left in this turn");
+        }
+        return new GameState(scores0, scores1, owners, rounds, filledMask, packedDice, heldMask,
+            rollsLeft - 1, currentSeat, playerCount, roundNumber, roundStarter, upperBonusSeat);
+    }
+
+    public GameState withHeldMask(int mask) {
+        if (mask < 0 || mask >= 1 << PackedDice.NUM_DICE) {
+            throw new IllegalArgumentException("Invalid hold mask: " + mask);
+        }
+        return new GameState(scores0, scores1, owners, rounds, filledMask, dice, mask,
+            rollsLeft, currentSeat, playerCount, roundNumber, roundStarter, upperBonusSeat);
+    }
+
+    /**
+     * Score the current dice in a category for the current seat.
+     * The turn does not end; follow up with {@link #withNextTurn()}.
+     */
+    public GameState withScore(ScoreCategory category) {
+        return withScore(category, ScoreTable.score(dice, category));
+    }
+
+    /**
+     * Record a precomputed score for the current seat
+     */
+    public GameState withScore(ScoreCategory category, int score) {
+        if (isFilled(category)) {
+            throw new IllegalStateException("Category already scored");
+        }
+        int ordinal = category.ordinal();
+        long newScores0 = scores0;
+        long newScores1 = scores1;
+        if (ordinal < CATEGORIES / 2) {
+            newScores0 |= (score & SCORE_MASK) << (ordinal * SCORE_BITS);
+        } else {
+            newScores1 |= (score & SCORE_MASK) << ((ordinal - CATEGORIES / 2) * SCORE_BITS);
+        }
+        int shift = ordinal * SEAT_BITS;
+        long newOwners = owners | ((long) currentSeat << shift);
+        long newRounds = rounds | (((long) roundNumber & SEAT_MASK) << shift);
+
+        int bonusSeat = upperBonusSeat;
+        if (bonusSeat == NO_SEAT && category.isUpperSection()
+            && getUpperSectionScore() + score >= ScoreCard.UPPER_BONUS_THRESHOLD) {
+            bonusSeat = currentSeat;
+        }
+        return new GameState(newScores0, newScores1, newOwners, newRounds, filledMask | (1 << ordinal), dice,
+            heldMask, rollsLeft, currentSeat, playerCount, roundNumber, roundStarter, bonusSeat);
+    }
+
+    /**
+     * Pass the dice to the next seat, starting a new round (with the next
+     * starting seat) once every seat has played
+     */
+    public GameState withNextTurn() {
+        int nextSeat = (currentSeat + 1) % playerCount;
+        int nextRound = roundNumber;
+        int nextStarter = roundStarter;
+        if (nextSeat == roundStarter) {
+            nextRound++;
+            nextStarter = (roundStarter + 1) % playerCount;
+            nextSeat = nextStarter;
+        }
+        return new GameState(scores0, scores1, owners, rounds, filledMask, 0, 0, MAX_ROLLS,
+            nextSeat, playerCount, nextRound, nextStarter, upperBonusSeat);
+    }
+
+    private long score(int ordinal) {
+        if (ordinal < CATEGORIES / 2) {
+            return (scores0 >>> (ordinal * SCORE_BITS)) & SCORE_MASK;
+        }
+        return (scores1 >>> ((ordinal - CATEGORIES / 2) * SCORE_BITS)) & SCORE_MASK;
+    }
+
+    private static int upperMask() {
+        int mask = 0;
+        for (ScoreCategory category : ScoreCategory.values()) {
+            if (category.isUpperSection()) {
+                mask |= 1 << category.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState)) return false;
+        GameState other = (GameState) o;
+        return scores0 == other.scores0 && scores1 == other.scores1 && owners == other.owners
+            && rounds == other.rounds && filledMask == other.filledMask && dice == other.dice
+            && heldMask == other.heldMask && rollsLeft == other.rollsLeft && currentSeat == other.currentSeat
+            && playerCount == other.playerCount && roundNumber == other.roundNumber
+            && roundStarter == other.roundStarter && upperBonusSeat == other.upperBonusSeat;
+    }
+
+    @Override
+    public int hashCode() {
+        long h = scores0 * 31 + scores1;
+        h = h * 31 + owners;
+        h = h * 31 + rounds;
+        h = h * 31 + filledMask;
+        h = h * 31 + dice;
+        h = h * 31 + (heldMask | rollsLeft << 5 | currentSeat << 7 | playerCount << 11
+            | roundNumber << 16 | roundStarter << 21 | (upperBonusSeat & 0x1F) << 25);
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "GameState{round=" + roundNumber + ", seat=" + currentSeat + ", dice=" + PackedDice.unpack(dice)
+            + ", held=" + Integer.toBinaryString(heldMask) + ", rollsLeft=" + rollsLeft
+            + ", filled=" + Integer.toBinaryString(filledMask) + "}";
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.yahtzee.model;
+
+import java.util.*;
+
+/**
+ * Advice for the rest of a turn: which dice to keep before rolling again (or
+ * to stop), the best category for the dice as they are, and the expected
+ * points of following the advice. A hint applies to exactly the dice, rolls
+ * left and open categories it was computed for.
+ */
+public final class Hint {
+    private final int packedDice;
+    private final int rollsLeft;
+    private final int filledMask;
+    private final List<Integer> heldIndices;
+    private final boolean stop;
+    private final ScoreCategory category;
+    private final int categoryScore;
+    private final double expectedPoints;
+
+    public Hint(int packedDice, int rollsLeft, int filledMask, List<Integer> heldIndices, boolean stop,
+                ScoreCategory category, int categoryScore, double expectedPoints) {
+        this.packedDice = packedDice;
+        this.rollsLeft = rollsLeft;
+        this.filledMask = filledMask;
+        this.heldIndices = Collections.unmodifiableList(new ArrayList<>(heldIndices));
+        this.stop = stop;
+        this.category = category;
+        this.categoryScore = categoryScore;
+        this.expectedPoints = expectedPoints;
+    }
+
+    public boolean appliesTo(int packedDice, int rollsLeft, int filledMask) {
+        return this.packedDice == packedDice && this.rollsLeft == rollsLeft && this.filledMask == filledMask;
+    }
+
+    /**
+     * Dice to keep before the next roll; empty when stopping
+     */
+    public List<Integer> getHeldIndices() {
+        return heldIndices;
+    }
+
+    /**
+     * True if scoring now is at least as good as any reroll
+     */
+    public boolean isStop() {
+        return stop;
+    }
+
+    public ScoreCategory getCategory() {
+        return category;
+    }
+
+    public int getCategoryScore() {
+        return categoryScore;
+    }
+
+    public double getExpectedPoints() {
+        return expectedPoints;
+    }
+
+    @Override
+    public String toString() {
+        if (stop) {
+            return String.format(Locale.US, "Score %s now (%d points)", category.getDisplayName(), categoryScore);
+        }
+        return String.format(Locale.US, "Keep dice %s and roll again (expected %.1f points)",
+            heldIndices, expectedPoints);
+    }
+}
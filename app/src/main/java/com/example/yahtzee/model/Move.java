@@ -0,0 +1,70 @@
+package com.example.yahtzee.model;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * One decision within a turn: reroll the dice that are not held, or stop and
+ * score a category
+ */
+public final class Move implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Integer> heldIndices;
+    private final ScoreCategory category;
+
+    private Move(List<Integer> heldIndices, ScoreCategory category) {
+        this.heldIndices = heldIndices;
+        this.category = category;
+    }
+
+    public static Move roll(List<Integer> heldIndices) {
+        if (heldIndices == null) {
+            throw new IllegalArgumentException("Held indices cannot be null");
+        }
+        return new Move(Collections.unmodifiableList(new ArrayList<>(heldIndices)), null);
+    }
+
+    public static Move score(ScoreCategory category) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null");
+        }
+        return new Move(Collections.emptyList(), category);
+    }
+
+    public boolean isRoll() {
+        return category == null;
+    }
+
+    /**
+     * Dice to keep before rolling again; empty for a scoring move
+     */
+    public List<Integer> getHeldIndices() {
+        return heldIndices;
+    }
+
+    /**
+     * Category to score, or null for a roll
+     */
+    public ScoreCategory getCategory() {
+        return category;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Move)) return false;
+        Move other = (Move) o;
+        return category == other.category && heldIndices.equals(other.heldIndices);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(heldIndices, category);
+    }
+
+    @Override
+    public String toString() {
+        return isRoll() ? "Roll holding " + heldIndices : "Score " + category.getDisplayName();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.yahtzee.model;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Learns which categories the human players of a shared-scorecard game like
+ * to claim, so computer players can take contested categories first. Each
+ * scored turn is one observation: the categories open at the time and the
+ * one chosen. Per category the model keeps how often it was chosen and how
+ * often it could have been, both decayed so recent habits count more. That
+ * is two numbers per category however long the game or session runs.
+ */
+public class OpponentModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int CATEGORIES = ScoreCategory.values().length;
+    // Weight kept by older observations each time a new one arrives
+    private static final double DECAY = 0.9;
+    // Pseudo-observations that make every category equally likely before any play
+    private static final double PRIOR_EXPOSURES = 2.0;
+    private static final double PRIOR_CLAIMS = PRIOR_EXPOSURES / CATEGORIES;
+
+    private final double[] claims = new double[CATEGORIES];
+    private final double[] exposures = new double[CATEGORIES];
+    private int observations;
+
+    /**
+     * Learn from the final record of an opponent's scored turn
+     */
+    public void observe(TurnRecord record) {
+        if (record.getSelectedCategory() != null) {
+            observe(record.getSelectedCategory(), record.getFilledMask());
+        }
+    }
+
+    /**
+     * Learn that {@code category} was chosen while the categories outside {@code filledMask} were open
+     */
+    public synchronized void observe(ScoreCategory category, int filledMask) {
+        for (int c = 0; c < CATEGORIES; c++) {
+            claims[c] *= DECAY;
+            exposures[c] *= DECAY;
+            if ((filledMask & (1 << c)) == 0) {
+                exposures[c]++;
+            }
+        }
+        claims[category.ordinal()]++;
+        observations++;
+    }
+
+    /**
+     * Chance that the opponent's next scored category is {@code category},
+     * given the categories in {@code filledMask} are taken. The chances of
+     * all open categories sum to 1.
+     */
+    public synchronized double claimProbability(ScoreCategory category, int filledMask) {
+        int ordinal = category.ordinal();
+        if ((filledMask & (1 << ordinal)) != 0) {
+            return 0;
+        }
+        double total = 0;
+        for (int c = 0; c < CATEGORIES; c++) {
+            if ((filledMask & (1 << c)) == 0) {
+                total += preference(c);
+            }
+        }
+        return preference(ordinal) / total;
+    }
+
+    public synchronized int getObservationCount() {
+        return observations;
+    }
+
+    /**
+     * Smoothed rate at which a category is chosen when it is open
+     */
+    private double preference(int category) {
+        return (claims[category] + PRIOR_CLAIMS) / (exposures[category] + PRIOR_EXPOSURES);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("OpponentModel{");
+        for (ScoreCategory category : ScoreCategory.values()) {
+            sb.append(category.name()).append('=')
+              .append(String.format(Locale.US, "%.2f", preference(category.ordinal()))).append(' ');
+        }
+        return sb.append("observations=").append(observations).append('}').toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.yahtzee.model;
+
+import java.util.*;
+
+/**
+ * Helpers for packing five dice into a single int, three bits per die.
+ * Die {@code i} occupies bits {@code 3*i .. 3*i+2}, so a packed hand fits in 15 bits.
+ */
+public final class PackedDice {
+    public static final int NUM_DICE = 5;
+    public static final int BITS_PER_DIE = 3;
+    public static final int DIE_MASK = (1 << BITS_PER_DIE) - 1;
+    public static final int PACKED_RANGE = 1 << (NUM_DICE * BITS_PER_DIE);
+
+    private PackedDice() {
+    }
+
+    public static int pack(List<Integer> dice) {
+        if (dice == null || dice.size() != NUM_DICE) {
+            throw new IllegalArgumentException("Must provide exactly " + NUM_DICE + " dice values");
+        }
+        int packed = 0;
+        for (int i = 0; i < NUM_DICE; i++) {
+            packed |= (dice.get(i) & DIE_MASK) << (i * BITS_PER_DIE);
+        }
+        return packed;
+    }
+
+    public static int pack(int[] dice) {
+        if (dice == null || dice.length != NUM_DICE) {
+            throw new IllegalArgumentException("Must provide exactly " + NUM_DICE + " dice values");
+        }
+        int packed = 0;
+        for (int i = 0; i < NUM_DICE; i++) {
+            packed |= (dice[i] & DIE_MASK) << (i * BITS_PER_DIE);
+        }
+        return packed;
+    }
+
+    public static int get(int packed, int index) {
+        return (packed >>> (index * BITS_PER_DIE)) & DIE_MASK;
+    }
+
+    public static int set(int packed, int index, int value) {
+        int shift = index * BITS_PER_DIE;
+        return (packed & ~(DIE_MASK << shift)) | ((value & DIE_MASK) << shift);
+    }
+
+    public static List<Integer> unpack(int packed) {
+        List<Integer> dice = new ArrayList<>(NUM_DICE);
+        for (int i = 0; i < NUM_DICE; i++) {
+            dice.add(get(packed, i));
+        }
+        return dice;
+    }
+
+    /**
+     * Convert held die indices into a 5-bit mask (bit i set = die i held)
+     */
+    public static int holdMask(List<Integer> heldIndices) {
+        int mask = 0;
+        for (Integer index : heldIndices) {
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    public static List<Integer> heldIndices(int holdMask) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < NUM_DICE; i++) {
+            if ((holdMask & (1 << i)) != 0) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+}
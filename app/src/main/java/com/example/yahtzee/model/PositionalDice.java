@@ -0,0 +1,42 @@
+package com.example.yahtzee.model;
+
+/**
+ * Dice whose faces are a pure function of the seed and the die's position
+ * (round, seat, roll number, die index) rather than of how many dice were
+ * rolled before. Two strategies playing with the same seed therefore see the
+ * same face whenever they re-roll the same die, which gives common random
+ * numbers for paired strategy comparisons.
+ */
+public class PositionalDice extends Dice {
+    private static final long serialVersionUID = 1L;
+
+    public PositionalDice(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public Dice fromStart() {
+        return new PositionalDice(getSeed());
+    }
+
+    @Override
+    public int roll(int roundNumber, int seat, int rollNumber, int dieIndex) {
+        long key = getSeed();
+        key = mix(key + roundNumber);
+        key = mix(key + seat);
+        key = mix(key + rollNumber);
+        key = mix(key + dieIndex);
+        // Map the top 32 bits uniformly onto 1..6
+        return (int) (((key >>> 32) * FACES) >>> 32) + 1;
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
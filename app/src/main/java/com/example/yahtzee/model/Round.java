@@ -1,31 +1,67 @@
 package com.example.yahtzee.model;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
  * Represents a round in the Yahtzee game.
  * A round consists of each player taking one turn.
  */
-public class Round {
+public class Round implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final int roundNumber;
     private final List<Player> players;
     private final Player firstPlayer;
+    private final int firstPlayerIndex;
     private int currentPlayerIndex;
     private Turn currentTurn;
     private boolean isComplete;
     private final ScoreCard sharedScoreCard;
+    // A single shared card, or one card per seat
+    private final List<ScoreCard> scoreCards;
+    private final Dice dice;
+    private final DecisionLog decisionLog;
 
     /**
      * Create a new round with the specified players, first player, and round number.
-     * Uses a shared scorecard for both players.
+     * Uses a shared scorecard for both players and unseeded dice.
      */
     public Round(List<Player> players, Player firstPlayer, int roundNumber, ScoreCard sharedScoreCard) {
+        this(players, firstPlayer, roundNumber, sharedScoreCard, new Dice(), new DecisionLog());
+    }
+
+    /**
+     * Create a new round whose turns draw from the given dice and record into the given log.
+     */
+    public Round(List<Player> players, Player firstPlayer, int roundNumber, ScoreCard sharedScoreCard,
+                 Dice dice, DecisionLog decisionLog) {
+        this(players, players.indexOf(firstPlayer), roundNumber, Collections.singletonList(sharedScoreCard),
+            dice, decisionLog);
+    }
+
+    /**
+     * Create a round starting at the given seat. {@code scoreCards} holds either
+     * one card shared by everyone or one card per seat.
+     */
+    public Round(List<Player> players, int firstPlayerIndex, int roundNumber, List<ScoreCard> scoreCards,
+                 Dice dice, DecisionLog decisionLog) {
+        if (firstPlayerIndex < 0 || firstPlayerIndex >= players.size()) {
+            throw new IllegalArgumentException("First player must be in the round");
+        }
+        if (scoreCards.size() != 1 && scoreCards.size() != players.size()) {
+            throw new IllegalArgumentException("Expected one shared scorecard or one per player");
+        }
+        this.dice = dice;
+        this.decisionLog = decisionLog;
         this.players = new ArrayList<>(players);
-        this.firstPlayer = firstPlayer;
+        this.firstPlayer = players.get(firstPlayerIndex);
+        this.firstPlayerIndex = firstPlayerIndex;
         this.roundNumber = roundNumber;
-        this.currentPlayerIndex = players.indexOf(firstPlayer);
+        this.currentPlayerIndex = firstPlayerIndex;
         this.isComplete = false;
-        this.sharedScoreCard = sharedScoreCard;
+        this.scoreCards = scoreCards;
+        this.sharedScoreCard = scoreCards.get(0);
         startNewTurn();
     }
 
@@ -39,7 +75,7 @@ public class Round {
         currentTurn.setComplete();
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
         
-        if (currentPlayerIndex == players.indexOf(firstPlayer)) {
+        if (currentPlayerIndex == firstPlayerIndex) {
             isComplete = true;
         } else {
             startNewTurn();
@@ -52,7 +88,7 @@ public class Round {
         }
         
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-        if (currentPlayerIndex == players.indexOf(firstPlayer)) {
+        if (currentPlayerIndex == firstPlayerIndex) {
             isComplete = true;
         } else {
             currentTurn = new Turn(this);
@@ -64,6 +100,10 @@ public class Round {
         return players.get(currentPlayerIndex);
     }
 
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
     public Turn getCurrentTurn() {
         return currentTurn;
     }
@@ -84,17 +124,35 @@ public class Round {
     }
 
     /**
-     * Get the shared scorecard for all players.
+     * Get the shared scorecard, or the current player's own card.
      */
     public ScoreCard getScoreCard() {
-        return sharedScoreCard;
+        return scoreCards.size() == 1 ? sharedScoreCard : scoreCards.get(currentPlayerIndex);
     }
     
     /**
-     * For compatibility with existing code, returns the shared scorecard regardless of player.
+     * Get the scorecard a player fills; the shared one unless every player has their own.
      */
     public ScoreCard getScoreCard(Player player) {
-        return sharedScoreCard;
+        if (scoreCards.size() == 1) {
+            return sharedScoreCard;
+        }
+        if (player == getCurrentPlayer()) {
+            return scoreCards.get(currentPlayerIndex);
+        }
+        int index = players.indexOf(player);
+        if (index < 0) {
+            throw new IllegalArgumentException("Player must be in the round");
+        }
+        return scoreCards.get(index);
+    }
+
+    public Dice getDiceSource() {
+        return dice;
+    }
+
+    public DecisionLog getDecisionLog() {
+        return decisionLog;
     }
 
     public int getRoundNumber() {
@@ -112,4 +170,27 @@ public class Round {
     public List<Player> getPlayers() {
         return Collections.unmodifiableList(players);
     }
+
+    public boolean hasSharedScoreCard() {
+        return scoreCards.size() == 1;
+    }
+
+    /**
+     * Pack the shared scorecard and the current turn into a {@link GameState}
+     */
+    public GameState toGameState() {
+        if (!hasSharedScoreCard()) {
+            throw new IllegalStateException("Only shared-scorecard games have a GameState");
+        }
+        int[] ownerSeats = new int[ScoreCategory.values().length];
+        for (ScoreCategory category : ScoreCategory.values()) {
+            ScoreEntry entry = sharedScoreCard.getEntry(category);
+            ownerSeats[category.ordinal()] = entry != null ? players.indexOf(entry.getPlayer()) : -1;
+        }
+        Player bonusPlayer = sharedScoreCard.getUpperBonusPlayer();
+        int bonusSeat = bonusPlayer != null ? players.indexOf(bonusPlayer) : -1;
+        return GameState.of(players.size(), sharedScoreCard, ownerSeats, bonusSeat,
+            PackedDice.pack(currentTurn.getDice()), PackedDice.holdMask(currentTurn.getHeldDiceIndices()),
+            currentTurn.getRollsLeft(), currentPlayerIndex, roundNumber, firstPlayerIndex);
+    }
 }
@@ -1,16 +1,21 @@
 package com.example.yahtzee.model;
 
+import java.io.Serializable;
 import java.util.*;
 
-public class ScoreCard {
+public class ScoreCard implements Serializable {
+    private static final long serialVersionUID = 1L;
     public static final int TOTAL_ROUNDS = 13;
-    private static final int UPPER_BONUS_THRESHOLD = 63;
-    private static final int UPPER_BONUS_POINTS = 35;
+    public static final int UPPER_BONUS_THRESHOLD = 63;
+    public static final int UPPER_BONUS_POINTS = 35;
     
     private final Map<ScoreCategory, ScoreEntry> scores;
     private final Map<ScoreCategory, Integer> roundScores;
     private int upperBonus;
     private int totalScore;
+    private int filledMask;
+    // Player whose score first took the upper section to the bonus threshold
+    private Player upperBonusPlayer;
 
     public ScoreCard() {
         this.scores = new HashMap<>();
@@ -20,6 +25,10 @@ public class ScoreCard {
     }
 
     public void setScore(ScoreCategory category, int score, Player player, Round round) {
+        setScore(category, score, player, round.getRoundNumber());
+    }
+
+    void setScore(ScoreCategory category, int score, Player player, int roundNumber) {
         if (category == null) {
             throw new IllegalArgumentException("Category cannot be null");
         }
@@ -27,9 +36,14 @@ public class ScoreCard {
             throw new IllegalStateException("Category already scored");
         }
 
-        scores.put(category, new ScoreEntry(score, player, round.getRoundNumber()));
-        roundScores.put(category, round.getRoundNumber());
+        scores.put(category, new ScoreEntry(score, player, roundNumber));
+        roundScores.put(category, roundNumber);
+        filledMask |= 1 << category.ordinal();
+        boolean hadBonus = upperBonus > 0;
         updateTotalScore();
+        if (!hadBonus && upperBonus > 0) {
+            upperBonusPlayer = player;
+        }
     }
 
     public int calculateScore(ScoreCategory category, List<Integer> dice) {
@@ -90,6 +104,17 @@ public class ScoreCard {
         return upperBonus;
     }
 
+    /**
+     * Player who earned the upper bonus on this card, or null if nobody has
+     */
+    public Player getUpperBonusPlayer() {
+        return upperBonusPlayer;
+    }
+
+    void setUpperBonusPlayer(Player player) {
+        this.upperBonusPlayer = player;
+    }
+
     public int getTotalScore() {
         return totalScore;
     }
@@ -121,7 +146,17 @@ public class ScoreCard {
         return scores.get(category);
     }
 
+    /**
+     * Bit {@code ordinal} is set for every scored category
+     */
+    public int getFilledMask() {
+        return filledMask;
+    }
+
+    /**
+     * True once every category has been scored
+     */
     public boolean isComplete() {
-        return scores.size() == TOTAL_ROUNDS;
+        return scores.size() == ScoreCategory.values().length;
     }
 }
@@ -0,0 +1,11 @@
+package com.example.yahtzee.model;
+
+/**
+ * How the players of a {@link Tournament} keep score
+ */
+public enum ScoreCardMode {
+    /** One scorecard for everyone; each category is credited to whoever fills it */
+    SHARED,
+    /** Every player fills a scorecard of their own */
+    PER_PLAYER
+}
@@ -0,0 +1,174 @@
+package com.example.yahtzee.model;
+
+import java.util.*;
+
+/**
+ * Precomputed score of every hand in every category, indexed by the
+ * {@link PackedDice} encoding. Lookups allocate nothing, which matters in
+ * simulations that score millions of hands. Packed values with a die outside
+ * 1..6 (e.g. dice not rolled yet) score zero everywhere.
+ *
+ * The table is laid out one category after another, so scoring a batch of
+ * hands in one category with {@link #scoreAll(int[], int, int[])} reads
+ * from a single 32 KB slice.
+ *
+ * For choosing among open categories, each hand also has a mask of the
+ * categories it scores points in, and {@link #bestCategory(int, int)} looks
+ * up the highest-scoring category of any set of open categories, so "can
+ * this hand score anywhere open" is one AND and "where does it score most"
+ * one table read.
+ */
+public final class ScoreTable {
+    public static final int CATEGORIES = ScoreCategory.values().length;
+    public static final int ALL_CATEGORIES = (1 << CATEGORIES) - 1;
+
+    // SCORES[ordinal * PACKED_RANGE + packed]
+    private static final byte[] SCORES = build();
+    // NON_ZERO[packed]: bit per category the hand scores points in
+    private static final short[] NON_ZERO = buildNonZero();
+
+    private ScoreTable() {
+    }
+
+    public static int score(int packedDice, int ordinal) {
+        return SCORES[ordinal * PackedDice.PACKED_RANGE + packedDice];
+    }
+
+    public static int score(int packedDice, ScoreCategory category) {
+        return SCORES[category.ordinal() * PackedDice.PACKED_RANGE + packedDice];
+    }
+
+    /**
+     * Score every hand of {@code packedHands} in one category into the same
+     * positions of {@code out}
+     */
+    public static void scoreAll(int[] packedHands, int ordinal, int[] out) {
+        if (ordinal < 0 || ordinal >= CATEGORIES) {
+            throw new IllegalArgumentException("Invalid category: " + ordinal);
+        }
+        if (out.length < packedHands.length) {
+            throw new IllegalArgumentException("Output must hold " + packedHands.length + " scores");
+        }
+        int base = ordinal * PackedDice.PACKED_RANGE;
+        for (int i = 0; i < packedHands.length; i++) {
+            int packed = packedHands[i];
+            if (packed < 0 || packed >= PackedDice.PACKED_RANGE) {
+                throw new IllegalArgumentException("Not a packed hand: " + packed);
+            }
+            out[i] = SCORES[base + packed];
+        }
+    }
+
+    public static void scoreAll(int[] packedHands, ScoreCategory category, int[] out) {
+        scoreAll(packedHands, category.ordinal(), out);
+    }
+
+    /**
+     * Categories (bit per ordinal) in which the hand scores more than zero
+     */
+    public static int nonZeroMask(int packedDice) {
+        return NON_ZERO[packedDice];
+    }
+
+    /**
+     * Highest-scoring category among {@code availableMask}, the lowest
+     * ordinal on ties, or -1 if the mask is empty
+     */
+    public static int bestCategory(int packedDice, int availableMask) {
+        return Argmax.BEST[Argmax.HAND[packedDice] * (ALL_CATEGORIES + 1) + (availableMask & ALL_CATEGORIES)];
+    }
+
+    private static short[] buildNonZero() {
+        short[] nonZero = new short[PackedDice.PACKED_RANGE];
+        for (int packed = 0; packed < nonZero.length; packed++) {
+            for (int ordinal = 0; ordinal < CATEGORIES; ordinal++) {
+                if (score(packed, ordinal) > 0) {
+                    nonZero[packed] |= 1 << ordinal;
+                }
+            }
+        }
+        return nonZero;
+    }
+
+    /**
+     * Best category of every distinct hand for every set of open categories,
+     * about a megabyte, so built on first use
+     */
+    private static final class Argmax {
+        // HAND[packed]: index of the hand's sorted dice, or the last row for dice outside 1..6
+        static final short[] HAND = new short[PackedDice.PACKED_RANGE];
+        // BEST[hand * (ALL_CATEGORIES + 1) + availableMask]
+        static final byte[] BEST;
+
+        static {
+            int[] sortedIndex = new int[PackedDice.PACKED_RANGE];
+            Arrays.fill(sortedIndex, -1);
+            List<Integer> hands = new ArrayList<>();
+            int[] dice = new int[PackedDice.NUM_DICE];
+            for (int packed = 0; packed < HAND.length; packed++) {
+                boolean valid = true;
+                for (int i = 0; i < dice.length; i++) {
+                    dice[i] = PackedDice.get(packed, i);
+                    valid &= dice[i] >= 1 && dice[i] <= 6;
+                }
+                if (!valid) {
+                    HAND[packed] = -1;
+                    continue;
+                }
+                Arrays.sort(dice);
+                int sorted = PackedDice.pack(dice);
+                if (sortedIndex[sorted] < 0) {
+                    sortedIndex[sorted] = hands.size();
+                    hands.add(sorted);
+                }
+                HAND[packed] = (short) sortedIndex[sorted];
+            }
+            for (int packed = 0; packed < HAND.length; packed++) {
+                if (HAND[packed] < 0) {
+                    HAND[packed] = (short) hands.size();
+                }
+            }
+            // The extra last row scores zero everywhere
+            hands.add(0);
+
+            int masks = ALL_CATEGORIES + 1;
+            BEST = new byte[hands.size() * masks];
+            int[] scores = new int[CATEGORIES];
+            for (int h = 0; h < hands.size(); h++) {
+                for (int ordinal = 0; ordinal < CATEGORIES; ordinal++) {
+                    scores[ordinal] = score(hands.get(h), ordinal);
+                }
+                int base = h * masks;
+                BEST[base] = -1;
+                // Each mask is its lowest category against the best of the others
+                for (int mask = 1; mask < masks; mask++) {
+                    int low = Integer.numberOfTrailingZeros(mask);
+                    int rest = mask & (mask - 1);
+                    int best = rest == 0 ? -1 : BEST[base + rest];
+                    BEST[base + mask] = (byte) (best < 0 || scores[low] >= scores[best] ? low : best);
+                }
+            }
+        }
+    }
+
+    private static byte[] build() {
+        byte[] scores = new byte[PackedDice.PACKED_RANGE * CATEGORIES];
+        ScoreCategory[] categories = ScoreCategory.values();
+        int[] dice = new int[PackedDice.NUM_DICE];
+        List<Integer> hand = new ArrayList<>(Collections.nCopies(PackedDice.NUM_DICE, 0));
+        int hands = (int) Math.pow(6, PackedDice.NUM_DICE);
+        for (int h = 0; h < hands; h++) {
+            int rest = h;
+            for (int i = 0; i < dice.length; i++) {
+                dice[i] = rest % 6 + 1;
+                hand.set(i, dice[i]);
+                rest /= 6;
+            }
+            int packed = PackedDice.pack(dice);
+            for (ScoreCategory category : categories) {
+                scores[category.ordinal() * PackedDice.PACKED_RANGE + packed] = (byte) category.calculateScore(hand);
+            }
+        }
+        return scores;
+    }
+}
@@ -7,9 +7,11 @@ import java.util.*;
 public class Tournament implements Serializable {
     private static final long serialVersionUID = 1L;
     
-    private Player humanPlayer;
-    private ComputerPlayer computerPlayer;
+    // Seat order; the seat index of each player is cached for O(1) lookups
+    private List<Player> players;
+    private Map<Player, Integer> seats;
     private Player firstPlayer;
+    private int roundStarterIndex;
     private Round currentRound;
     private GameStateCallback gameStateCallback;
     private int currentPlayerIndex;
@@ -18,24 +20,118 @@ public class Tournament implements Serializable {
     
     // Replace the map of scorecards with a single shared scorecard
     private ScoreCard sharedScoreCard;
+
+    // In PER_PLAYER mode one scorecard per seat, otherwise just the shared one
+    private ScoreCardMode scoreCardMode;
+    private List<ScoreCard> scoreCards;
     
     // Add a map to track which player scored which category
     private Map<ScoreCategory, Player> categoryScorers;
 
+    // Running totals by seat, kept up to date by recordCategoryScorer
+    private int[] playerTotals;
+    private int[] playerUpperBonuses;
+    // Whether the upper bonus of each scorecard has been credited to someone
+    private boolean[] upperBonusCredited;
+
+    // Category habits of the human players, shared with the computer players
+    private OpponentModel opponentModel;
+
+    // Roll records of every finished turn, in play order
+    private List<List<TurnRecord>> completedTurns = new ArrayList<>();
+
+    // Seeded dice and decision log make every game reproducible
+    private Dice dice;
+    private DecisionLog decisionLog;
+
     public Tournament(GameStateCallback callback) {
+        this(callback, new Dice().getSeed());
+    }
+
+    /**
+     * Create a tournament whose dice are drawn from the given seed.
+     * The same seed and decisions always reproduce the same game.
+     */
+    public Tournament(GameStateCallback callback, long seed) {
+        this(callback, new HumanPlayer("Player"), new ComputerPlayer(callback), seed);
+    }
+
+    /**
+     * Create a tournament between any two players, for example two computer
+     * players in a headless run. The players need distinct names.
+     */
+    public Tournament(GameStateCallback callback, Player first, Player second, long seed) {
+        this(callback, first, second, new Dice(seed));
+    }
+
+    /**
+     * Create a tournament between two players drawing from the given dice,
+     * e.g. {@link PositionalDice} for paired comparisons.
+     */
+    public Tournament(GameStateCallback callback, Player first, Player second, Dice dice) {
+        this(callback, Arrays.asList(first, second), ScoreCardMode.SHARED, dice);
+    }
+
+    /**
+     * Create a tournament for any number of players in seat order.
+     * The first seat starts the first round and the starting seat moves one
+     * place on every round.
+     */
+    public Tournament(GameStateCallback callback, List<Player> players, ScoreCardMode mode, Dice dice) {
+        if (players == null || players.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two players");
+        }
+        if (mode == null || dice == null) {
+            throw new IllegalArgumentException("Score card mode and dice are required");
+        }
+        this.seats = new HashMap<>();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            if (player == null) {
+                throw new IllegalArgumentException("Players cannot be null");
+            }
+            if (seats.put(player, seat) != null) {
+                throw new IllegalArgumentException("Players need distinct names");
+            }
+        }
         this.gameStateCallback = callback;
-        this.humanPlayer = new HumanPlayer("Player");
-        this.computerPlayer = new ComputerPlayer(callback);
-        this.firstPlayer = humanPlayer;
+        this.dice = dice;
+        this.decisionLog = new DecisionLog();
+        this.players = new ArrayList<>(players);
+        this.firstPlayer = players.get(0);
+        this.roundStarterIndex = 0;
         this.currentPlayerIndex = 0;
         this.roundNumber = 1;
         this.isGameOver = false;
         
         // Initialize the shared scorecard
         this.sharedScoreCard = new ScoreCard();
+        this.scoreCardMode = mode;
+        if (mode == ScoreCardMode.SHARED) {
+            this.scoreCards = Collections.singletonList(sharedScoreCard);
+        } else {
+            this.scoreCards = new ArrayList<>();
+            scoreCards.add(sharedScoreCard);
+            for (int seat = 1; seat < players.size(); seat++) {
+                scoreCards.add(new ScoreCard());
+            }
+        }
         
         // Initialize the map to track which player scored which category
         this.categoryScorers = new HashMap<>();
+        this.playerTotals = new int[players.size()];
+        this.playerUpperBonuses = new int[players.size()];
+        this.upperBonusCredited = new boolean[scoreCards.size()];
+
+        // Denial only pays off when humans and computers race for the same card
+        if (mode == ScoreCardMode.SHARED && players.stream().anyMatch(p -> !p.isComputer())) {
+            this.opponentModel = new OpponentModel();
+            for (Player player : players) {
+                if (player instanceof ComputerPlayer) {
+                    ((ComputerPlayer) player).setOpponentModel(opponentModel);
+                }
+            }
+        }
         
         startNewRound();
     }
@@ -43,9 +139,12 @@ public class Tournament implements Serializable {
     public Tournament(String filename) throws IOException {
         try {
             Tournament loaded = loadGame(filename);
-            this.humanPlayer = loaded.humanPlayer;
-            this.computerPlayer = (ComputerPlayer) loaded.computerPlayer;
+            this.players = loaded.players;
+            this.seats = loaded.seats;
             this.firstPlayer = loaded.firstPlayer;
+            this.roundStarterIndex = loaded.roundStarterIndex;
+            this.scoreCardMode = loaded.scoreCardMode;
+            this.scoreCards = loaded.scoreCards;
             this.currentRound = loaded.currentRound;
             this.gameStateCallback = loaded.gameStateCallback;
             this.currentPlayerIndex = loaded.currentPlayerIndex;
@@ -53,27 +152,21 @@ public class Tournament implements Serializable {
             this.isGameOver = loaded.isGameOver;
             this.sharedScoreCard = loaded.sharedScoreCard;
             this.categoryScorers = loaded.categoryScorers;
+            this.playerTotals = loaded.playerTotals;
+            this.playerUpperBonuses = loaded.playerUpperBonuses;
+            this.upperBonusCredited = loaded.upperBonusCredited;
+            this.dice = loaded.dice;
+            this.decisionLog = loaded.decisionLog;
+            this.opponentModel = loaded.opponentModel;
+            this.completedTurns = loaded.completedTurns != null ? loaded.completedTurns : new ArrayList<>();
         } catch (IOException e) {
             throw new IOException("Failed to load game: " + e.getMessage(), e);
         }
     }
 
     private void startNewRound() {
-        Player firstPlayer;
-        if (currentRound == null) {
-            // First round, randomly select first player
-            firstPlayer = humanPlayer;
-        } else {
-            // Subsequent rounds, next player after last player of previous round
-            int lastPlayerIndex = 0;
-            if (currentRound.getCurrentPlayer() == humanPlayer) {
-                lastPlayerIndex = 1;
-            }
-            firstPlayer = lastPlayerIndex == 0 ? humanPlayer : computerPlayer;
-        }
-        
-        currentRound = new Round(Arrays.asList(humanPlayer, computerPlayer), firstPlayer, roundNumber, sharedScoreCard);
-        currentPlayerIndex = firstPlayer == humanPlayer ? 0 : 1;
+        currentRound = new Round(players, roundStarterIndex, roundNumber, scoreCards, dice, decisionLog);
+        currentPlayerIndex = roundStarterIndex;
     }
 
     public void completeTurn() {
@@ -92,24 +185,63 @@ public class Tournament implements Serializable {
                 isGameOver = true;
                 Player winner = determineWinner();
                 Map<Player, Integer> finalScores = calculatePlayerScores();
-                gameStateCallback.onGameOver(winner, finalScores);
+                if (gameStateCallback != null) {
+                    gameStateCallback.onGameOver(winner, finalScores);
+                }
+            } else if (areScoreCardsComplete()) {
+                // Every category is filled; the controller announces the result
+                isGameOver = true;
             } else {
-                // Start a new round
+                // Subsequent rounds start with the player after the previous round's starter
+                roundStarterIndex = (roundStarterIndex + 1) % players.size();
                 startNewRound();
             }
+        } else if (areScoreCardsComplete()) {
+            // A shared card can fill up part-way through a round
+            isGameOver = true;
         } else {
             // Switch to the next player
             switchToNextPlayer();
         }
     }
 
+    /**
+     * Score the current dice in a category for the current player.
+     * The turn is not completed; callers follow up with {@link #completeTurn()}.
+     *
+     * @return the points scored
+     */
+    public int scoreCategory(ScoreCategory category) {
+        Player player = getCurrentPlayer();
+        ScoreCard scoreCard = getScoreCard();
+        int score = scoreCard.calculateScore(category, getCurrentTurn().getDice());
+        scoreCard.setScore(category, score, player, currentRound);
+        recordCategoryScorer(category, player);
+        getCurrentTurn().getRecord().recordResult(category, score, player.getLastDecisionExplanation());
+        decisionLog.recordScore(category);
+        if (opponentModel != null && !player.isComputer()) {
+            opponentModel.observe(getCurrentTurn().getRecord());
+        }
+        completedTurns.add(getCurrentTurn().getHistory());
+        return score;
+    }
+
+    /**
+     * Skip the current player's turn without scoring.
+     */
+    public void skipTurn() {
+        decisionLog.recordSkip();
+        completedTurns.add(getCurrentTurn().getHistory());
+        switchToNextPlayer();
+    }
+
     /**
      * Directly switches to the next player.
      * This method is useful when we need to explicitly force a player change.
      */
     public void switchToNextPlayer() {
         // Switch to the next player
-        currentPlayerIndex = (currentPlayerIndex + 1) % 2;
+        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
         
         // Get the updated current player
         Player nextPlayer = getCurrentPlayer();
@@ -118,13 +250,28 @@ public class Tournament implements Serializable {
         if (currentRound != null && currentRound.getCurrentPlayer() != nextPlayer) {
             currentRound.nextTurn();
         }
-        
-        // Debug print
-        System.out.println("Switched to player: " + nextPlayer.getName());
     }
 
     public Player getCurrentPlayer() {
-        return currentPlayerIndex == 0 ? humanPlayer : computerPlayer;
+        return players.get(currentPlayerIndex);
+    }
+
+    /**
+     * The player who moves after the given one
+     */
+    public Player getNextPlayer(Player player) {
+        return players.get((getPlayerIndex(player) + 1) % players.size());
+    }
+
+    /**
+     * Seat index of a player, in constant time
+     */
+    public int getPlayerIndex(Player player) {
+        Integer seat = player != null ? seats.get(player) : null;
+        if (seat == null) {
+            throw new IllegalArgumentException("Player must be in the tournament");
+        }
+        return seat;
     }
 
     public Turn getCurrentTurn() {
@@ -132,28 +279,74 @@ public class Tournament implements Serializable {
     }
 
     public List<Player> getPlayers() {
-        return Collections.unmodifiableList(Arrays.asList(humanPlayer, computerPlayer));
+        return Collections.unmodifiableList(players);
     }
 
     /**
-     * Get the shared scorecard for the game
+     * Get the shared scorecard, or the current player's card in PER_PLAYER mode
      */
     public ScoreCard getScoreCard() {
-        return sharedScoreCard;
+        return scoreCards.size() == 1 ? sharedScoreCard : scoreCards.get(currentPlayerIndex);
     }
     
     /**
-     * For backwards compatibility - now returns the shared scorecard regardless of player
+     * The scorecard a player fills: the shared one unless in PER_PLAYER mode
      */
     public ScoreCard getScoreCard(Player player) {
-        return sharedScoreCard;
+        return scoreCards.size() == 1 ? sharedScoreCard : scoreCards.get(getPlayerIndex(player));
+    }
+
+    public ScoreCardMode getScoreCardMode() {
+        return scoreCardMode;
+    }
+
+    /**
+     * True once no player has a category left to fill
+     */
+    public boolean areScoreCardsComplete() {
+        for (ScoreCard scoreCard : scoreCards) {
+            if (!scoreCard.isComplete()) {
+                return false;
+            }
+        }
+        return true;
     }
     
     /**
-     * Record which player scored a category
+     * Record which player scored a category, once the score is on the card,
+     * and credit the points to that player's running total. Whoever lifts a
+     * card's upper section over the bonus threshold also receives the bonus.
+     * In PER_PLAYER mode the recorded scorer is the last player to fill it.
      */
     public void recordCategoryScorer(ScoreCategory category, Player player) {
-        categoryScorers.put(category, player);
+        int seat = getPlayerIndex(player);
+        ScoreCard scoreCard = getScoreCard(player);
+        Player previous = categoryScorers.put(category, player);
+        if (scoreCardMode == ScoreCardMode.SHARED && previous != null) {
+            playerTotals[getPlayerIndex(previous)] -= scoreCard.getScore(category);
+        }
+        playerTotals[seat] += scoreCard.getScore(category);
+
+        int card = scoreCards.size() == 1 ? 0 : seat;
+        if (!upperBonusCredited[card] && scoreCard.getUpperBonus() > 0) {
+            upperBonusCredited[card] = true;
+            playerUpperBonuses[seat] += scoreCard.getUpperBonus();
+            playerTotals[seat] += scoreCard.getUpperBonus();
+        }
+    }
+
+    /**
+     * A player's current total, including any upper bonus they earned, in constant time
+     */
+    public int getPlayerScore(Player player) {
+        return playerTotals[getPlayerIndex(player)];
+    }
+
+    /**
+     * Upper bonus points credited to a player
+     */
+    public int getPlayerUpperBonus(Player player) {
+        return playerUpperBonuses[getPlayerIndex(player)];
     }
     
     /**
@@ -171,6 +364,9 @@ public class Tournament implements Serializable {
      * @return true if the player has a score in this category
      */
     public boolean hasPlayerScoredCategory(ScoreCategory category, Player player) {
+        if (scoreCardMode == ScoreCardMode.PER_PLAYER) {
+            return getScoreCard(player).isScored(category);
+        }
         // Check if player is primary scorer
         return player == categoryScorers.get(category);
     }
@@ -183,6 +379,10 @@ public class Tournament implements Serializable {
      * @return The score, or 0 if not found
      */
     public int getPlayerCategoryScore(ScoreCategory category, Player player) {
+        if (scoreCardMode == ScoreCardMode.PER_PLAYER) {
+            return getScoreCard(player).getScore(category);
+        }
+
         // Check if this player is the primary scorer for this category
         Player primaryScorer = categoryScorers.get(category);
         if (player == primaryScorer) {
@@ -197,22 +397,10 @@ public class Tournament implements Serializable {
      * Calculate the scores for each player based on categories they've scored
      */
     public Map<Player, Integer> calculatePlayerScores() {
-        Map<Player, Integer> playerScores = new HashMap<>();
-        playerScores.put(humanPlayer, 0);
-        playerScores.put(computerPlayer, 0);
-        
-        // Go through each scored category and add points to the player who scored it
-        for (ScoreCategory category : ScoreCategory.values()) {
-            if (sharedScoreCard.isScored(category)) {
-                Player scorer = categoryScorers.get(category);
-                if (scorer != null) {
-                    int currentScore = playerScores.get(scorer);
-                    int categoryScore = sharedScoreCard.getScore(category);
-                    playerScores.put(scorer, currentScore + categoryScore);
-                }
-            }
+        Map<Player, Integer> playerScores = new LinkedHashMap<>();
+        for (int seat = 0; seat < playerTotals.length; seat++) {
+            playerScores.put(players.get(seat), playerTotals[seat]);
         }
-        
         return playerScores;
     }
 
@@ -225,21 +413,72 @@ public class Tournament implements Serializable {
     }
 
     public Player determineWinner() {
-        Map<Player, Integer> scores = calculatePlayerScores();
         Player winner = null;
         int highestScore = -1;
 
-        for (Player player : Arrays.asList(humanPlayer, computerPlayer)) {
-            int totalScore = scores.get(player);
-            if (totalScore > highestScore) {
-                highestScore = totalScore;
-                winner = player;
+        for (int seat = 0; seat < playerTotals.length; seat++) {
+            if (playerTotals[seat] > highestScore) {
+                highestScore = playerTotals[seat];
+                winner = players.get(seat);
             }
         }
 
         return winner;
     }
 
+    /**
+     * Project the game onto an immutable {@link GameState}.
+     * Only shared-scorecard games can be projected.
+     */
+    public GameState toGameState() {
+        if (scoreCardMode != ScoreCardMode.SHARED) {
+            throw new IllegalStateException("Only shared-scorecard games have a GameState");
+        }
+        return currentRound.toGameState();
+    }
+
+    /**
+     * Rebuild a shared-scorecard tournament from a {@link GameState}.
+     * The decision log starts empty, so the result cannot be replayed.
+     *
+     * @param players the players by seat; must match the state's player count
+     */
+    public static Tournament fromGameState(GameState state, List<Player> players, Dice dice,
+                                           GameStateCallback callback) {
+        if (players.size() != state.getPlayerCount()) {
+            throw new IllegalArgumentException("Expected " + state.getPlayerCount() + " players");
+        }
+        Tournament tournament = new Tournament(callback, players, ScoreCardMode.SHARED, dice);
+        tournament.roundNumber = state.getRoundNumber();
+        tournament.roundStarterIndex = state.getRoundStarter();
+
+        for (ScoreCategory category : ScoreCategory.values()) {
+            if (!state.isFilled(category)) continue;
+            Player scorer = players.get(state.getOwner(category));
+            int score = state.getScore(category);
+            tournament.sharedScoreCard.setScore(category, score, scorer, state.getScoredRound(category));
+            tournament.categoryScorers.put(category, scorer);
+            tournament.playerTotals[state.getOwner(category)] += score;
+        }
+        if (state.getUpperBonusSeat() >= 0) {
+            int bonus = tournament.sharedScoreCard.getUpperBonus();
+            tournament.upperBonusCredited[0] = true;
+            tournament.sharedScoreCard.setUpperBonusPlayer(players.get(state.getUpperBonusSeat()));
+            tournament.playerUpperBonuses[state.getUpperBonusSeat()] = bonus;
+            tournament.playerTotals[state.getUpperBonusSeat()] += bonus;
+        }
+
+        tournament.startNewRound();
+        while (tournament.currentRound.getCurrentPlayerIndex() != state.getCurrentSeat()) {
+            tournament.currentRound.nextTurn();
+        }
+        tournament.currentPlayerIndex = state.getCurrentSeat();
+        tournament.getCurrentTurn().restore(PackedDice.unpack(state.getDice()), state.getHeldMask(),
+            state.getRollsLeft());
+        tournament.isGameOver = state.isComplete();
+        return tournament;
+    }
+
     private static Tournament loadGame(String filename) throws IOException {
         try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(filename))) {
             return (Tournament) in.readObject();
@@ -254,12 +493,73 @@ public class Tournament implements Serializable {
         }
     }
 
+    /**
+     * The first computer player, or null if every player is human
+     */
     public ComputerPlayer getComputerPlayer() {
-        return computerPlayer;
+        for (Player player : players) {
+            if (player instanceof ComputerPlayer) {
+                return (ComputerPlayer) player;
+            }
+        }
+        return null;
     }
 
+    /**
+     * The first human player, or null if every player is a computer
+     */
     public Player getHumanPlayer() {
-        return humanPlayer;
+        for (Player player : players) {
+            if (!player.isComputer()) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    public long getSeed() {
+        return dice.getSeed();
+    }
+
+    /**
+     * A fresh game before any decision, with copies of the same players in
+     * the same seats, the same score card mode and the same dice from the
+     * start. Applying this game's decision log to it reproduces the game.
+     */
+    public Tournament newGame() {
+        List<Player> copies;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ArrayList<>(players));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to copy players", e);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            List<Player> read = (List<Player>) in.readObject();
+            copies = read;
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to copy players", e);
+        }
+        return new Tournament(null, copies, scoreCardMode, dice.fromStart());
+    }
+
+    /**
+     * Model of the human players' category choices, or null if there is nothing to race for
+     */
+    public OpponentModel getOpponentModel() {
+        return opponentModel;
+    }
+
+    /**
+     * Roll records of every scored or skipped turn so far, in play order
+     */
+    public List<List<TurnRecord>> getCompletedTurns() {
+        return Collections.unmodifiableList(completedTurns);
+    }
+
+    public DecisionLog getDecisionLog() {
+        return decisionLog;
     }
 
     /**
@@ -267,31 +567,28 @@ public class Tournament implements Serializable {
      * This ensures player switching works even when normal mechanisms fail.
      */
     public void setCurrentPlayer(Player player) {
-        if (player != humanPlayer && player != computerPlayer) {
-            throw new IllegalArgumentException("Player must be in the tournament");
-        }
+        int index = getPlayerIndex(player);
         
         // Update the current player index
-        currentPlayerIndex = (player == humanPlayer) ? 0 : 1;
+        currentPlayerIndex = index;
+        decisionLog.recordSwitchPlayer(currentPlayerIndex);
         
         // Make sure the round is in sync if it exists
-        if (currentRound != null && currentRound.getCurrentPlayer() != player) {
-            // If the round's player doesn't match, force a sync
-            // We need a special approach since Round doesn't have a direct setCurrentPlayer
-            
-            // This is a hack: we'll call nextTurn() until the player matches
-            // This assumes there are only 2 players
-            if (currentRound.getCurrentPlayer() != player) {
-                currentRound.nextTurn();
-            }
+        // We need a special approach since Round doesn't have a direct setCurrentPlayer:
+        // advance the round's turns until the player matches or the round ends
+        while (currentRound != null && !currentRound.isComplete() && currentRound.getCurrentPlayer() != player) {
+            currentRound.nextTurn();
         }
     }
 
+    /**
+     * Choose who starts the current round; later rounds rotate on from this player
+     */
     public void setFirstPlayer(Player player) {
-        if (player != humanPlayer && player != computerPlayer) {
-            throw new IllegalArgumentException("Player must be in the tournament");
-        }
+        int index = getPlayerIndex(player);
         firstPlayer = player;
+        roundStarterIndex = index;
+        decisionLog.recordFirstPlayer(index);
         startNewRound();
     }
 }
@@ -12,13 +12,18 @@ public class Turn implements Serializable {
     private static final long serialVersionUID = 1L;
     private static final int MAX_ROLLS = 3;
     private static final int NUM_DICE = 5;
+    // Roll number the positional dice use for the deal, apart from the three rolls
+    private static final int DEAL = -1;
     
     private final List<Integer> dice;
     private final List<Integer> heldDiceIndices;
     private int rollsLeft;
     private TurnRecord turnRecord;
+    // One record per roll, oldest first
+    private List<TurnRecord> history = new ArrayList<>();
     private boolean isComplete;
     private final Round round;
+    private final int seat;
     private TurnCallback callback;
 
     public Turn(Round round) {
@@ -28,6 +33,7 @@ public class Turn implements Serializable {
         this.turnRecord = new TurnRecord(round, new ArrayList<>(dice), new ArrayList<>(heldDiceIndices), rollsLeft);
         this.isComplete = false;
         this.round = round;
+        this.seat = round.getCurrentPlayerIndex();
     }
 
     public void setCallback(TurnCallback callback) {
@@ -91,13 +97,15 @@ public class Turn implements Serializable {
         }
 
         // Roll all non-held dice
-        Random random = new Random();
+        Dice source = round.getDiceSource();
+        int rollNumber = MAX_ROLLS - rollsLeft;
         for (int i = 0; i < NUM_DICE; i++) {
             if (!heldDiceIndices.contains(i)) {
-                dice.set(i, random.nextInt(6) + 1);
+                dice.set(i, source.roll(round.getRoundNumber(), seat, rollNumber, i));
             }
         }
         rollsLeft--;
+        round.getDecisionLog().recordRoll(PackedDice.holdMask(heldDiceIndices));
         
         // Notify about the roll
         if (callback != null) {
@@ -106,7 +114,7 @@ public class Turn implements Serializable {
         }
         
         // Record the turn state
-        turnRecord = new TurnRecord(round, new ArrayList<>(dice), new ArrayList<>(heldDiceIndices), rollsLeft);
+        record();
     }
 
     public void rollDice() {
@@ -134,6 +142,45 @@ public class Turn implements Serializable {
         notifyDiceChanged();
     }
 
+    /**
+     * Deal fresh values for all five dice without using up a roll.
+     * Used to show the initial dice at the start of a turn.
+     */
+    public void dealDice() {
+        if (rollsLeft <= 0) {
+            throw new IllegalStateException("No rolls left in this turn");
+        }
+        Dice source = round.getDiceSource();
+        for (int i = 0; i < NUM_DICE; i++) {
+            dice.set(i, source.roll(round.getRoundNumber(), seat, DEAL, i));
+        }
+        round.getDecisionLog().recordDeal();
+        notifyDiceChanged();
+    }
+
+    /**
+     * Apply dice values entered by hand as one roll of this turn.
+     */
+    public void enterDiceValues(List<Integer> values) {
+        setDiceValues(values);
+        decrementRolls();
+        round.getDecisionLog().recordManualDice(PackedDice.pack(values));
+        record();
+    }
+
+    /**
+     * Put the turn into a known mid-turn state, e.g. when rebuilding from a {@link GameState}
+     */
+    void restore(List<Integer> values, int holdMask, int rolls) {
+        for (int i = 0; i < NUM_DICE; i++) {
+            dice.set(i, values.get(i));
+        }
+        heldDiceIndices.clear();
+        heldDiceIndices.addAll(PackedDice.heldIndices(holdMask));
+        rollsLeft = rolls;
+        record();
+    }
+
     public List<Integer> getDiceValues() {
         return Collections.unmodifiableList(dice);
     }
@@ -147,4 +194,25 @@ public class Turn implements Serializable {
     public TurnRecord getRecord() {
         return turnRecord;
     }
+
+    /**
+     * Record of every roll of this turn, oldest first. The last one carries
+     * the scored category once the turn is scored.
+     */
+    public List<TurnRecord> getHistory() {
+        return Collections.unmodifiableList(rollHistory());
+    }
+
+    private void record() {
+        turnRecord = new TurnRecord(round, new ArrayList<>(dice), new ArrayList<>(heldDiceIndices), rollsLeft);
+        rollHistory().add(turnRecord);
+    }
+
+    // Games saved before roll history was kept have none
+    private List<TurnRecord> rollHistory() {
+        if (history == null) {
+            history = new ArrayList<>();
+        }
+        return history;
+    }
 }
@@ -15,6 +15,10 @@ public class TurnRecord implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private final Round round;
+    private final Player player;
+    // Scorecard of the rolling player when the dice were rolled
+    private final int filledMask;
+    private final int upperScore;
     private final List<Integer> dice;
     private final List<Integer> heldDiceIndices;
     private final int rollsLeft;
@@ -24,7 +28,11 @@ public class TurnRecord implements Serializable {
     private boolean isStanding;
 
     public TurnRecord(Round round, List<Integer> dice, List<Integer> heldDiceIndices, int rollsLeft) {
+        ScoreCard scoreCard = round.getScoreCard();
         this.round = round;
+        this.player = round.getCurrentPlayer();
+        this.filledMask = scoreCard.getFilledMask();
+        this.upperScore = scoreCard.getUpperSectionScore();
         this.dice = new ArrayList<>(dice);
         this.heldDiceIndices = new ArrayList<>(heldDiceIndices);
         this.rollsLeft = rollsLeft;
@@ -45,6 +53,27 @@ public class TurnRecord implements Serializable {
         this.explanation = explanation;
     }
 
+    /**
+     * Player whose turn this was
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Categories already filled on the player's scorecard at the time of the roll
+     */
+    public int getFilledMask() {
+        return filledMask;
+    }
+
+    /**
+     * Upper section total on the player's scorecard at the time of the roll
+     */
+    public int getUpperScore() {
+        return upperScore;
+    }
+
     public List<Integer> getDice() {
         return new ArrayList<>(dice);
     }
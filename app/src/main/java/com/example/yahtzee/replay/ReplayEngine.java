@@ -0,0 +1,165 @@
+package com.example.yahtzee.replay;
+
+import com.example.yahtzee.model.*;
+import java.io.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Rebuilds the state of a finished or in-progress game from its starting
+ * position and {@link DecisionLog}. The starting position is a fresh
+ * tournament with the recorded players, score card mode and dice, for
+ * example {@link Tournament#newGame()} of the recorded game. Decisions are applied straight to the model with all
+ * callbacks disabled. Snapshots taken every {@code checkpointInterval} steps
+ * form a seek index, so jumping to a late step only replays the decisions
+ * after the nearest snapshot.
+ */
+public class ReplayEngine {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 8;
+
+    private final Supplier<Tournament> newGame;
+    private final int[] decisions;
+    private final int checkpointInterval;
+
+    // checkpoints.get(k) is the serialized state after k * checkpointInterval decisions
+    private final List<byte[]> checkpoints = new ArrayList<>();
+
+    /**
+     * Replay a default human-versus-computer game dealt from {@code seed}
+     */
+    public ReplayEngine(long seed, DecisionLog log) {
+        this(() -> new Tournament(null, seed), log, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public ReplayEngine(Supplier<Tournament> newGame, DecisionLog log) {
+        this(newGame, log, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @param newGame creates the game before any decision; called once, on the first seek
+     */
+    public ReplayEngine(Supplier<Tournament> newGame, DecisionLog log, int checkpointInterval) {
+        if (newGame == null) {
+            throw new IllegalArgumentException("Game supplier cannot be null");
+        }
+        if (log == null) {
+            throw new IllegalArgumentException("Decision log cannot be null");
+        }
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.newGame = newGame;
+        this.decisions = log.toArray();
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Create an engine for the decisions recorded so far in a tournament
+     */
+    public static ReplayEngine of(Tournament tournament) {
+        Tournament start = tournament.newGame();
+        return new ReplayEngine(() -> start, tournament.getDecisionLog());
+    }
+
+    public int getStepCount() {
+        return decisions.length;
+    }
+
+    /**
+     * Rebuild the game as it was after the first {@code step} decisions.
+     * The returned tournament is a fresh copy the caller may modify.
+     */
+    public Tournament seek(int step) {
+        if (step < 0 || step > decisions.length) {
+            throw new IllegalArgumentException("Invalid step: " + step);
+        }
+
+        // Start from the nearest indexed snapshot at or before the target
+        int checkpoint = Math.min(step / checkpointInterval, checkpoints.size() - 1);
+        Tournament tournament;
+        int position;
+        if (checkpoint < 0) {
+            tournament = newGame.get();
+            checkpoints.add(snapshot(tournament));
+            position = 0;
+        } else {
+            tournament = restore(checkpoints.get(checkpoint));
+            position = checkpoint * checkpointInterval;
+        }
+
+        // Fast-forward, extending the index along the way
+        while (position < step) {
+            apply(tournament, decisions[position]);
+            position++;
+            if (position % checkpointInterval == 0 && position / checkpointInterval == checkpoints.size()) {
+                checkpoints.add(snapshot(tournament));
+            }
+        }
+        return tournament;
+    }
+
+    /**
+     * Rebuild the game after all recorded decisions
+     */
+    public Tournament replayAll() {
+        return seek(decisions.length);
+    }
+
+    /**
+     * Apply a single logged decision to a tournament
+     */
+    static void apply(Tournament tournament, int decision) {
+        int payload = DecisionLog.payloadOf(decision);
+        Turn turn = tournament.getCurrentTurn();
+        switch (DecisionLog.typeOf(decision)) {
+            case DecisionLog.DEAL:
+                turn.dealDice();
+                break;
+            case DecisionLog.ROLL:
+                for (Integer index : turn.getHeldDiceIndices()) {
+                    turn.releaseDie(index);
+                }
+                for (Integer index : PackedDice.heldIndices(payload)) {
+                    turn.holdDie(index);
+                }
+                turn.roll();
+                break;
+            case DecisionLog.MANUAL:
+                turn.enterDiceValues(PackedDice.unpack(payload));
+                break;
+            case DecisionLog.SCORE:
+                tournament.scoreCategory(ScoreCategory.values()[payload]);
+                tournament.completeTurn();
+                break;
+            case DecisionLog.SKIP:
+                tournament.skipTurn();
+                break;
+            case DecisionLog.FIRST_PLAYER:
+                tournament.setFirstPlayer(tournament.getPlayers().get(payload));
+                break;
+            case DecisionLog.SWITCH_PLAYER:
+                tournament.setCurrentPlayer(tournament.getPlayers().get(payload));
+                break;
+            default:
+                throw new IllegalStateException("Unknown decision type: " + DecisionLog.typeOf(decision));
+        }
+    }
+
+    private static byte[] snapshot(Tournament tournament) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(tournament);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to snapshot game state", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Tournament restore(byte[] snapshot) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(snapshot))) {
+            return (Tournament) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to restore game state", e);
+        }
+    }
+}
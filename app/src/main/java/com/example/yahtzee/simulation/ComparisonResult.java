@@ -0,0 +1,85 @@
+package com.example.yahtzee.simulation;
+
+import java.util.Locale;
+
+/**
+ * Outcome of a {@link StrategyComparison}: the paired score difference
+ * (candidate minus baseline) with its confidence interval.
+ */
+public class ComparisonResult {
+    public enum Verdict {
+        CANDIDATE_BETTER,
+        BASELINE_BETTER,
+        INCONCLUSIVE
+    }
+
+    private final long games;
+    private final double baselineMean;
+    private final double candidateMean;
+    private final double meanDifference;
+    private final double lowerBound;
+    private final double upperBound;
+    private final double varianceReduction;
+    private final boolean stoppedEarly;
+
+    ComparisonResult(StrategyComparison.PairedStatistics statistics, double z, boolean stoppedEarly) {
+        this.games = statistics.count;
+        this.baselineMean = statistics.meanA;
+        this.candidateMean = statistics.meanB;
+        this.meanDifference = statistics.meanDifference();
+        double halfWidth = z * statistics.standardError();
+        this.lowerBound = meanDifference - halfWidth;
+        this.upperBound = meanDifference + halfWidth;
+        this.varianceReduction = statistics.varianceReduction();
+        this.stoppedEarly = stoppedEarly;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public double getBaselineMean() {
+        return baselineMean;
+    }
+
+    public double getCandidateMean() {
+        return candidateMean;
+    }
+
+    public double getMeanDifference() {
+        return meanDifference;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * How many times fewer games the paired design needed than independent games would
+     */
+    public double getVarianceReduction() {
+        return varianceReduction;
+    }
+
+    public boolean isStoppedEarly() {
+        return stoppedEarly;
+    }
+
+    public Verdict getVerdict() {
+        if (lowerBound > 0) return Verdict.CANDIDATE_BETTER;
+        if (upperBound < 0) return Verdict.BASELINE_BETTER;
+        return Verdict.INCONCLUSIVE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+            "%s after %d games%s: baseline %.2f, candidate %.2f, difference %+.2f [%+.2f, %+.2f], variance reduction %.1fx",
+            getVerdict(), games, stoppedEarly ? " (stopped early)" : "", baselineMean, candidateMean,
+            meanDifference, lowerBound, upperBound, varianceReduction);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.analytics.*;
+import com.example.yahtzee.model.*;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs complete {@link Tournament}s between any two players with no UI and no
+ * pacing, through the same Tournament and Round code the app uses. Besides
+ * single games it can soak-test a pairing: many games in parallel, each checked
+ * for a consistent final state, with win counts and score distributions.
+ */
+public class HeadlessTournament {
+    private final Supplier<Player> first;
+    private final Supplier<Player> second;
+    private long baseSeed = 1L;
+
+    /**
+     * @param first creates the player seated first in each game
+     * @param second creates the player seated second; names must differ from the first
+     */
+    public HeadlessTournament(Supplier<Player> first, Supplier<Player> second) {
+        if (first == null || second == null) {
+            throw new IllegalArgumentException("Both players are required");
+        }
+        this.first = first;
+        this.second = second;
+    }
+
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    /**
+     * Play one two-player tournament to the end: until the shared scorecard is
+     * full or the tournament runs out of rounds
+     */
+    public static Tournament play(Player first, Player second, Dice dice) {
+        return play(new Tournament(null, first, second, dice));
+    }
+
+    /**
+     * Play a prepared tournament, with any number of players or scorecard mode, to the end
+     */
+    public static Tournament play(Tournament tournament) {
+        while (!tournament.isGameOver()) {
+            Player player = tournament.getCurrentPlayer();
+            ScoreCategory category = TurnDriver.playTurn(player, tournament.getCurrentRound());
+            if (category == null) {
+                tournament.skipTurn();
+                continue;
+            }
+            tournament.scoreCategory(category);
+            tournament.completeTurn();
+        }
+        verify(tournament);
+        return tournament;
+    }
+
+    /**
+     * Play {@code games} tournaments in parallel, game {@code i} on seed {@code baseSeed + i}
+     */
+    public Result run(int games) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Games must be positive");
+        }
+        ScoreStatisticsCollector collector = new ScoreStatisticsCollector();
+        LongAdder firstWins = new LongAdder();
+        LongAdder secondWins = new LongAdder();
+        long start = System.nanoTime();
+
+        IntStream.range(0, games).parallel().forEach(game -> {
+            Player a = first.get();
+            Player b = second.get();
+            Tournament tournament = play(a, b, new PositionalDice(baseSeed + game));
+            Map<Player, Integer> scores = tournament.calculatePlayerScores();
+            int difference = Integer.compare(scores.get(a), scores.get(b));
+            if (difference > 0) {
+                firstWins.increment();
+            } else if (difference < 0) {
+                secondWins.increment();
+            }
+            collector.local().recordGame(tournament);
+        });
+
+        return new Result(games, firstWins.sum(), secondWins.sum(), System.nanoTime() - start,
+            collector.merged());
+    }
+
+    /**
+     * Check the invariants of a finished shared-scorecard game
+     */
+    static void verify(Tournament tournament) {
+        if (!tournament.areScoreCardsComplete()) {
+            throw new IllegalStateException("Game ended with open categories");
+        }
+        int credited = 0;
+        if (tournament.getScoreCardMode() == ScoreCardMode.PER_PLAYER) {
+            for (Player player : tournament.getPlayers()) {
+                credited += tournament.getScoreCard(player).getTotalScore();
+            }
+        } else {
+            ScoreCard scoreCard = tournament.getScoreCard();
+            for (ScoreCategory category : ScoreCategory.values()) {
+                if (tournament.getCategoryScorer(category) == null) {
+                    throw new IllegalStateException("No scorer recorded for " + category);
+                }
+                credited += scoreCard.getScore(category);
+            }
+            credited += scoreCard.getUpperBonus();
+        }
+        int total = 0;
+        for (int score : tournament.calculatePlayerScores().values()) {
+            total += score;
+        }
+        if (total != credited) {
+            throw new IllegalStateException("Player totals " + total + " do not match scorecard " + credited);
+        }
+    }
+
+    public static class Result {
+        private final int games;
+        private final long firstWins;
+        private final long secondWins;
+        private final long elapsedNanos;
+        private final ScoreStatistics statistics;
+
+        Result(int games, long firstWins, long secondWins, long elapsedNanos, ScoreStatistics statistics) {
+            this.games = games;
+            this.firstWins = firstWins;
+            this.secondWins = secondWins;
+            this.elapsedNanos = elapsedNanos;
+            this.statistics = statistics;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public long getFirstWins() {
+            return firstWins;
+        }
+
+        public long getSecondWins() {
+            return secondWins;
+        }
+
+        public long getDraws() {
+            return games - firstWins - secondWins;
+        }
+
+        public double getGamesPerSecond() {
+            return games / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Per-player totals and shared scorecard distributions of all games
+         */
+        public ScoreStatistics getStatistics() {
+            return statistics;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d games: first %d, second %d, draws %d (%.0f games/s)",
+                games, firstWins, secondWins, getDraws(), getGamesPerSecond());
+        }
+    }
+}
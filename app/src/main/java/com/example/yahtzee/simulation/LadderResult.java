@@ -0,0 +1,82 @@
+package com.example.yahtzee.simulation;
+
+import java.util.*;
+
+/**
+ * Final standings of a {@link StrategyLadder} run, best rating first
+ */
+public class LadderResult {
+    private final List<Standing> standings;
+    private final int sweeps;
+    private final boolean converged;
+
+    LadderResult(List<Standing> standings, int sweeps, boolean converged) {
+        this.standings = Collections.unmodifiableList(standings);
+        this.sweeps = sweeps;
+        this.converged = converged;
+    }
+
+    public List<Standing> getStandings() {
+        return standings;
+    }
+
+    public Standing getLeader() {
+        return standings.get(0);
+    }
+
+    public int getSweeps() {
+        return sweeps;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%d sweeps, %s%n", sweeps, converged ? "converged" : "not converged"));
+        for (Standing standing : standings) {
+            sb.append(standing).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static class Standing {
+        private final String name;
+        private final double rating;
+        private final long games;
+        private final double points;
+
+        Standing(String name, double rating, long games, double points) {
+            this.name = name;
+            this.rating = rating;
+            this.games = games;
+            this.points = points;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Wins plus half the draws
+         */
+        public double getPoints() {
+            return points;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%-20s %7.1f  %.1f/%d", name, rating, points, games);
+        }
+    }
+}
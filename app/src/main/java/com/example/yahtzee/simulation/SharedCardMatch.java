@@ -0,0 +1,24 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Two players filling one shared scorecard, as in the app: each category is
+ * credited to whoever scores it, the first player alternates every round,
+ * and the game ends when the card is full. Played through
+ * {@link HeadlessTournament}, so it runs the real Tournament code.
+ */
+public final class SharedCardMatch {
+    private SharedCardMatch() {
+    }
+
+    /**
+     * @return points credited to each player, indexed like the arguments
+     */
+    public static int[] play(Player first, Player second, Dice dice) {
+        Tournament tournament = HeadlessTournament.play(first, second, dice);
+        Map<Player, Integer> scores = tournament.calculatePlayerScores();
+        return new int[]{scores.get(first), scores.get(second)};
+    }
+}
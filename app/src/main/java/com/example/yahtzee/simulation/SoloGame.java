@@ -0,0 +1,30 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * A single player filling a private scorecard, one category per round,
+ * played through the real Round and Turn classes.
+ * Used to measure a strategy on its own, without an opponent.
+ */
+public final class SoloGame {
+    private SoloGame() {
+    }
+
+    public static ScoreCard play(Player player, Dice dice) {
+        ScoreCard scoreCard = new ScoreCard();
+        DecisionLog decisionLog = new DecisionLog();
+        List<Player> players = Collections.singletonList(player);
+        int rounds = ScoreCategory.values().length;
+
+        for (int roundNumber = 1; roundNumber <= rounds; roundNumber++) {
+            Round round = new Round(players, player, roundNumber, scoreCard, dice, decisionLog);
+            ScoreCategory category = TurnDriver.playTurn(player, round);
+            int score = scoreCard.calculateScore(category, round.getCurrentTurn().getDice());
+            scoreCard.setScore(category, score, player, round);
+            round.completeTurn();
+        }
+        return scoreCard;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.model.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Paired A/B comparison of two strategies using common random numbers.
+ * For every game both strategies play a solo scorecard against the same
+ * {@link PositionalDice} seed, so luck largely cancels out of the per-game
+ * score difference. Games run in parallel batches; after each batch the
+ * confidence interval of the mean difference is checked and the run stops
+ * early once it excludes zero or is narrower than the requested precision.
+ */
+public class StrategyComparison {
+    private final Supplier<Player> baseline;
+    private final Supplier<Player> candidate;
+    private long baseSeed = 1L;
+    private int maxGames = 20000;
+    private int minGames = 200;
+    private int batchSize = 200;
+    private double confidence = 0.95;
+    private double precision = 0.25;
+
+    /**
+     * @param baseline creates a fresh player for the current strategy (A)
+     * @param candidate creates a fresh player for the strategy under test (B)
+     */
+    public StrategyComparison(Supplier<Player> baseline, Supplier<Player> candidate) {
+        if (baseline == null || candidate == null) {
+            throw new IllegalArgumentException("Both strategies are required");
+        }
+        this.baseline = baseline;
+        this.candidate = candidate;
+    }
+
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    public void setMaxGames(int maxGames) {
+        this.maxGames = maxGames;
+    }
+
+    public void setMinGames(int minGames) {
+        this.minGames = minGames;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public void setConfidence(double confidence) {
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("Confidence must be between 0 and 1");
+        }
+        this.confidence = confidence;
+    }
+
+    /**
+     * Stop once the interval half-width is below this many points
+     */
+    public void setPrecision(double precision) {
+        this.precision = precision;
+    }
+
+    public ComparisonResult run() {
+        // Every interim look spends part of the error budget (Bonferroni),
+        // so stopping early does not inflate the false-positive rate
+        int looks = Math.max(1, (maxGames + batchSize - 1) / batchSize);
+        double z = inverseNormal(1 - (1 - confidence) / (2.0 * looks));
+
+        PairedStatistics statistics = new PairedStatistics();
+        int played = 0;
+        boolean stoppedEarly = false;
+        while (played < maxGames) {
+            int start = played;
+            int end = Math.min(maxGames, played + batchSize);
+            double[][] pairs = IntStream.range(start, end)
+                .parallel()
+                .mapToObj(this::playPair)
+                .toArray(double[][]::new);
+            for (double[] pair : pairs) {
+                statistics.add(pair[0], pair[1]);
+            }
+            played = end;
+
+            if (played >= minGames && played < maxGames) {
+                double halfWidth = z * statistics.standardError();
+                double mean = statistics.meanDifference();
+                if (mean - halfWidth > 0 || mean + halfWidth < 0 || halfWidth < precision) {
+                    stoppedEarly = true;
+                    break;
+                }
+            }
+        }
+        return new ComparisonResult(statistics, z, stoppedEarly);
+    }
+
+    private double[] playPair(int game) {
+        long seed = baseSeed + game;
+        int a = SoloGame.play(baseline.get(), new PositionalDice(seed)).getTotalScore();
+        int b = SoloGame.play(candidate.get(), new PositionalDice(seed)).getTotalScore();
+        return new double[] {a, b};
+    }
+
+    /**
+     * Running means and variances of the paired scores (Welford's method)
+     */
+    static final class PairedStatistics {
+        long count;
+        double meanA;
+        double meanB;
+        double meanDiff;
+        double m2A;
+        double m2B;
+        double m2Diff;
+
+        void add(double a, double b) {
+            count++;
+            double diff = b - a;
+            double dA = a - meanA;
+            meanA += dA / count;
+            m2A += dA * (a - meanA);
+            double dB = b - meanB;
+            meanB += dB / count;
+            m2B += dB * (b - meanB);
+            double dDiff = diff - meanDiff;
+            meanDiff += dDiff / count;
+            m2Diff += dDiff * (diff - meanDiff);
+        }
+
+        double meanDifference() {
+            return meanDiff;
+        }
+
+        double varianceDifference() {
+            return count > 1 ? m2Diff / (count - 1) : Double.POSITIVE_INFINITY;
+        }
+
+        double standardError() {
+            return Math.sqrt(varianceDifference() / count);
+        }
+
+        /**
+         * Variance an unpaired comparison would have had, relative to the paired one
+         */
+        double varianceReduction() {
+            if (count < 2 || m2Diff == 0) {
+                return Double.NaN;
+            }
+            return (m2A + m2B) / m2Diff;
+        }
+    }
+
+    /**
+     * Inverse of the standard normal CDF (Acklam's rational approximation)
+     */
+    static double inverseNormal(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1");
+        }
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00};
+        double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+            / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.strategy.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Round-robin ladder between {@link StrategyProvider}s playing the
+ * shared-scorecard game. Each sweep plays a batch of games for every pair of
+ * strategies in parallel; every seed is played twice with the first seat
+ * swapped, so neither strategy profits from moving first. After each sweep
+ * Elo ratings are refitted to all results so far, and the ladder stops once
+ * no rating moves by more than the convergence threshold.
+ */
+public class StrategyLadder {
+    public static final double BASE_RATING = 1500;
+
+    private final List<StrategyProvider> providers;
+    private long baseSeed = 1L;
+    private int gamesPerPairing = 100;
+    private int minSweeps = 3;
+    private int maxSweeps = 50;
+    private double convergenceThreshold = 1.0;
+
+    public StrategyLadder(List<StrategyProvider> providers) {
+        if (providers == null || providers.size() < 2) {
+            throw new IllegalArgumentException("A ladder needs at least two strategies");
+        }
+        Set<String> names = new HashSet<>();
+        for (StrategyProvider provider : providers) {
+            if (!names.add(provider.getName())) {
+                throw new IllegalArgumentException("Duplicate strategy name: " + provider.getName());
+            }
+        }
+        this.providers = new ArrayList<>(providers);
+    }
+
+    /**
+     * Ladder over every strategy registered through {@link java.util.ServiceLoader}
+     */
+    public static StrategyLadder fromServiceLoader() {
+        return new StrategyLadder(StrategyRegistry.load());
+    }
+
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    /**
+     * Games per pair of strategies in each sweep, rounded up to an even number
+     */
+    public void setGamesPerPairing(int gamesPerPairing) {
+        if (gamesPerPairing <= 0) {
+            throw new IllegalArgumentException("Games per pairing must be positive");
+        }
+        this.gamesPerPairing = gamesPerPairing + (gamesPerPairing & 1);
+    }
+
+    public void setMinSweeps(int minSweeps) {
+        this.minSweeps = minSweeps;
+    }
+
+    public void setMaxSweeps(int maxSweeps) {
+        if (maxSweeps <= 0) {
+            throw new IllegalArgumentException("Max sweeps must be positive");
+        }
+        this.maxSweeps = maxSweeps;
+    }
+
+    /**
+     * Stop once no rating changes by more than this many Elo points in a sweep
+     */
+    public void setConvergenceThreshold(double convergenceThreshold) {
+        this.convergenceThreshold = convergenceThreshold;
+    }
+
+    public LadderResult run() {
+        int count = providers.size();
+        int[][] pairs = new int[count * (count - 1) / 2][];
+        int p = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                pairs[p++] = new int[]{i, j};
+            }
+        }
+
+        // halfPoints[i][j] counts half points, so a draw adds one to each side
+        long[][] halfPoints = new long[count][count];
+        long[][] games = new long[count][count];
+        double[] ratings = new double[count];
+        Arrays.fill(ratings, BASE_RATING);
+        int sweep = 0;
+        boolean converged = false;
+
+        while (sweep < maxSweeps && !converged) {
+            int sweepIndex = sweep;
+            int[] outcomes = IntStream.range(0, pairs.length * gamesPerPairing)
+                .parallel()
+                .map(task -> playGame(pairs[task / gamesPerPairing], task % gamesPerPairing, sweepIndex))
+                .toArray();
+
+            for (int task = 0; task < outcomes.length; task++) {
+                int[] pair = pairs[task / gamesPerPairing];
+                int i = pair[0];
+                int j = pair[1];
+                // outcome: 2 = i won, 1 = draw, 0 = j won
+                halfPoints[i][j] += outcomes[task];
+                halfPoints[j][i] += 2 - outcomes[task];
+                games[i][j]++;
+                games[j][i]++;
+            }
+            sweep++;
+
+            double[] updated = fitRatings(halfPoints, games);
+            double maxChange = 0;
+            for (int i = 0; i < count; i++) {
+                maxChange = Math.max(maxChange, Math.abs(updated[i] - ratings[i]));
+            }
+            ratings = updated;
+            converged = sweep >= minSweeps && maxChange < convergenceThreshold;
+        }
+
+        List<LadderResult.Standing> standings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long played = 0;
+            long points = 0;
+            for (int j = 0; j < count; j++) {
+                played += games[i][j];
+                points += halfPoints[i][j];
+            }
+            standings.add(new LadderResult.Standing(providers.get(i).getName(), ratings[i], played, points / 2.0));
+        }
+        standings.sort((a, b) -> Double.compare(b.getRating(), a.getRating()));
+        return new LadderResult(standings, sweep, converged);
+    }
+
+    /**
+     * Play one game of a pairing; even and odd games share a seed with the seats swapped
+     *
+     * @return 2 if the first strategy of the pair won, 1 for a draw, 0 otherwise
+     */
+    private int playGame(int[] pair, int game, int sweep) {
+        StrategyProvider a = providers.get(pair[0]);
+        StrategyProvider b = providers.get(pair[1]);
+        Player playerA = a.createPlayer(a.getName() + " (A)");
+        Player playerB = b.createPlayer(b.getName() + " (B)");
+        Dice dice = new PositionalDice(baseSeed + (long) sweep * gamesPerPairing + game / 2);
+
+        int scoreA;
+        int scoreB;
+        if (game % 2 == 0) {
+            int[] points = SharedCardMatch.play(playerA, playerB, dice);
+            scoreA = points[0];
+            scoreB = points[1];
+        } else {
+            int[] points = SharedCardMatch.play(playerB, playerA, dice);
+            scoreA = points[1];
+            scoreB = points[0];
+        }
+        return Integer.compare(scoreA, scoreB) + 1;
+    }
+
+    /**
+     * Maximum-likelihood Bradley-Terry strengths on the Elo scale, found with
+     * the minorization-maximization iteration. Every pairing gets one virtual
+     * draw so a strategy that never won still has a finite rating.
+     */
+    static double[] fitRatings(long[][] halfPoints, long[][] games) {
+        int count = halfPoints.length;
+        double[] strength = new double[count];
+        Arrays.fill(strength, 1.0);
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            double[] next = new double[count];
+            double maxDelta = 0;
+            for (int i = 0; i < count; i++) {
+                double wins = 0;
+                double denominator = 0;
+                for (int j = 0; j < count; j++) {
+                    if (i == j) continue;
+                    wins += halfPoints[i][j] / 2.0 + 0.5;
+                    denominator += (games[i][j] + 1) / (strength[i] + strength[j]);
+                }
+                next[i] = wins / denominator;
+            }
+            // Normalize to a geometric mean of one so the scale stays fixed
+            double logMean = 0;
+            for (int i = 0; i < count; i++) {
+                logMean += Math.log(next[i]);
+            }
+            double scale = Math.exp(logMean / count);
+            for (int i = 0; i < count; i++) {
+                next[i] /= scale;
+                maxDelta = Math.max(maxDelta, Math.abs(next[i] - strength[i]));
+            }
+            strength = next;
+            if (maxDelta < 1e-10) break;
+        }
+
+        double[] ratings = new double[count];
+        for (int i = 0; i < count; i++) {
+            ratings[i] = BASE_RATING + 400 * Math.log10(strength[i]);
+        }
+        return ratings;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Cross-entropy search over {@link ComputerPlayerParameters}.
+ * Each generation samples candidate vectors from a per-parameter normal
+ * distribution, scores every candidate by its mean solo score over the same
+ * set of {@link PositionalDice} seeds (so candidates are compared on identical
+ * luck), and refits the distribution to the elite fraction. All candidate
+ * games of a generation run in parallel. Parameters that only act against
+ * an opponent on a shared card cannot show up in a solo score, so they are
+ * left at their defaults.
+ */
+public class ThresholdTuner {
+    // Only weigh a human opponent's next claim, which never happens in solo games
+    private static final Set<ComputerPlayerParameters.Parameter> SOLO_FIXED =
+        EnumSet.of(ComputerPlayerParameters.Parameter.DENIAL_WEIGHT);
+
+    private long baseSeed = 1L;
+    private int generations = 20;
+    private int populationSize = 32;
+    private int gamesPerCandidate = 400;
+    private double eliteFraction = 0.2;
+    // Weight of the new estimate when refitting the distribution
+    private double smoothing = 0.7;
+    // Initial standard deviation as a fraction of each parameter's range
+    private double initialSpread = 0.15;
+
+    private TuningListener listener;
+
+    public interface TuningListener {
+        void onGeneration(int generation, double eliteMean, ComputerPlayerParameters best, double bestScore);
+    }
+
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    public void setGenerations(int generations) {
+        if (generations <= 0) {
+            throw new IllegalArgumentException("Generations must be positive");
+        }
+        this.generations = generations;
+    }
+
+    public void setPopulationSize(int populationSize) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population needs at least two candidates");
+        }
+        this.populationSize = populationSize;
+    }
+
+    public void setGamesPerCandidate(int gamesPerCandidate) {
+        if (gamesPerCandidate <= 0) {
+            throw new IllegalArgumentException("Games per candidate must be positive");
+        }
+        this.gamesPerCandidate = gamesPerCandidate;
+    }
+
+    public void setEliteFraction(double eliteFraction) {
+        if (eliteFraction <= 0 || eliteFraction > 1) {
+            throw new IllegalArgumentException("Elite fraction must be in (0, 1]");
+        }
+        this.eliteFraction = eliteFraction;
+    }
+
+    public void setListener(TuningListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Run the search starting from the current defaults
+     *
+     * @return the better of the best sampled candidate and the final distribution
+     *         mean, re-scored on seeds no generation has seen
+     */
+    public ComputerPlayerParameters tune() {
+        int size = ComputerPlayerParameters.SIZE;
+        ComputerPlayerParameters.Parameter[] parameters = ComputerPlayerParameters.Parameter.values();
+        double[] mean = ComputerPlayerParameters.defaultVector();
+        double[] deviation = new double[size];
+        for (ComputerPlayerParameters.Parameter parameter : parameters) {
+            // A zero deviation keeps every sample, and so the refitted mean, at the default
+            deviation[parameter.ordinal()] = SOLO_FIXED.contains(parameter)
+                ? 0 : (parameter.getMax() - parameter.getMin()) * initialSpread;
+        }
+
+        Random random = new Random(baseSeed);
+        int eliteCount = Math.max(1, (int) Math.round(populationSize * eliteFraction));
+        ComputerPlayerParameters best = ComputerPlayerParameters.defaults();
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        for (int generation = 0; generation < generations; generation++) {
+            // The first candidate is always the current mean so progress is never lost
+            ComputerPlayerParameters[] population = new ComputerPlayerParameters[populationSize];
+            population[0] = ComputerPlayerParameters.fromVector(mean);
+            for (int c = 1; c < populationSize; c++) {
+                double[] vector = new double[size];
+                for (int i = 0; i < size; i++) {
+                    vector[i] = mean[i] + random.nextGaussian() * deviation[i];
+                }
+                population[c] = ComputerPlayerParameters.fromVector(vector);
+            }
+
+            long generationSeed = baseSeed + (long) generation * gamesPerCandidate;
+            double[] scores = evaluate(population, generationSeed);
+
+            Integer[] order = new Integer[populationSize];
+            for (int c = 0; c < populationSize; c++) {
+                order[c] = c;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+            if (scores[order[0]] > bestScore) {
+                bestScore = scores[order[0]];
+                best = population[order[0]];
+            }
+
+            // Refit mean and deviation to the elite candidates
+            double[][] elite = new double[eliteCount][];
+            for (int e = 0; e < eliteCount; e++) {
+                elite[e] = population[order[e]].toVector();
+            }
+            double eliteMean = 0;
+            for (int i = 0; i < size; i++) {
+                double sum = 0;
+                for (int e = 0; e < eliteCount; e++) {
+                    sum += elite[e][i];
+                }
+                double newMean = sum / eliteCount;
+                double squares = 0;
+                for (int e = 0; e < eliteCount; e++) {
+                    double d = elite[e][i] - newMean;
+                    squares += d * d;
+                }
+                double newDeviation = Math.sqrt(squares / eliteCount);
+                mean[i] = smoothing * newMean + (1 - smoothing) * mean[i];
+                deviation[i] = smoothing * newDeviation + (1 - smoothing) * deviation[i];
+            }
+            for (int e = 0; e < eliteCount; e++) {
+                eliteMean += scores[order[e]];
+            }
+            eliteMean /= eliteCount;
+
+            if (listener != null) {
+                listener.onGeneration(generation, eliteMean, best, bestScore);
+            }
+        }
+
+        // The best sample's score is optimistically biased, so confirm it on fresh seeds
+        ComputerPlayerParameters[] finalists = {best, ComputerPlayerParameters.fromVector(mean)};
+        double[] confirmed = evaluate(finalists, baseSeed + (long) generations * gamesPerCandidate);
+        return confirmed[1] > confirmed[0] ? finalists[1] : finalists[0];
+    }
+
+    /**
+     * Mean solo score of each candidate, all candidates playing the same seeds
+     */
+    double[] evaluate(ComputerPlayerParameters[] population, long firstSeed) {
+        int games = gamesPerCandidate;
+        long[] totals = new long[population.length];
+        int[] perGame = IntStream.range(0, population.length * games)
+            .parallel()
+            .map(task -> {
+                ComputerPlayerParameters candidate = population[task / games];
+                Dice dice = new PositionalDice(firstSeed + task % games);
+                return SoloGame.play(new ComputerPlayer(null, candidate), dice).getTotalScore();
+            })
+            .toArray();
+        for (int task = 0; task < perGame.length; task++) {
+            totals[task / games] += perGame[task];
+        }
+        double[] means = new double[population.length];
+        for (int c = 0; c < population.length; c++) {
+            means[c] = (double) totals[c] / games;
+        }
+        return means;
+    }
+
+    /**
+     * Run a tuning session from the command line and print the best configuration
+     * in properties format. Arguments: [generations] [population] [gamesPerCandidate] [seed]
+     */
+    public static void main(String[] args) {
+        ThresholdTuner tuner = new ThresholdTuner();
+        if (args.length > 0) tuner.setGenerations(Integer.parseInt(args[0]));
+        if (args.length > 1) tuner.setPopulationSize(Integer.parseInt(args[1]));
+        if (args.length > 2) tuner.setGamesPerCandidate(Integer.parseInt(args[2]));
+        if (args.length > 3) tuner.setBaseSeed(Long.parseLong(args[3]));
+        tuner.setListener((generation, eliteMean, best, bestScore) ->
+            System.err.printf(Locale.US, "generation %d: elite mean %.2f, best %.2f%n", generation, eliteMean, bestScore));
+        System.out.print(tuner.tune());
+    }
+}
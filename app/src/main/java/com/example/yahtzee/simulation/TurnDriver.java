@@ -0,0 +1,70 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Plays one turn of any {@link Player} headlessly, with no UI pacing.
+ * The player rolls, decides whether to roll again and which dice to hold,
+ * then picks a category. Scoring is left to the caller so that both
+ * single-player scorecards and tournaments can use the same driver.
+ */
+public final class TurnDriver {
+    private TurnDriver() {
+    }
+
+    /**
+     * Roll through the current turn of a round and return the category to score.
+     * Like GameController, a zero-scoring choice is overridden by the best
+     * non-zero category when one is available.
+     */
+    public static ScoreCategory playTurn(Player player, Round round) {
+        ScoreCard scoreCard = round.getScoreCard(player);
+        player.takeTurn(round);
+        Turn turn = round.getCurrentTurn();
+
+        turn.roll();
+        while (turn.getRollsLeft() > 0 && player.shouldRollAgain(round)) {
+            applyHolds(turn, player.determineDiceToHold());
+            turn.roll();
+        }
+
+        ScoreCategory category = player.determineNextMove(scoreCard);
+        List<ScoreCategory> available = scoreCard.getAvailableCategories();
+        if (category == null || scoreCard.isScored(category)) {
+            category = available.isEmpty() ? null : available.get(0);
+        }
+        if (category != null && scoreCard.calculateScore(category, turn.getDice()) == 0) {
+            category = bestNonZeroCategory(scoreCard, available, turn.getDice(), category);
+        }
+        return category;
+    }
+
+    private static void applyHolds(Turn turn, List<Integer> diceToHold) {
+        List<Integer> held = turn.getHeldDiceIndices();
+        for (Integer index : held) {
+            if (!diceToHold.contains(index)) {
+                turn.releaseDie(index);
+            }
+        }
+        for (Integer index : diceToHold) {
+            if (!held.contains(index)) {
+                turn.holdDie(index);
+            }
+        }
+    }
+
+    private static ScoreCategory bestNonZeroCategory(ScoreCard scoreCard, List<ScoreCategory> available,
+                                                     List<Integer> dice, ScoreCategory fallback) {
+        ScoreCategory best = fallback;
+        int bestScore = 0;
+        for (ScoreCategory category : available) {
+            int score = scoreCard.calculateScore(category, dice);
+            if (score > bestScore) {
+                bestScore = score;
+                best = category;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.yahtzee.solver;
+
+import com.example.yahtzee.ai.TurnEvaluator;
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.simulation.ComparisonResult;
+import com.example.yahtzee.simulation.StrategyComparison;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Quantized copy of a {@link StateValueFunction}, small enough to bundle
+ * with the app. Values are stored as 8 or 16 bit codes with a separate
+ * offset and step per layer (number of filled categories), since later
+ * layers have much smaller values than early ones.
+ *
+ * Which states are stored is a bitmap with one 64-bit word per filled
+ * mask, one bit per upper total, so a state's slot is the number of stored
+ * states before it: a prefix count per word plus a bit count within it.
+ * Lookups decode a single value and never unpack the table.
+ *
+ * A table can keep every state or only those optimal play can reach, plus
+ * every state one category away from those so each reachable turn can
+ * still be evaluated. A missing state is approximated by the nearest stored
+ * upper total of the same card, so play that strays from the optimal line
+ * (a forced category, say) can carry on as long as the cards it leads to
+ * have stored states.
+ */
+public final class CompactValueTable implements StateValueFunction {
+    private static final int MAGIC = 0x595a5654;
+    private static final int VERSION = 1;
+    private static final int LAYERS = OptimalSolver.CATEGORIES + 1;
+    private static final int UPPER_LIMIT = ScoreCard.UPPER_BONUS_THRESHOLD;
+
+    // Table bundled with the app, written by main()
+    private static final String DEFAULT_RESOURCE = "optimal-values.bin";
+
+    private final int bits;
+    private final long[] stored;
+    private final int[] rank;
+    private final float[] offset;
+    private final float[] step;
+    private final byte[] codes;
+
+    private CompactValueTable(int bits, long[] stored, float[] offset, float[] step, byte[] codes) {
+        this.bits = bits;
+        this.stored = stored;
+        this.offset = offset;
+        this.step = step;
+        this.codes = codes;
+        this.rank = new int[stored.length];
+        int count = 0;
+        for (int mask = 0; mask < stored.length; mask++) {
+            rank[mask] = count;
+            count += Long.bitCount(stored[mask]);
+        }
+        if ((long) count * (bits / 8) != codes.length) {
+            throw new IllegalArgumentException("Value count does not match the stored states");
+        }
+    }
+
+    /**
+     * Quantize {@code values} to 8 or 16 bits per state
+     *
+     * @param reachableOnly keep only states reachable under optimal play and their neighbours
+     */
+    public static CompactValueTable encode(StateValueFunction values, int bits, boolean reachableOnly) {
+        if (bits != 8 && bits != 16) {
+            throw new IllegalArgumentException("Bits must be 8 or 16");
+        }
+        long[] stored = reachableOnly ? reachable(values) : possible();
+
+        float[] offset = new float[LAYERS];
+        float[] step = new float[LAYERS];
+        int levels = (1 << bits) - 1;
+        for (int layer = 0; layer < LAYERS; layer++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int mask = 0; mask <= OptimalSolver.FULL_MASK; mask++) {
+                if (Integer.bitCount(mask) != layer) continue;
+                for (long word = stored[mask]; word != 0; word &= word - 1) {
+                    double value = values.expectedScore(mask, Long.numberOfTrailingZeros(word));
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            if (min > max) continue;
+            offset[layer] = (float) min;
+            step[layer] = max > min ? (float) ((max - min) / levels) : 1f;
+        }
+
+        int count = 0;
+        for (long word : stored) {
+            count += Long.bitCount(word);
+        }
+        byte[] codes = new byte[count * (bits / 8)];
+        int slot = 0;
+        for (int mask = 0; mask <= OptimalSolver.FULL_MASK; mask++) {
+            int layer = Integer.bitCount(mask);
+            for (long word = stored[mask]; word != 0; word &= word - 1) {
+                double value = values.expectedScore(mask, Long.numberOfTrailingZeros(word));
+                int code = (int) Math.round((value - offset[layer]) / step[layer]);
+                code = Math.max(0, Math.min(levels, code));
+                if (bits == 16) {
+                    codes[slot++] = (byte) (code >>> 8);
+                }
+                codes[slot++] = (byte) code;
+            }
+        }
+        return new CompactValueTable(bits, stored, offset, step, codes);
+    }
+
+    /**
+     * Load the table bundled with the app
+     */
+    public static CompactValueTable loadDefault() {
+        try (InputStream in = CompactValueTable.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled table: " + DEFAULT_RESOURCE);
+            }
+            return read(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read bundled table", e);
+        }
+    }
+
+    public static CompactValueTable read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a value table");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported value table version: " + version);
+        }
+        int bits = data.readUnsignedByte();
+        long[] stored = new long[OptimalSolver.FULL_MASK + 1];
+        for (int mask = 0; mask < stored.length; mask++) {
+            stored[mask] = data.readLong();
+        }
+        float[] offset = new float[LAYERS];
+        float[] step = new float[LAYERS];
+        for (int layer = 0; layer < LAYERS; layer++) {
+            offset[layer] = data.readFloat();
+            step[layer] = data.readFloat();
+        }
+        byte[] codes = new byte[data.readInt()];
+        data.readFully(codes);
+        try {
+            return new CompactValueTable(bits, stored, offset, step, codes);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt value table", e);
+        }
+    }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeByte(bits);
+        for (long word : stored) {
+            data.writeLong(word);
+        }
+        for (int layer = 0; layer < LAYERS; layer++) {
+            data.writeFloat(offset[layer]);
+            data.writeFloat(step[layer]);
+        }
+        data.writeInt(codes.length);
+        data.write(codes);
+        data.flush();
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public int getStateCount() {
+        return codes.length / (bits / 8);
+    }
+
+    /**
+     * Bytes taken by the bitmap, layer scales and codes
+     */
+    public int getSizeInBytes() {
+        return stored.length * Long.BYTES + LAYERS * 2 * Float.BYTES + codes.length;
+    }
+
+    @Override
+    public boolean covers(int filledMask, int upperScore) {
+        for (int category = 0; category < OptimalSolver.CATEGORIES; category++) {
+            if ((filledMask & (1 << category)) == 0 && stored[filledMask | 1 << category] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public double expectedScore(int filledMask, int upperScore) {
+        long word = stored[filledMask];
+        if (word == 0) {
+            throw new IllegalArgumentException("No stored states for filled mask " + filledMask);
+        }
+        int upper = Math.min(upperScore, UPPER_LIMIT);
+        if ((word & (1L << upper)) == 0) {
+            upper = nearest(word, upper);
+        }
+        int slot = rank[filledMask] + Long.bitCount(word & ((1L << upper) - 1));
+        int code = bits == 16
+            ? (codes[2 * slot] & 0xFF) << 8 | (codes[2 * slot + 1] & 0xFF)
+            : codes[slot] & 0xFF;
+        int layer = Integer.bitCount(filledMask);
+        return offset[layer] + code * step[layer];
+    }
+
+    /**
+     * Stored upper total closest to {@code upper}; {@code word} must not be empty
+     */
+    private static int nearest(long word, int upper) {
+        long below = word & ((1L << upper) - 1);
+        long above = word >>> upper;
+        int down = below == 0 ? Integer.MAX_VALUE : upper - (63 - Long.numberOfLeadingZeros(below));
+        int up = above == 0 ? Integer.MAX_VALUE : Long.numberOfTrailingZeros(above);
+        return down <= up ? upper - down : upper + up;
+    }
+
+    /**
+     * Every upper total each filled mask can hold
+     */
+    private static long[] possible() {
+        long[] stored = new long[OptimalSolver.FULL_MASK + 1];
+        for (int mask = 0; mask <= OptimalSolver.FULL_MASK; mask++) {
+            int max = OptimalSolver.maxUpper(mask);
+            stored[mask] = max == 63 ? -1L : (1L << (max + 1)) - 1;
+        }
+        return stored;
+    }
+
+    /**
+     * States optimal play can reach from an empty card with nonzero
+     * probability, plus every state one scored category away from those.
+     * Any final hand is treated as possible, which slightly over-approximates.
+     */
+    private static long[] reachable(StateValueFunction values) {
+        AtomicLongArray visited = new AtomicLongArray(OptimalSolver.FULL_MASK + 1);
+        AtomicLongArray neighbours = new AtomicLongArray(OptimalSolver.FULL_MASK + 1);
+        int[] hands = hands();
+        visited.set(0, 1L);
+        for (int layer = 0; layer < OptimalSolver.CATEGORIES; layer++) {
+            int filled = layer;
+            IntStream.rangeClosed(0, OptimalSolver.FULL_MASK).parallel()
+                .filter(mask -> Integer.bitCount(mask) == filled && visited.get(mask) != 0)
+                .forEach(mask -> {
+                    for (long word = visited.get(mask); word != 0; word &= word - 1) {
+                        int upper = Long.numberOfTrailingZeros(word);
+                        TurnEvaluator turn = values.evaluator(mask, upper);
+                        for (int hand : hands) {
+                            int best = turn.bestCategory(hand).ordinal();
+                            for (int category = 0; category < OptimalSolver.CATEGORIES; category++) {
+                                if ((mask & (1 << category)) != 0) continue;
+                                int next = nextUpper(upper, category, ScoreTable.score(hand, category));
+                                mark(category == best ? visited : neighbours, mask | 1 << category, next);
+                            }
+                        }
+                    }
+                });
+        }
+        long[] stored = new long[OptimalSolver.FULL_MASK + 1];
+        for (int mask = 0; mask < stored.length; mask++) {
+            stored[mask] = visited.get(mask) | neighbours.get(mask);
+        }
+        return stored;
+    }
+
+    private static void mark(AtomicLongArray states, int mask, int upper) {
+        long bit = 1L << upper;
+        long word;
+        do {
+            word = states.get(mask);
+        } while ((word & bit) == 0 && !states.compareAndSet(mask, word, word | bit));
+    }
+
+    private static int nextUpper(int upper, int category, int score) {
+        return category <= ScoreCategory.SIXES.ordinal() ? Math.min(upper + score, UPPER_LIMIT) : upper;
+    }
+
+    /**
+     * One packed hand per multiset of five dice
+     */
+    private static int[] hands() {
+        List<Integer> hands = new ArrayList<>();
+        for (int a = 1; a <= 6; a++)
+            for (int b = a; b <= 6; b++)
+                for (int c = b; c <= 6; c++)
+                    for (int d = c; d <= 6; d++)
+                        for (int e = d; e <= 6; e++)
+                            hands.add(PackedDice.pack(Arrays.asList(a, b, c, d, e)));
+        return hands.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Expected points per game lost by playing from {@code table} instead of
+     * the exact {@code values}, measured on solo games played by both on the
+     * same dice: table minus exact, so a loss is negative
+     */
+    public static ComparisonResult expectedScoreLoss(StateValueFunction values, CompactValueTable table,
+                                                     int maxGames) {
+        StrategyComparison comparison = new StrategyComparison(
+            () -> new OptimalPlayer("Exact", null, values),
+            () -> new OptimalPlayer("Table", null, table));
+        comparison.setMaxGames(maxGames);
+        comparison.setPrecision(0.05);
+        return comparison.run();
+    }
+
+    /**
+     * Solve, quantize and write a table, then report its errors.
+     * Arguments: output [bits] [reachable|all] [games]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CompactValueTable output [8|16] [reachable|all] [games]");
+            System.exit(1);
+        }
+        int bits = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        boolean reachableOnly = args.length <= 2 || args[2].equals("reachable");
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 20000;
+        OptimalSolver solver = OptimalSolver.solve();
+        CompactValueTable table = encode(solver, bits, reachableOnly);
+        try (OutputStream out = new FileOutputStream(args[0])) {
+            table.write(out);
+        }
+
+        double worst = 0;
+        for (int mask = 0; mask <= OptimalSolver.FULL_MASK; mask++) {
+            for (long word = table.stored[mask]; word != 0; word &= word - 1) {
+                int upper = Long.numberOfTrailingZeros(word);
+                worst = Math.max(worst, Math.abs(table.expectedScore(mask, upper) - solver.expectedScore(mask, upper)));
+            }
+        }
+        System.err.printf(Locale.US, "%d states, %d bytes, worst error %.4f points%n",
+            table.getStateCount(), table.getSizeInBytes(), worst);
+        System.err.println("Expected score, table against exact: " + expectedScoreLoss(solver, table, games));
+    }
+}
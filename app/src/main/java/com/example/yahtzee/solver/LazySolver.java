@@ -0,0 +1,294 @@
+package com.example.yahtzee.solver;
+
+import com.example.yahtzee.ai.TurnEvaluator;
+import com.example.yahtzee.model.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Optimal single-card state values computed only when asked for. A lookup
+ * that misses the cache solves just the states reachable from the asked
+ * state: a forward pass collects them layer by layer (stopping at states
+ * already cached), then a backward pass evaluates them deepest layer first,
+ * as {@link OptimalSolver} does for the whole space. Only two layers are
+ * held outside the cache at a time, and results are memoized in a
+ * size-bounded cache, so memory stays small whatever is asked. When full,
+ * the cache evicts the least recently used state of the deepest layer it
+ * holds: deep states have few states below them and are cheap to solve
+ * again, while one evicted early state can cost seconds.
+ *
+ * Late in a game the reachable states are few and a cold lookup is quick;
+ * early on they are most of the state space, and a cold lookup from an empty
+ * card takes seconds. The cache can therefore be saved and loaded again on
+ * the next run: states with the fewest filled categories are kept first,
+ * since every game passes through them and they are the most expensive to
+ * recompute.
+ *
+ * {@link #prewarm()} does that one expensive solve up front; afterwards the
+ * cache holds the early layers and a lookup only solves what lies below a
+ * later card, which takes milliseconds. The app does so in the background
+ * and keeps the cache between launches, to give hints that look ahead to
+ * the end of the game on the player's own card in separate-card games. Such
+ * cards stray from the optimal line the bundled {@link CompactValueTable}
+ * is trimmed to, while the solver answers any state exactly.
+ */
+public final class LazySolver implements StateValueFunction {
+    public static final int DEFAULT_CACHE_SIZE = 50_000;
+
+    private static final int MAGIC = 0x595a4c53;
+    private static final int VERSION = 1;
+    private static final int UPPER_LIMIT = OptimalSolver.UPPER_STATES - 1;
+
+    private final int cacheSize;
+    // One LRU map per layer, keyed by filledMask * UPPER_STATES + upper; all state is guarded by this
+    private final List<LinkedHashMap<Integer, Float>> cache = new ArrayList<>();
+    private int cached;
+    // Values of the layer below the one being evaluated, during a solve
+    private Map<Integer, Float> below = Collections.emptyMap();
+    private long computed;
+
+    public LazySolver() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public LazySolver(int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.cacheSize = cacheSize;
+        for (int layer = 0; layer < OptimalSolver.CATEGORIES; layer++) {
+            cache.add(new LinkedHashMap<>(16, 0.75f, true));
+        }
+    }
+
+    @Override
+    public synchronized double expectedScore(int filledMask, int upperScore) {
+        if (filledMask == OptimalSolver.FULL_MASK) {
+            return 0;
+        }
+        int key = key(filledMask, Math.min(upperScore, UPPER_LIMIT));
+        Float value = below.get(key);
+        if (value == null) {
+            value = cacheGet(key);
+        }
+        if (value == null) {
+            value = solve(filledMask, Math.min(upperScore, UPPER_LIMIT)).get(key);
+        }
+        return value;
+    }
+
+    /**
+     * Solves the state first, so the states its categories lead to are
+     * evaluated in one pass and at hand while the evaluator is built
+     */
+    @Override
+    public synchronized TurnEvaluator evaluator(int filledMask, int upperScore) {
+        Map<Integer, Float> outer = below;
+        below = solve(filledMask, Math.min(upperScore, UPPER_LIMIT));
+        try {
+            return StateValueFunction.super.evaluator(filledMask, upperScore);
+        } finally {
+            below = outer;
+        }
+    }
+
+    /**
+     * Solve from the empty card unless it is cached, leaving the cache with
+     * the earliest states it has room for
+     *
+     * @return the number of states evaluated
+     */
+    public synchronized long prewarm() {
+        long before = computed;
+        expectedScore(0, 0);
+        return computed - before;
+    }
+
+    /**
+     * Evaluate every uncached state reachable from a root
+     *
+     * @return the values of the root and of the states one category away from it
+     */
+    private Map<Integer, Float> solve(int rootMask, int rootUpper) {
+        // Forward: states reachable from the root, as filled mask -> bitmap of upper totals, per layer
+        List<Map<Integer, Long>> layers = new ArrayList<>();
+        // Values of cached states met on the way, copied so later evictions cannot lose them
+        Map<Integer, Float> known = new HashMap<>();
+        Map<Integer, Long> layer = new HashMap<>();
+        layer.put(rootMask, 1L << rootUpper);
+        while (!layer.isEmpty()) {
+            layers.add(layer);
+            Map<Integer, Long> next = new HashMap<>();
+            for (Map.Entry<Integer, Long> entry : layer.entrySet()) {
+                int mask = entry.getKey();
+                for (long word = entry.getValue(); word != 0; word &= word - 1) {
+                    int upper = Long.numberOfTrailingZeros(word);
+                    Float value = cacheGet(key(mask, upper));
+                    if (value != null) {
+                        known.put(key(mask, upper), value);
+                        // The root's successors are always wanted, cached or not
+                        if (layers.size() > 1) continue;
+                    }
+                    addSuccessors(mask, upper, next);
+                }
+            }
+            layer = next;
+        }
+
+        // Backward: evaluate each layer from the values of the one below it
+        Map<Integer, Float> outer = below;
+        Map<Integer, Float> values = Collections.emptyMap();
+        Map<Integer, Float> successors = values;
+        try {
+            for (int depth = layers.size() - 1; depth >= 0; depth--) {
+                successors = values;
+                below = values;
+                values = new HashMap<>();
+                for (Map.Entry<Integer, Long> entry : layers.get(depth).entrySet()) {
+                    int mask = entry.getKey();
+                    for (long word = entry.getValue(); word != 0; word &= word - 1) {
+                        int upper = Long.numberOfTrailingZeros(word);
+                        int key = key(mask, upper);
+                        Float value = known.get(key);
+                        if (value == null) {
+                            value = (float) turnValue(mask, upper);
+                            cachePut(key, value);
+                            computed++;
+                        }
+                        values.put(key, value);
+                    }
+                }
+            }
+        } finally {
+            below = outer;
+        }
+        Map<Integer, Float> result = new HashMap<>(successors);
+        result.putAll(values);
+        return result;
+    }
+
+    /**
+     * Mark every state one scored category away from a state
+     */
+    private static void addSuccessors(int mask, int upper, Map<Integer, Long> next) {
+        for (int category = 0; category < OptimalSolver.CATEGORIES; category++) {
+            if ((mask & (1 << category)) != 0) continue;
+            int successor = mask | 1 << category;
+            if (successor == OptimalSolver.FULL_MASK) continue;
+            long bits = 1L << upper;
+            if (category <= ScoreCategory.SIXES.ordinal()) {
+                // The category's score is 0 to 5 dice of its face
+                int face = category + 1;
+                for (int dice = 1; dice <= PackedDice.NUM_DICE; dice++) {
+                    bits |= 1L << Math.min(upper + dice * face, UPPER_LIMIT);
+                }
+            }
+            next.merge(successor, bits, (a, b) -> a | b);
+        }
+    }
+
+    private Float cacheGet(int key) {
+        return cache.get(layerOf(key)).get(key);
+    }
+
+    private void cachePut(int key, float value) {
+        if (cache.get(layerOf(key)).put(key, value) == null) {
+            cached++;
+        }
+        for (int layer = cache.size() - 1; cached > cacheSize; layer--) {
+            Iterator<Integer> eldest = cache.get(layer).keySet().iterator();
+            while (eldest.hasNext() && cached > cacheSize) {
+                eldest.next();
+                eldest.remove();
+                cached--;
+            }
+        }
+    }
+
+    private static int layerOf(int key) {
+        return Integer.bitCount(key / OptimalSolver.UPPER_STATES);
+    }
+
+    private static int key(int filledMask, int upper) {
+        return filledMask * OptimalSolver.UPPER_STATES + upper;
+    }
+
+    public synchronized int getCachedStateCount() {
+        return cached;
+    }
+
+    /**
+     * Number of states evaluated so far, including ones evaluated again after eviction
+     */
+    public synchronized long getComputedStateCount() {
+        return computed;
+    }
+
+    /**
+     * Load cached states saved by {@link #save(File)}; a missing file is not an error
+     *
+     * @return the number of states loaded
+     */
+    public synchronized int load(File file) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a solver cache: " + file);
+            }
+            int count = in.readInt();
+            // Saved warmest first, so insert in reverse to leave them most recently used
+            int[] keys = new int[count];
+            float[] values = new float[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = in.readInt();
+                values[i] = in.readFloat();
+                if (keys[i] < 0 || keys[i] >= (OptimalSolver.FULL_MASK + 1) * OptimalSolver.UPPER_STATES
+                        || layerOf(keys[i]) >= cache.size()) {
+                    throw new IOException("Corrupt solver cache: " + file);
+                }
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                cachePut(keys[i], values[i]);
+            }
+            return Math.min(count, cacheSize);
+        }
+    }
+
+    /**
+     * Write up to {@code limit} cached states, fewest filled categories first.
+     * The file is replaced by a rename, so an interrupted save keeps the old one.
+     */
+    public synchronized void save(File file, int limit) throws IOException {
+        Map<Integer, Float> values = new HashMap<>();
+        for (Map<Integer, Float> layer : cache) {
+            values.putAll(layer);
+        }
+        List<Integer> keys = new ArrayList<>(values.keySet());
+        keys.sort(Comparator.comparingInt((Integer key) -> Integer.bitCount(key / OptimalSolver.UPPER_STATES))
+            .thenComparingInt(key -> key));
+        int count = Math.min(limit, keys.size());
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                int key = keys.get(i);
+                out.writeInt(key);
+                out.writeFloat(values.get(key));
+            }
+            out.flush();
+            stream.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Failed to replace " + file);
+        }
+    }
+
+    public void save(File file) throws IOException {
+        save(file, cacheSize);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.yahtzee.solver;
+
+import com.example.yahtzee.ai.TurnEvaluator;
+import com.example.yahtzee.callbacks.GameStateCallback;
+import com.example.yahtzee.model.*;
+import java.util.*;
+
+/**
+ * Computer player that maximizes its expected final score using solved
+ * state values, such as the {@link CompactValueTable} bundled with the app.
+ * Each turn is played exactly with the {@link TurnEvaluator} of the
+ * player's card. The values assume a card filled by one player, so on a
+ * card shared with others, or in a state the values do not cover, the
+ * rule-based heuristics decide instead. The values are not saved with the
+ * game, so a restored player also falls back to the heuristics.
+ */
+public class OptimalPlayer extends ComputerPlayer {
+    private static final long serialVersionUID = 1L;
+
+    private transient StateValueFunction values;
+
+    // Evaluator of the current turn, rebuilt when the card changes
+    private transient TurnEvaluator evaluator;
+    private transient int evaluatorMask = -1;
+    private transient int evaluatorUpper;
+
+    public OptimalPlayer(String name, GameStateCallback callback, StateValueFunction values) {
+        super(name, callback, ComputerPlayerParameters.defaults());
+        if (values == null) {
+            throw new IllegalArgumentException("State values cannot be null");
+        }
+        this.values = values;
+    }
+
+    @Override
+    protected ComputerPlayer newInstance() {
+        // A restored player has lost its values and plays the heuristics anyway
+        return values != null ? new OptimalPlayer(getName(), null, values) : super.newInstance();
+    }
+
+    @Override
+    public boolean shouldRollAgain(Round round) {
+        Turn turn = round.getCurrentTurn();
+        TurnEvaluator turnEvaluator = evaluatorFor(round);
+        if (turnEvaluator == null || turn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.shouldRollAgain(round);
+        }
+        return turnEvaluator.bestHold(PackedDice.pack(turn.getDice()), turn.getRollsLeft()) >= 0;
+    }
+
+    @Override
+    public List<Integer> determineDiceToHold() {
+        Round round = getCurrentRound();
+        TurnEvaluator turnEvaluator = round == null ? null : evaluatorFor(round);
+        if (turnEvaluator == null || currentTurn == null || currentTurn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.determineDiceToHold();
+        }
+        int hold = turnEvaluator.bestHold(PackedDice.pack(currentTurn.getDice()), currentTurn.getRollsLeft());
+        return hold < 0 ? Collections.emptyList() : PackedDice.heldIndices(hold);
+    }
+
+    @Override
+    public ScoreCategory determineNextMove(ScoreCard scoreCard) {
+        Round round = getCurrentRound();
+        TurnEvaluator turnEvaluator = round == null ? null : evaluatorFor(round);
+        if (turnEvaluator == null || currentTurn == null || currentTurn.getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.determineNextMove(scoreCard);
+        }
+        return bestCategory(turnEvaluator, currentTurn);
+    }
+
+    @Override
+    public ScoreCategory chooseCategory(Round round, List<ScoreCategory> availableCategories) {
+        TurnEvaluator turnEvaluator = evaluatorFor(round);
+        if (turnEvaluator == null || round.getCurrentTurn().getRollsLeft() == GameState.MAX_ROLLS) {
+            return super.chooseCategory(round, availableCategories);
+        }
+        return bestCategory(turnEvaluator, round.getCurrentTurn());
+    }
+
+    private ScoreCategory bestCategory(TurnEvaluator turnEvaluator, Turn turn) {
+        int dice = PackedDice.pack(turn.getDice());
+        ScoreCategory category = turnEvaluator.bestCategory(dice);
+        setLastDecisionExplanation(String.format(Locale.US, "%s leaves an expected %.1f points to come",
+            category.getDisplayName(), turnEvaluator.stopValue(dice)));
+        return category;
+    }
+
+    /**
+     * Evaluator for the player's own card, or null if the values do not apply
+     */
+    private TurnEvaluator evaluatorFor(Round round) {
+        if (values == null || round.hasSharedScoreCard() && round.getPlayers().size() > 1) {
+            return null;
+        }
+        ScoreCard card = round.getScoreCard(this);
+        int mask = card.getFilledMask();
+        int upper = Math.min(card.getUpperSectionScore(), ScoreCard.UPPER_BONUS_THRESHOLD);
+        if (mask == OptimalSolver.FULL_MASK || !values.covers(mask, upper)) {
+            return null;
+        }
+        if (evaluator == null || mask != evaluatorMask || upper != evaluatorUpper) {
+            evaluator = values.evaluator(mask, upper);
+            evaluatorMask = mask;
+            evaluatorUpper = upper;
+        }
+        return evaluator;
+    }
+}
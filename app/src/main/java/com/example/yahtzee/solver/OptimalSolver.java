@@ -0,0 +1,68 @@
+package com.example.yahtzee.solver;
+
+import com.example.yahtzee.ai.TurnEvaluator;
+import com.example.yahtzee.model.*;
+import java.util.stream.IntStream;
+
+/**
+ * Expected-value-optimal play of a single scorecard. A state between turns
+ * is the set of filled categories and the upper section total (capped at the
+ * bonus threshold, since only reaching it matters), 4096 x 64 states in all.
+ * States are solved layer by layer from the full card backwards, each one a
+ * {@link TurnEvaluator} whose categories are worth their points plus the
+ * solved value of the state they lead to. All states of a layer are solved
+ * in parallel.
+ */
+public final class OptimalSolver implements StateValueFunction {
+    public static final int CATEGORIES = ScoreTable.CATEGORIES;
+    public static final int UPPER_STATES = ScoreCard.UPPER_BONUS_THRESHOLD + 1;
+    public static final int FULL_MASK = (1 << CATEGORIES) - 1;
+
+    // expected[filledMask * UPPER_STATES + upper]: expected points still to come
+    private final float[] expected;
+
+    OptimalSolver(float[] expected) {
+        this.expected = expected;
+    }
+
+    /**
+     * Solve every state; takes a few seconds per core
+     */
+    public static OptimalSolver solve() {
+        float[] expected = new float[(FULL_MASK + 1) * UPPER_STATES];
+        OptimalSolver solver = new OptimalSolver(expected);
+        for (int filled = CATEGORIES - 1; filled >= 0; filled--) {
+            int layer = filled;
+            IntStream.rangeClosed(0, FULL_MASK).parallel()
+                .filter(mask -> Integer.bitCount(mask) == layer)
+                .forEach(mask -> {
+                    for (int upper = 0; upper <= maxUpper(mask); upper++) {
+                        expected[index(mask, upper)] = (float) solver.turnValue(mask, upper);
+                    }
+                });
+        }
+        return solver;
+    }
+
+    @Override
+    public double expectedScore(int filledMask, int upperScore) {
+        return expected[index(filledMask, Math.min(upperScore, ScoreCard.UPPER_BONUS_THRESHOLD))];
+    }
+
+    private static int index(int filledMask, int upper) {
+        return filledMask * UPPER_STATES + upper;
+    }
+
+    /**
+     * Highest upper total the filled upper categories can hold, capped at the threshold
+     */
+    static int maxUpper(int filledMask) {
+        int max = 0;
+        for (ScoreCategory category : ScoreCategory.values()) {
+            if (category.isUpperSection() && (filledMask & (1 << category.ordinal())) != 0) {
+                max += PackedDice.NUM_DICE * (category.ordinal() + 1);
+            }
+        }
+        return Math.min(max, ScoreCard.UPPER_BONUS_THRESHOLD);
+    }
+}
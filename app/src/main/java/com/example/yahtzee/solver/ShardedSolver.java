@@ -0,0 +1,569 @@
+package com.example.yahtzee.solver;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs the {@link OptimalSolver} backward induction with each layer split
+ * into shards that separate worker processes compute. States of one layer
+ * only depend on the layer below, so a coordinator runs the layers from the
+ * full card backwards: it launches one worker per shard, waits for all of
+ * their shard files, merges them into a layer file, and moves up a layer.
+ *
+ * All files live in one directory. The default launcher starts local JVMs
+ * with this class's {@link #main(String[])}; a cluster can plug in its own
+ * {@link WorkerLauncher} as long as the workers see the same directory.
+ *
+ * Every file is written to a temporary name and renamed into place, so a
+ * file that exists is complete. A run restarted with the same directory
+ * therefore keeps the layers (and the shards of an unfinished layer) that
+ * were done before it stopped.
+ *
+ * Progress is reported to a {@link ProgressListener} after every layer and
+ * on a timer while a layer runs. Workers count their states into a small
+ * progress file next to their shard file, together with their heap in use,
+ * and the timer adds these up, so the rate, memory and ETA come from the
+ * workers themselves and not from the idle coordinator.
+ */
+public class ShardedSolver {
+    private static final int MAGIC = 0x595a5348;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+    private static final int ROW_BYTES = Integer.BYTES + OptimalSolver.UPPER_STATES * Float.BYTES;
+    // Least time between two progress files of a worker
+    private static final long WORKER_REPORT_NANOS = 1_000_000_000L;
+
+    /**
+     * Starts the workers for one layer and returns once all of them finished
+     */
+    public interface WorkerLauncher {
+        void runLayer(File directory, int layer, int shards) throws IOException, InterruptedException;
+    }
+
+    private final File directory;
+    private final int shards;
+    private WorkerLauncher launcher = new ProcessLauncher();
+    private ProgressListener listener;
+    private long reportIntervalMillis = 10_000;
+
+    /**
+     * Told about every layer as it is finished or found already solved, and
+     * periodically in between; calls come from the solving thread and from
+     * the reporting timer, never at the same time
+     */
+    public interface ProgressListener {
+        void onProgress(Progress progress);
+    }
+
+    public ShardedSolver(File directory, int shards) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Shards must be positive");
+        }
+        this.directory = directory;
+        this.shards = shards;
+    }
+
+    public void setLauncher(WorkerLauncher launcher) {
+        if (launcher == null) {
+            throw new IllegalArgumentException("Launcher cannot be null");
+        }
+        this.launcher = launcher;
+    }
+
+    public void setListener(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Time between reports while a layer runs; 0 to report finished layers only
+     */
+    public void setReportIntervalMillis(long reportIntervalMillis) {
+        if (reportIntervalMillis < 0) {
+            throw new IllegalArgumentException("Report interval cannot be negative");
+        }
+        this.reportIntervalMillis = reportIntervalMillis;
+    }
+
+    /**
+     * Solve every layer not already in the directory, leaving one merged
+     * file per layer
+     */
+    public OptimalSolver solve() throws IOException, InterruptedException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        long totalStates = 0;
+        for (int layer = 0; layer < OptimalSolver.CATEGORIES; layer++) {
+            totalStates += layerStates(layer);
+        }
+        Tracker tracker = new Tracker(totalStates);
+        ScheduledExecutorService reporter = null;
+        if (listener != null && reportIntervalMillis > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "solver-progress");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(() -> tracker.report(true), reportIntervalMillis, reportIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        }
+        try {
+            for (int layer = OptimalSolver.CATEGORIES - 1; layer >= 0; layer--) {
+                boolean solved = isComplete(layerFile(directory, layer), layer, layerMasks(layer).length);
+                tracker.startLayer(layer, solved);
+                if (!solved) {
+                    launcher.runLayer(directory, layer, shards);
+                    merge(layer);
+                }
+                tracker.finishLayer();
+            }
+        } finally {
+            if (reporter != null) {
+                reporter.shutdownNow();
+            }
+        }
+        float[] expected = new float[(OptimalSolver.FULL_MASK + 1) * OptimalSolver.UPPER_STATES];
+        for (int layer = 0; layer < OptimalSolver.CATEGORIES; layer++) {
+            readLayer(directory, layer, expected);
+        }
+        return new OptimalSolver(expected);
+    }
+
+    /**
+     * Builds the reports of one run; the layer fields change only on the solving thread
+     */
+    private final class Tracker {
+        private final long totalStates;
+        private final long start = System.nanoTime();
+        private volatile int layer = OptimalSolver.CATEGORIES;
+        private volatile boolean layerRunning;
+        // States of the layers finished so far, and of those found solved
+        private volatile long done;
+        private volatile long resumed;
+
+        Tracker(long totalStates) {
+            this.totalStates = totalStates;
+        }
+
+        void startLayer(int layer, boolean solved) {
+            this.layer = layer;
+            layerRunning = !solved;
+            if (solved) {
+                resumed += layerStates(layer);
+            }
+        }
+
+        void finishLayer() {
+            layerRunning = false;
+            done += layerStates(layer);
+            report(false);
+        }
+
+        /**
+         * Tell the listener where the run is; {@code polled} adds the
+         * running layer's worker counts
+         */
+        synchronized void report(boolean polled) {
+            if (listener == null) return;
+            long states = done;
+            long workerMemory = 0;
+            int workers = 0;
+            if (polled) {
+                if (!layerRunning) return;
+                for (int shard = 0; shard < shards; shard++) {
+                    if (shardFile(directory, layer, shard, shards).isFile()) {
+                        states += shardStates(layer, shard, shards);
+                        continue;
+                    }
+                    long[] counts = readProgress(progressFile(directory, layer, shard, shards));
+                    if (counts != null) {
+                        states += counts[0];
+                        workerMemory += counts[1];
+                        workers++;
+                    }
+                }
+            }
+            listener.onProgress(new Progress(layer, states, resumed, totalStates, System.nanoTime() - start,
+                workers, workerMemory));
+        }
+    }
+
+    /**
+     * Compute one shard of a layer from the merged file of the layer below
+     * and write it as a shard file; this is the work of one worker. While it
+     * runs, the states done so far and the heap in use are kept in the
+     * shard's progress file.
+     */
+    public static void solveShard(File directory, int layer, int shard, int shards) throws IOException {
+        if (layer < 0 || layer >= OptimalSolver.CATEGORIES || shard < 0 || shard >= shards) {
+            throw new IllegalArgumentException("Invalid shard " + shard + "/" + shards + " of layer " + layer);
+        }
+        float[] expected = new float[(OptimalSolver.FULL_MASK + 1) * OptimalSolver.UPPER_STATES];
+        if (layer + 1 < OptimalSolver.CATEGORIES) {
+            readLayer(directory, layer + 1, expected);
+        }
+        OptimalSolver below = new OptimalSolver(expected);
+
+        int[] masks = shardMasks(layer, shard, shards);
+        float[][] rows = new float[masks.length][OptimalSolver.UPPER_STATES];
+        File progress = progressFile(directory, layer, shard, shards);
+        long states = 0;
+        long lastReport = System.nanoTime();
+        for (int i = 0; i < masks.length; i++) {
+            for (int upper = 0; upper <= OptimalSolver.maxUpper(masks[i]); upper++) {
+                rows[i][upper] = (float) below.turnValue(masks[i], upper);
+            }
+            states += OptimalSolver.maxUpper(masks[i]) + 1;
+            // Report at once, so a running worker is seen from the start, then now and then
+            if (i == 0 || System.nanoTime() - lastReport >= WORKER_REPORT_NANOS) {
+                writeProgress(progress, states);
+                lastReport = System.nanoTime();
+            }
+        }
+        writeRows(shardFile(directory, layer, shard, shards), layer, masks, rows);
+        progress.delete();
+    }
+
+    /**
+     * Replace a worker's progress file with its state count and heap in use
+     */
+    private static void writeProgress(File file, long states) throws IOException {
+        Runtime runtime = Runtime.getRuntime();
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+            out.writeLong(states);
+            out.writeLong(runtime.totalMemory() - runtime.freeMemory());
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A worker's state count and heap in use, or null if it has not reported or has finished
+     */
+    private static long[] readProgress(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return new long[] {in.readLong(), in.readLong()};
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Combine the shard files of a layer into its layer file, checking every
+     * mask of the layer is present exactly once
+     */
+    void merge(int layer) throws IOException {
+        Map<Integer, float[]> values = new TreeMap<>();
+        for (int shard = 0; shard < shards; shard++) {
+            File file = shardFile(directory, layer, shard, shards);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                int count = readHeader(in, layer, file);
+                for (int i = 0; i < count; i++) {
+                    int mask = in.readInt();
+                    float[] row = new float[OptimalSolver.UPPER_STATES];
+                    for (int upper = 0; upper < row.length; upper++) {
+                        row[upper] = in.readFloat();
+                    }
+                    if (Integer.bitCount(mask) != layer || values.put(mask, row) != null) {
+                        throw new IOException("Unexpected mask " + mask + " in " + file);
+                    }
+                }
+            }
+        }
+        if (values.size() != layerMasks(layer).length) {
+            throw new IOException("Layer " + layer + " is missing masks: " + values.size() + " of "
+                + layerMasks(layer).length);
+        }
+        int[] masks = new int[values.size()];
+        float[][] rows = new float[values.size()][];
+        int i = 0;
+        for (Map.Entry<Integer, float[]> entry : values.entrySet()) {
+            masks[i] = entry.getKey();
+            rows[i++] = entry.getValue();
+        }
+        writeRows(layerFile(directory, layer), layer, masks, rows);
+        for (int shard = 0; shard < shards; shard++) {
+            shardFile(directory, layer, shard, shards).delete();
+            // Left behind by a worker stopped before it finished
+            progressFile(directory, layer, shard, shards).delete();
+        }
+    }
+
+    /**
+     * Write a layer or shard file through a synced temporary file, so the
+     * file either does not exist or is complete
+     */
+    private static void writeRows(File file, int layer, int[] masks, float[][] rows) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            writeHeader(out, layer, masks.length);
+            for (int i = 0; i < masks.length; i++) {
+                out.writeInt(masks[i]);
+                for (float value : rows[i]) {
+                    out.writeFloat(value);
+                }
+            }
+            out.flush();
+            stream.getFD().sync();
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Whether a shard's file is complete, so a launcher resuming a run can skip it
+     */
+    public static boolean isShardDone(File directory, int layer, int shard, int shards) throws IOException {
+        return isComplete(shardFile(directory, layer, shard, shards), layer, shardMasks(layer, shard, shards).length);
+    }
+
+    /**
+     * Whether a file holds a whole layer or shard of {@code count} masks
+     */
+    static boolean isComplete(File file, int layer, int count) throws IOException {
+        if (!file.isFile() || file.length() != HEADER_BYTES + (long) count * ROW_BYTES) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return in.readInt() == MAGIC && in.readInt() == VERSION && in.readInt() == layer && in.readInt() == count;
+        }
+    }
+
+    private static void readLayer(File directory, int layer, float[] expected) throws IOException {
+        File file = layerFile(directory, layer);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int count = readHeader(in, layer, file);
+            for (int i = 0; i < count; i++) {
+                int mask = in.readInt();
+                for (int upper = 0; upper < OptimalSolver.UPPER_STATES; upper++) {
+                    expected[mask * OptimalSolver.UPPER_STATES + upper] = in.readFloat();
+                }
+            }
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, int layer, int count) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(layer);
+        out.writeInt(count);
+    }
+
+    private static int readHeader(DataInputStream in, int layer, File file) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != layer) {
+            throw new IOException("Not a layer " + layer + " file: " + file);
+        }
+        return in.readInt();
+    }
+
+    /**
+     * Masks of a layer dealt round-robin, so every shard gets a similar mix of work
+     */
+    static int[] shardMasks(int layer, int shard, int shards) {
+        int[] masks = layerMasks(layer);
+        int[] result = new int[(masks.length - shard + shards - 1) / shards];
+        for (int i = shard, j = 0; i < masks.length; i += shards, j++) {
+            result[j] = masks[i];
+        }
+        return result;
+    }
+
+    private static long shardStates(int layer, int shard, int shards) {
+        long states = 0;
+        for (int mask : shardMasks(layer, shard, shards)) {
+            states += OptimalSolver.maxUpper(mask) + 1;
+        }
+        return states;
+    }
+
+    private static int[] layerMasks(int layer) {
+        int[] masks = new int[binomial(OptimalSolver.CATEGORIES, layer)];
+        int count = 0;
+        for (int mask = 0; mask <= OptimalSolver.FULL_MASK; mask++) {
+            if (Integer.bitCount(mask) == layer) {
+                masks[count++] = mask;
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * Number of reachable (mask, upper) states in a layer, the unit of solver work
+     */
+    static long layerStates(int layer) {
+        long states = 0;
+        for (int mask : layerMasks(layer)) {
+            states += OptimalSolver.maxUpper(mask) + 1;
+        }
+        return states;
+    }
+
+    private static int binomial(int n, int k) {
+        int result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    static File layerFile(File directory, int layer) {
+        return new File(directory, "layer-" + layer + ".bin");
+    }
+
+    static File shardFile(File directory, int layer, int shard, int shards) {
+        return new File(directory, "layer-" + layer + "-shard-" + shard + "-of-" + shards + ".bin");
+    }
+
+    static File progressFile(File directory, int layer, int shard, int shards) {
+        return new File(directory, "layer-" + layer + "-shard-" + shard + "-of-" + shards + ".progress");
+    }
+
+    /**
+     * Progress of a run, after a layer or part-way through one; states found
+     * already solved count as done but not toward the rate
+     */
+    public static final class Progress {
+        private final int layer;
+        private final long statesDone;
+        private final long statesResumed;
+        private final long totalStates;
+        private final long elapsedNanos;
+        private final long usedMemory;
+        private final int workers;
+        private final long workerMemory;
+
+        Progress(int layer, long statesDone, long statesResumed, long totalStates, long elapsedNanos,
+                 int workers, long workerMemory) {
+            this.layer = layer;
+            this.statesDone = statesDone;
+            this.statesResumed = statesResumed;
+            this.totalStates = totalStates;
+            this.elapsedNanos = elapsedNanos;
+            Runtime runtime = Runtime.getRuntime();
+            this.usedMemory = runtime.totalMemory() - runtime.freeMemory();
+            this.workers = workers;
+            this.workerMemory = workerMemory;
+        }
+
+        public int getLayer() {
+            return layer;
+        }
+
+        public long getStatesDone() {
+            return statesDone;
+        }
+
+        public long getTotalStates() {
+            return totalStates;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        /**
+         * Heap in use by the coordinating JVM
+         */
+        public long getUsedMemory() {
+            return usedMemory;
+        }
+
+        /**
+         * Workers that reported from the running layer; 0 in reports after a layer
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * Heap in use summed over the reporting workers, as of their last report
+         */
+        public long getWorkerMemory() {
+            return workerMemory;
+        }
+
+        public double getStatesPerSecond() {
+            return elapsedNanos == 0 ? 0 : (statesDone - statesResumed) * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Estimated time left at the rate so far; -1 when nothing has been solved yet
+         */
+        public long getEtaMillis() {
+            double rate = getStatesPerSecond();
+            if (statesDone == totalStates) return 0;
+            return rate == 0 ? -1 : (long) ((totalStates - statesDone) * 1000 / rate);
+        }
+
+        @Override
+        public String toString() {
+            long eta = getEtaMillis();
+            String memory = workers == 0 ? (usedMemory >> 20) + " MB used"
+                : String.format(Locale.US, "%d MB used by %d worker%s", workerMemory >> 20, workers,
+                    workers == 1 ? "" : "s");
+            return String.format(Locale.US, "layer %d: %d/%d states (%.1f%%), %.0f states/s, %s, ETA %s",
+                layer, statesDone, totalStates, 100.0 * statesDone / totalStates, getStatesPerSecond(),
+                memory, eta < 0 ? "unknown" : eta / 1000 + "s");
+        }
+    }
+
+    /**
+     * Runs every shard of a layer as a JVM on this machine, all at once,
+     * except shards a previous run already finished
+     */
+    public static class ProcessLauncher implements WorkerLauncher {
+        @Override
+        public void runLayer(File directory, int layer, int shards) throws IOException, InterruptedException {
+            String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+            Map<Integer, Process> processes = new TreeMap<>();
+            try {
+                for (int shard = 0; shard < shards; shard++) {
+                    if (isShardDone(directory, layer, shard, shards)) {
+                        continue;
+                    }
+                    processes.put(shard, new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        ShardedSolver.class.getName(), "worker", directory.getPath(),
+                        String.valueOf(layer), String.valueOf(shard), String.valueOf(shards))
+                        .inheritIO()
+                        .start());
+                }
+                for (Map.Entry<Integer, Process> entry : processes.entrySet()) {
+                    int exit = entry.getValue().waitFor();
+                    if (exit != 0) {
+                        throw new IOException("Worker for layer " + layer + " shard " + entry.getKey()
+                            + " exited with " + exit);
+                    }
+                }
+            } finally {
+                for (Process process : processes.values()) {
+                    process.destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Command line: {@code solve <directory> <shards>} to coordinate, or
+     * {@code worker <directory> <layer> <shard> <shards>} to compute one shard
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 3 && args[0].equals("solve")) {
+            ShardedSolver sharded = new ShardedSolver(new File(args[1]), Integer.parseInt(args[2]));
+            sharded.setListener(System.err::println);
+            OptimalSolver solver = sharded.solve();
+            System.out.println("Expected score: " + solver.expectedScore(0, 0));
+        } else if (args.length == 5 && args[0].equals("worker")) {
+            solveShard(new File(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                Integer.parseInt(args[4]));
+        } else {
+            System.err.println("Usage: ShardedSolver solve <directory> <shards>");
+            System.err.println("       ShardedSolver worker <directory> <layer> <shard> <shards>");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.yahtzee.solver;
+
+import java.util.*;
+
+/**
+ * Times the single-card solver and the memory traffic of its value table.
+ * The table is one float per (filled mask, upper total) with the 64 upper
+ * totals of a mask side by side, so a turn evaluation reads the rows of the
+ * states after it as short contiguous runs. The benchmark reports the solve
+ * rate and the read bandwidth of sweeping the table in that order against
+ * sweeping it with the mask innermost, which jumps a row on every read.
+ *
+ * Arguments: [repetitions]
+ */
+public final class SolverBenchmark {
+    private SolverBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        long states = 0;
+        for (int layer = 0; layer < OptimalSolver.CATEGORIES; layer++) {
+            states += ShardedSolver.layerStates(layer);
+        }
+        for (int i = 0; i < repetitions; i++) {
+            long start = System.nanoTime();
+            OptimalSolver solver = OptimalSolver.solve();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf(Locale.US, "solve: %.2f s, %.0f states/s, expected score %.2f%n",
+                seconds, states / seconds, solver.expectedScore(0, 0));
+        }
+
+        int masks = OptimalSolver.FULL_MASK + 1;
+        int uppers = OptimalSolver.UPPER_STATES;
+        float[] values = new float[masks * uppers];
+        Random random = new Random(1);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextFloat();
+        }
+        int sweeps = 50;
+        for (int i = 0; i < repetitions; i++) {
+            double sum = 0;
+            long start = System.nanoTime();
+            for (int sweep = 0; sweep < sweeps; sweep++) {
+                for (int index = 0; index < values.length; index++) {
+                    sum += values[index];
+                }
+            }
+            long sequential = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int sweep = 0; sweep < sweeps; sweep++) {
+                for (int upper = 0; upper < uppers; upper++) {
+                    for (int mask = 0; mask < masks; mask++) {
+                        sum += values[mask * uppers + upper];
+                    }
+                }
+            }
+            long strided = System.nanoTime() - start;
+            double bytes = (double) sweeps * values.length * Float.BYTES;
+            System.out.printf(Locale.US, "table sweep: upper innermost %.0f MB/s, mask innermost %.0f MB/s (%.0f)%n",
+                bytes / sequential * 1e3, bytes / strided * 1e3, sum);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.yahtzee.solver;
+
+import com.example.yahtzee.ai.TurnEvaluator;
+import com.example.yahtzee.model.*;
+
+/**
+ * Expected points still to come from a single-scorecard state between
+ * turns: the set of filled categories and the upper section total (only
+ * whether it reaches the bonus threshold matters, so it is capped there).
+ * Implementations differ in how the values are stored; decisions are made
+ * the same way from any of them.
+ */
+public interface StateValueFunction {
+    /**
+     * Expected points still to come, upper bonus included
+     */
+    double expectedScore(int filledMask, int upperScore);
+
+    /**
+     * Whether a turn from this state can be evaluated; implementations that
+     * keep only part of the state space return false outside it
+     */
+    default boolean covers(int filledMask, int upperScore) {
+        return true;
+    }
+
+    /**
+     * Value of scoring {@code score} in {@code category} from a state: the
+     * points, any upper bonus they earn, and the expected points after
+     */
+    default double categoryValue(int filledMask, int upperScore, int category, int score) {
+        int upper = Math.min(upperScore, ScoreCard.UPPER_BONUS_THRESHOLD);
+        if (category > ScoreCategory.SIXES.ordinal()) {
+            return score + expectedScore(filledMask | 1 << category, upper);
+        }
+        int newUpper = Math.min(upper + score, ScoreCard.UPPER_BONUS_THRESHOLD);
+        int bonus = upper < ScoreCard.UPPER_BONUS_THRESHOLD && newUpper == ScoreCard.UPPER_BONUS_THRESHOLD
+            ? ScoreCard.UPPER_BONUS_POINTS : 0;
+        return score + bonus + expectedScore(filledMask | 1 << category, newUpper);
+    }
+
+    /**
+     * Expected points still to come from a state, computed from the states
+     * after it; what a solver stores for the state
+     */
+    default double turnValue(int filledMask, int upperScore) {
+        return TurnEvaluator.turnValue(filledMask, (category, score) ->
+            categoryValue(filledMask, upperScore, category, score) - score);
+    }
+
+    /**
+     * Turn evaluator for a state whose category values look ahead to the end of the game
+     */
+    default TurnEvaluator evaluator(int filledMask, int upperScore) {
+        return new TurnEvaluator(filledMask, (category, score) ->
+            categoryValue(filledMask, upperScore, category, score) - score);
+    }
+}
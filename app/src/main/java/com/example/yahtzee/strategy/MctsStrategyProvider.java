@@ -0,0 +1,27 @@
+package com.example.yahtzee.strategy;
+
+import com.example.yahtzee.ai.MctsPlayer;
+import com.example.yahtzee.model.Player;
+
+/**
+ * Monte Carlo tree search player on one thread with a fixed iteration
+ * budget. Ladders already play their games in parallel, so a player that
+ * searched on every core would only compete with the other games.
+ */
+public class MctsStrategyProvider implements StrategyProvider {
+    public static final int ITERATIONS = 5_000;
+
+    @Override
+    public String getName() {
+        return "mcts";
+    }
+
+    @Override
+    public Player createPlayer(String playerName) {
+        MctsPlayer player = new MctsPlayer(playerName, null);
+        player.setThreads(1);
+        player.setIterationBudget(ITERATIONS);
+        player.setTimeBudgetMillis(0);
+        return player;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.yahtzee.strategy;
+
+import com.example.yahtzee.model.*;
+
+/**
+ * The built-in heuristic {@link ComputerPlayer} with its default parameters
+ */
+public class RuleBasedStrategyProvider implements StrategyProvider {
+    @Override
+    public String getName() {
+        return "rule-based";
+    }
+
+    @Override
+    public Player createPlayer(String playerName) {
+        return new ComputerPlayer(playerName, null, ComputerPlayerParameters.defaults());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.yahtzee.strategy;
+
+import com.example.yahtzee.model.Player;
+
+/**
+ * Service interface for pluggable AI strategies.
+ * Implementations are discovered with {@link java.util.ServiceLoader} through
+ * {@code META-INF/services/com.example.yahtzee.strategy.StrategyProvider}.
+ */
+public interface StrategyProvider {
+    /**
+     * Unique, stable name of the strategy, used in ladder standings
+     */
+    String getName();
+
+    /**
+     * Create a fresh player for one game. Players in the same game must have
+     * distinct names, so implementations have to use the name they are given.
+     */
+    Player createPlayer(String playerName);
+}
@@ -0,0 +1,36 @@
+package com.example.yahtzee.strategy;
+
+import java.util.*;
+
+/**
+ * Discovers the available {@link StrategyProvider} implementations
+ */
+public final class StrategyRegistry {
+    private StrategyRegistry() {
+    }
+
+    public static List<StrategyProvider> load() {
+        return load(StrategyProvider.class.getClassLoader());
+    }
+
+    public static List<StrategyProvider> load(ClassLoader classLoader) {
+        List<StrategyProvider> providers = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (StrategyProvider provider : ServiceLoader.load(StrategyProvider.class, classLoader)) {
+            if (!names.add(provider.getName())) {
+                throw new IllegalStateException("Duplicate strategy name: " + provider.getName());
+            }
+            providers.add(provider);
+        }
+        return providers;
+    }
+
+    public static StrategyProvider find(String name) {
+        for (StrategyProvider provider : load()) {
+            if (provider.getName().equals(name)) {
+                return provider;
+            }
+        }
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+}
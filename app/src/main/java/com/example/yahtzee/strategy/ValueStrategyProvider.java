@@ -0,0 +1,29 @@
+package com.example.yahtzee.strategy;
+
+import com.example.yahtzee.ai.ValueFunction;
+import com.example.yahtzee.ai.ValuePlayer;
+import com.example.yahtzee.model.Player;
+
+/**
+ * Player guided by the value function bundled with the app. The weights are
+ * read once, on first use, and shared by every player; ladders create
+ * players from several threads at once.
+ */
+public class ValueStrategyProvider implements StrategyProvider {
+    /**
+     * Loaded by the class initializer, which the JVM runs exactly once
+     */
+    private static final class DefaultWeights {
+        static final ValueFunction VALUE_FUNCTION = ValueFunction.loadDefault();
+    }
+
+    @Override
+    public String getName() {
+        return "value";
+    }
+
+    @Override
+    public Player createPlayer(String playerName) {
+        return new ValuePlayer(playerName, null, DefaultWeights.VALUE_FUNCTION);
+    }
+}
@@ -15,9 +15,14 @@ import android.view.LayoutInflater;
 import android.widget.EditText;
 import android.widget.GridLayout;
 import com.example.yahtzee.R;
+import com.example.yahtzee.analytics.GameLog;
 import com.example.yahtzee.controller.GameController;
 import com.example.yahtzee.model.*;
+import com.example.yahtzee.solver.CompactValueTable;
+import com.example.yahtzee.solver.LazySolver;
+import com.example.yahtzee.solver.OptimalPlayer;
 import com.example.yahtzee.callbacks.*;
+import java.io.File;
 import java.io.IOException;
 import android.os.Handler;
 import android.widget.Toast;
@@ -26,7 +31,7 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
 
-public class MainActivity extends AppCompatActivity implements GameStateCallback {
+public class MainActivity extends AppCompatActivity implements GameStateCallback, WinProbabilityCallback, HintCallback {
     private GameController gameController;
     private TextView currentPlayerText;
     private TextView rollsLeftText;
@@ -42,6 +47,12 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
     private TextView computerInfoText;
     private Button acknowledgeButton;
     private Button nextButton;
+    private GameLog gameLog;
+    // Solved values the computer plays from on a card of its own, loaded on first use
+    private CompactValueTable optimalValues;
+    // Whole-game hints on the player's own card; its cache is kept between launches
+    private final LazySolver hintSolver = new LazySolver();
+    private Thread hintSolverWarmUp;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -49,9 +60,38 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
         setContentView(R.layout.activity_main);
         initializeUI();
         setupClickListeners();
+        warmUpHintSolver();
         showStartGameDialog();
     }
 
+    @Override
+    protected void onDestroy() {
+        replaceGameController(null);
+        if (hintSolverWarmUp != null && !hintSolverWarmUp.isAlive()) {
+            // A warm-up still running saves its own result
+            saveHintSolver();
+        }
+        if (gameLog != null) {
+            try {
+                gameLog.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            gameLog = null;
+        }
+        super.onDestroy();
+    }
+
+    /**
+     * Switch to a new controller, stopping the background work of the old one
+     */
+    private void replaceGameController(GameController controller) {
+        if (gameController != null) {
+            gameController.shutdown();
+        }
+        gameController = controller;
+    }
+
     private void showStartGameDialog() {
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         View dialogView = getLayoutInflater().inflate(R.layout.dialog_load_game, null);
@@ -69,7 +109,11 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
             if (!filename.isEmpty()) {
                 try {
                     Tournament tournament = new Tournament(filename);
-                    gameController = new GameController(tournament, this);
+                    replaceGameController(new GameController(tournament, this));
+                    gameController.setGameLog(getGameLog());
+                    gameController.setWinProbabilityCallback(this);
+                    gameController.setHintCallback(this);
+                    useSolvedHints(tournament);
                     updateUI();
                     dialog.dismiss();
                 } catch (IOException e) {
@@ -96,11 +140,13 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
         TextView computerRollText = dialogView.findViewById(R.id.computerRollText);
         TextView resultText = dialogView.findViewById(R.id.resultText);
         Button rollButton = dialogView.findViewById(R.id.rollButton);
+        Switch separateCardsSwitch = dialogView.findViewById(R.id.separateCardsSwitch);
 
         AlertDialog dialog = builder.create();
         dialog.setCancelable(false);
 
         rollButton.setOnClickListener(v -> {
+            boolean separateCards = separateCardsSwitch.isChecked();
             int humanRoll = new java.util.Random().nextInt(6) + 1;
             int computerRoll = new java.util.Random().nextInt(6) + 1;
 
@@ -112,14 +158,14 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
                 rollButton.setEnabled(false);
                 new Handler().postDelayed(() -> {
                     dialog.dismiss();
-                    startNewGame(true);
+                    startNewGame(true, separateCards);
                 }, 2000);
             } else if (computerRoll > humanRoll) {
                 resultText.setText("Computer plays first!");
                 rollButton.setEnabled(false);
                 new Handler().postDelayed(() -> {
                     dialog.dismiss();
-                    startNewGame(false);
+                    startNewGame(false, separateCards);
                 }, 2000);
             } else {
                 resultText.setText("It's a tie! Roll again.");
@@ -132,7 +178,11 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
     private void loadGame(String filename) {
         try {
             Tournament tournament = new Tournament(filename);
-            gameController = new GameController(tournament, this);
+            replaceGameController(new GameController(tournament, this));
+            gameController.setGameLog(getGameLog());
+            gameController.setWinProbabilityCallback(this);
+            gameController.setHintCallback(this);
+            useSolvedHints(tournament);
             updateUI();
         } catch (IOException e) {
             Toast.makeText(this, "Error loading game: " + e.getMessage(), Toast.LENGTH_SHORT).show();
@@ -173,19 +223,29 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
         }
     }
 
-    private void startNewGame(boolean humanFirst) {
+    /**
+     * @param separateCards give each player a card of their own, where the computer plays the solved strategy
+     */
+    private void startNewGame(boolean humanFirst, boolean separateCards) {
         try {
-            Tournament tournament = new Tournament(this); // Use default constructor that creates human and computer players
+            Tournament tournament;
+            if (separateCards) {
+                List<Player> players = new ArrayList<>();
+                players.add(new HumanPlayer("Player"));
+                players.add(new OptimalPlayer("Computer", this, getOptimalValues()));
+                tournament = new Tournament(this, players, ScoreCardMode.PER_PLAYER, new Dice());
+            } else {
+                tournament = new Tournament(this); // Use default constructor that creates human and computer players
+            }
             if (!humanFirst) {
                 tournament.setFirstPlayer(tournament.getComputerPlayer());
             }
-            
-            // Clean up old game controller if it exists
-            if (gameController != null) {
-                // Add any necessary cleanup here
-            }
-            
-            gameController = new GameController(tournament, this);
+
+            replaceGameController(new GameController(tournament, this));
+            gameController.setGameLog(getGameLog());
+            gameController.setWinProbabilityCallback(this);
+            gameController.setHintCallback(this);
+            useSolvedHints(tournament);
             
             // Initialize UI state
             helpModeSwitch.setChecked(false);
@@ -197,6 +257,66 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
         }
     }
 
+    /**
+     * Hints on a card of the player's own look ahead to the end of the game
+     */
+    private void useSolvedHints(Tournament tournament) {
+        if (tournament.getScoreCardMode() == ScoreCardMode.PER_PLAYER) {
+            gameController.setHintLookahead(hintSolver::evaluator);
+        }
+    }
+
+    /**
+     * Load the hint solver's cache, or on first launch solve the early
+     * layers in the background so hints are quick from the first turn
+     */
+    private void warmUpHintSolver() {
+        File cacheFile = new File(getFilesDir(), "solver-cache");
+        hintSolverWarmUp = new Thread(() -> {
+            try {
+                hintSolver.load(cacheFile);
+            } catch (IOException e) {
+                // Corrupt or from another version: solve again
+                cacheFile.delete();
+            }
+            if (hintSolver.prewarm() > 0) {
+                saveHintSolver();
+            }
+        }, "hint-solver");
+        hintSolverWarmUp.setDaemon(true);
+        hintSolverWarmUp.setPriority(Thread.MIN_PRIORITY);
+        hintSolverWarmUp.start();
+    }
+
+    private void saveHintSolver() {
+        try {
+            hintSolver.save(new File(getFilesDir(), "solver-cache"));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private CompactValueTable getOptimalValues() {
+        if (optimalValues == null) {
+            optimalValues = CompactValueTable.loadDefault();
+        }
+        return optimalValues;
+    }
+
+    /**
+     * Lazily open the completed-game log in app storage; games are still playable without it.
+     */
+    private GameLog getGameLog() {
+        if (gameLog == null) {
+            try {
+                gameLog = new GameLog(new File(getFilesDir(), "game-log"));
+            } catch (IOException e) {
+                Toast.makeText(this, "Game history unavailable: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+        }
+        return gameLog;
+    }
+
     private void initializeUI() {
         currentPlayerText = findViewById(R.id.currentPlayerText);
         rollsLeftText = findViewById(R.id.rollsLeftText);
@@ -561,11 +681,10 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
             TableRow row = new TableRow(this);
             addCell(row, category.getDisplayName());
             
-            // Get the shared scorecard
-            ScoreCard scoreCard = tournament.getScoreCard();
-            
             for (Player player : tournament.getPlayers()) {
                 String scoreText = "-";
+                // The shared card, or the player's own with separate cards
+                ScoreCard scoreCard = tournament.getScoreCard(player);
                 
                 // Check if this category is scored for this player, either as primary or other
                 if (scoreCard != null && scoreCard.isCategoryFilled(category)) {
@@ -582,14 +701,20 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
             scoreTable.addView(row);
         }
         
+        // Add upper bonus row, credited to whoever reached the threshold
+        TableRow bonusRow = new TableRow(this);
+        addCell(bonusRow, "Upper Bonus");
+        for (Player player : tournament.getPlayers()) {
+            int bonus = tournament.getPlayerUpperBonus(player);
+            addCell(bonusRow, bonus > 0 ? String.valueOf(bonus) : "-");
+        }
+        scoreTable.addView(bonusRow);
+        
         // Add total score row
         TableRow totalRow = new TableRow(this);
         addCell(totalRow, "Total");
         for (Player player : tournament.getPlayers()) {
-            Map<Player, Integer> playerScores = tournament.calculatePlayerScores();
-            String totalText = playerScores.containsKey(player) ? 
-                String.valueOf(playerScores.get(player)) : "0";
-            addCell(totalRow, totalText);
+            addCell(totalRow, String.valueOf(tournament.getPlayerScore(player)));
         }
         scoreTable.addView(totalRow);
     }
@@ -769,6 +894,34 @@ public class MainActivity extends AppCompatActivity implements GameStateCallback
         });
     }
 
+    @Override
+    public void onHintReady(Hint hint) {
+        runOnUiThread(() -> {
+            if (helpModeSwitch.isChecked()) {
+                updateSuggestions();
+            }
+        });
+    }
+
+    @Override
+    public void onWinProbabilityUpdated(GameState state, double[] winProbabilities) {
+        runOnUiThread(() -> {
+            // Drop estimates for a replaced game or a state that has moved on
+            GameController controller = gameController;
+            if (controller == null || !controller.isCurrentWinProbabilityState(state)) {
+                return;
+            }
+            List<Player> players = controller.getTournament().getPlayers();
+            StringBuilder title = new StringBuilder();
+            for (int seat = 0; seat < winProbabilities.length && seat < players.size(); seat++) {
+                if (title.length() > 0) title.append("  ");
+                title.append(players.get(seat).getName()).append(' ')
+                     .append(Math.round(winProbabilities[seat] * 100)).append('%');
+            }
+            setTitle(title);
+        });
+    }
+
     @Override
     public void onError(final String message) {
         runOnUiThread(() -> {
@@ -0,0 +1,104 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class DecisionEngineTest {
+    private ExecutorService searchExecutor;
+    private ScheduledExecutorService timer;
+    private DecisionEngine engine;
+
+    @Before
+    public void setUp() {
+        searchExecutor = Executors.newSingleThreadExecutor(DecisionEngine.daemon("test-search"));
+        timer = Executors.newSingleThreadScheduledExecutor(DecisionEngine.daemon("test-deadline"));
+        engine = new DecisionEngine(searchExecutor, timer);
+    }
+
+    @After
+    public void tearDown() {
+        searchExecutor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    /**
+     * A shared-card game with {@code computer} to move and its first roll made
+     */
+    private static Tournament rolledFor(ComputerPlayer computer, ScoreCardMode mode) {
+        Tournament tournament = new Tournament(null, Arrays.asList(computer, new HumanPlayer("Human")),
+            mode, new Dice(3));
+        computer.takeTurn(tournament.getCurrentRound());
+        tournament.getCurrentTurn().roll();
+        return tournament;
+    }
+
+    @Test
+    public void request_decidesOnACopyAndLeavesTheLiveGameAlone() throws Exception {
+        ComputerPlayer computer = new ComputerPlayer("Computer", null, ComputerPlayerParameters.defaults());
+        Tournament tournament = rolledFor(computer, ScoreCardMode.SHARED);
+        Round round = tournament.getCurrentRound();
+        GameState before = tournament.toGameState();
+        int decisions = tournament.getDecisionLog().size();
+
+        Move move = engine.request(computer, round, 10_000).getResult().get(10, TimeUnit.SECONDS);
+
+        assertNotNull(move);
+        if (!move.isRoll()) {
+            assertFalse(tournament.getScoreCard().isScored(move.getCategory()));
+        }
+        assertEquals(before, tournament.toGameState());
+        assertEquals(decisions, tournament.getDecisionLog().size());
+        assertSame(round, computer.getCurrentRound());
+        assertSame(round.getCurrentTurn(), computer.getCurrentTurn());
+    }
+
+    @Test
+    public void request_mctsCompletesByTheDeadline() throws Exception {
+        MctsPlayer computer = new MctsPlayer("Computer", null);
+        computer.setThreads(1);
+        Tournament tournament = rolledFor(computer, ScoreCardMode.SHARED);
+
+        long start = System.nanoTime();
+        DecisionTicket ticket = engine.request(computer, tournament.getCurrentRound(), 200);
+        Move move = ticket.getResult().get(10, TimeUnit.SECONDS);
+        assertNotNull(move);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertSame(move, ticket.getBestSoFar());
+    }
+
+    @Test
+    public void request_perPlayerCardGetsTheGreedyMoveAtOnce() {
+        ComputerPlayer computer = new ComputerPlayer("Computer", null, ComputerPlayerParameters.defaults());
+        Tournament tournament = rolledFor(computer, ScoreCardMode.PER_PLAYER);
+        DecisionTicket ticket = engine.request(computer, tournament.getCurrentRound(), 10_000);
+        assertTrue(ticket.isDone());
+        assertNotNull(ticket.getBestSoFar());
+    }
+
+    @Test
+    public void newRequestAndCancelPending_cancelTheOlderTicket() {
+        MctsPlayer computer = new MctsPlayer("Computer", null);
+        computer.setThreads(1);
+        Tournament tournament = rolledFor(computer, ScoreCardMode.SHARED);
+        DecisionTicket first = engine.request(computer, tournament.getCurrentRound(), 60_000);
+        DecisionTicket second = engine.request(computer, tournament.getCurrentRound(), 60_000);
+        assertTrue(first.isCancelled());
+        assertTrue(first.getResult().isCancelled());
+
+        engine.cancelPending();
+        assertTrue(second.isCancelled());
+        try {
+            second.await();
+            fail("Cancelled ticket completed");
+        } catch (CancellationException expected) {
+            // The search stops at its next slice
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
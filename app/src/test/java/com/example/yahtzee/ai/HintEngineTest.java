@@ -0,0 +1,61 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.solver.LazySolver;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class HintEngineTest {
+    // Only the lower section is open, late enough for the solver to finish quickly
+    private static final int UPPER_FILLED = 0b11_1111;
+
+    private final HintEngine engine = new HintEngine();
+
+    @After
+    public void shutDown() {
+        engine.shutdown();
+    }
+
+    private Hint await(int packedDice, int rollsLeft, int filledMask, int upperScore) throws InterruptedException {
+        BlockingQueue<Hint> ready = new LinkedBlockingQueue<>();
+        engine.requestHint(packedDice, rollsLeft, filledMask, upperScore, ready::add);
+        Hint hint = ready.poll(30, TimeUnit.SECONDS);
+        assertNotNull("hint not ready", hint);
+        return hint;
+    }
+
+    @Test
+    public void turnHint_followsTurnEvaluator() throws InterruptedException {
+        int dice = PackedDice.pack(new int[] {2, 3, 4, 4, 6});
+        TurnEvaluator turn = new TurnEvaluator(UPPER_FILLED);
+        Hint hint = await(dice, 2, UPPER_FILLED, 40);
+
+        int hold = turn.bestHold(dice, 2);
+        assertEquals(PackedDice.heldIndices(hold), hint.getHeldIndices());
+        assertEquals(turn.holdValue(dice, 2, hold), hint.getExpectedPoints(), 1e-9);
+    }
+
+    @Test
+    public void lookahead_weighsTheRestOfTheGame() throws InterruptedException {
+        int dice = PackedDice.pack(new int[] {1, 1, 3, 5, 6});
+        LazySolver solver = new LazySolver();
+        engine.setLookahead(solver::evaluator);
+        Hint hint = await(dice, 1, UPPER_FILLED, 40);
+
+        TurnEvaluator game = solver.evaluator(UPPER_FILLED, 40);
+        assertEquals(game.bestCategory(dice), hint.getCategory());
+        int hold = game.bestHold(dice, 1);
+        assertEquals(hold < 0, hint.isStop());
+        if (hold >= 0) {
+            assertEquals(PackedDice.heldIndices(hold), hint.getHeldIndices());
+            // Expressed as points this turn: the category's points plus the gain over scoring now
+            assertEquals(ScoreTable.score(dice, hint.getCategory().ordinal())
+                + game.holdValue(dice, 1, hold) - game.stopValue(dice), hint.getExpectedPoints(), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.PackedDice;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MctsTreeTest {
+    private static final int[] MULTISETS = {1, 6, 21, 56, 126, 252};
+
+    @Test
+    public void outcomeIndex_numbersEachRerolledMultisetOnce() {
+        int dice = PackedDice.pack(new int[] {1, 2, 2, 5, 6});
+        for (int hold = 0; hold < (1 << PackedDice.NUM_DICE) - 1; hold++) {
+            int rerolled = PackedDice.NUM_DICE - Integer.bitCount(hold);
+            Map<Integer, Integer> indexOfSorted = new HashMap<>();
+            Set<Integer> indices = new HashSet<>();
+            int combinations = (int) Math.pow(6, rerolled);
+            for (int code = 0; code < combinations; code++) {
+                int rolled = dice;
+                int rest = code;
+                for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+                    if ((hold & (1 << i)) == 0) {
+                        rolled = PackedDice.set(rolled, i, rest % 6 + 1);
+                        rest /= 6;
+                    }
+                }
+                int index = MctsTree.outcomeIndex(rolled, hold);
+                assertTrue(index >= 0 && index < MULTISETS[rerolled]);
+                Integer previous = indexOfSorted.put(MctsTree.sortDice(rolled), index);
+                assertTrue(previous == null || previous == index);
+                indices.add(index);
+            }
+            // Equal hands share an index and different hands never do
+            assertEquals(MULTISETS[rerolled], indices.size());
+            assertEquals(MULTISETS[rerolled], indexOfSorted.size());
+        }
+    }
+}
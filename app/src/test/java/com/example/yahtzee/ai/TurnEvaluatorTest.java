@@ -0,0 +1,138 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TurnEvaluatorTest {
+    /**
+     * Best play for one open category by plain recursion over every hold mask
+     * and every ordered reroll, memoized on the sorted hand
+     */
+    private static final class BruteForce {
+        private final ScoreCategory category;
+        private final List<Map<Integer, Double>> memo = new ArrayList<>();
+
+        BruteForce(ScoreCategory category) {
+            this.category = category;
+            for (int r = 0; r < GameState.MAX_ROLLS; r++) {
+                memo.add(new HashMap<>());
+            }
+        }
+
+        double value(int[] dice, int rollsLeft) {
+            int[] sorted = dice.clone();
+            Arrays.sort(sorted);
+            int key = PackedDice.pack(sorted);
+            Double known = memo.get(rollsLeft).get(key);
+            if (known != null) return known;
+            double best = ScoreTable.score(key, category);
+            if (rollsLeft > 0) {
+                for (int mask = 0; mask < (1 << PackedDice.NUM_DICE) - 1; mask++) {
+                    best = Math.max(best, holdValue(sorted, rollsLeft, mask));
+                }
+            }
+            memo.get(rollsLeft).put(key, best);
+            return best;
+        }
+
+        double holdValue(int[] dice, int rollsLeft, int mask) {
+            int rerolled = PackedDice.NUM_DICE - Integer.bitCount(mask);
+            int outcomes = (int) Math.pow(6, rerolled);
+            double sum = 0;
+            for (int outcome = 0; outcome < outcomes; outcome++) {
+                int[] next = dice.clone();
+                int code = outcome;
+                for (int i = 0; i < PackedDice.NUM_DICE; i++) {
+                    if ((mask & (1 << i)) == 0) {
+                        next[i] = code % 6 + 1;
+                        code /= 6;
+                    }
+                }
+                sum += value(next, rollsLeft - 1);
+            }
+            return sum / outcomes;
+        }
+    }
+
+    private static List<int[]> allHands() {
+        List<int[]> hands = new ArrayList<>();
+        for (int a = 1; a <= 6; a++)
+            for (int b = a; b <= 6; b++)
+                for (int c = b; c <= 6; c++)
+                    for (int d = c; d <= 6; d++)
+                        for (int e = d; e <= 6; e++)
+                            hands.add(new int[] {a, b, c, d, e});
+        return hands;
+    }
+
+    private static int onlyOpen(ScoreCategory category) {
+        return ScoreTable.ALL_CATEGORIES & ~(1 << category.ordinal());
+    }
+
+    @Test
+    public void value_singleOpenCategoryMatchesBruteForce() {
+        for (ScoreCategory category : new ScoreCategory[] {
+                ScoreCategory.SIXES, ScoreCategory.FULL_HOUSE, ScoreCategory.SMALL_STRAIGHT}) {
+            TurnEvaluator evaluator = new TurnEvaluator(onlyOpen(category));
+            BruteForce brute = new BruteForce(category);
+            for (int[] hand : allHands()) {
+                int dice = PackedDice.pack(hand);
+                for (int rollsLeft = 0; rollsLeft < GameState.MAX_ROLLS; rollsLeft++) {
+                    assertEquals(category + " " + Arrays.toString(hand) + " rolls " + rollsLeft,
+                        brute.value(hand, rollsLeft), evaluator.value(dice, rollsLeft), 1e-9);
+                }
+                assertEquals(category, evaluator.bestCategory(dice));
+            }
+        }
+    }
+
+    @Test
+    public void holdValue_matchesBruteForceForEveryMask() {
+        TurnEvaluator evaluator = new TurnEvaluator(onlyOpen(ScoreCategory.FOUR_OF_A_KIND));
+        BruteForce brute = new BruteForce(ScoreCategory.FOUR_OF_A_KIND);
+        // Unsorted, so the mask has to pick dice by position
+        int[] hand = {4, 1, 4, 6, 4};
+        int dice = PackedDice.pack(hand);
+        for (int rollsLeft = 1; rollsLeft < GameState.MAX_ROLLS; rollsLeft++) {
+            for (int mask = 0; mask < 1 << PackedDice.NUM_DICE; mask++) {
+                assertEquals("mask " + mask, brute.holdValue(hand, rollsLeft, mask),
+                    evaluator.holdValue(dice, rollsLeft, mask), 1e-9);
+            }
+        }
+        int best = evaluator.bestHold(dice, 2);
+        assertTrue(best >= 0);
+        assertEquals(brute.value(hand, 2), evaluator.holdValue(dice, 2, best), 1e-9);
+    }
+
+    @Test
+    public void turnValue_yahtzeeOnlyIsFiftyTimesTheTurnChance() {
+        // Chance of a Yahtzee within three rolls, always keeping the largest group
+        double chance = 2_783_176.0 / 60_466_176;
+        TurnEvaluator evaluator = new TurnEvaluator(onlyOpen(ScoreCategory.YAHTZEE));
+        assertEquals(50 * chance, evaluator.turnValue(), 1e-9);
+        assertEquals(evaluator.turnValue(), TurnEvaluator.turnValue(onlyOpen(ScoreCategory.YAHTZEE), null), 1e-12);
+    }
+
+    @Test
+    public void futureValue_shiftsTheChoiceAndMatchesTheStaticTurnValue() {
+        int mask = ScoreTable.ALL_CATEGORIES & ~(1 << ScoreCategory.ONES.ordinal()) & ~(1 << ScoreCategory.SIXES.ordinal());
+        int sixes = PackedDice.pack(new int[] {6, 6, 1, 2, 3});
+        assertEquals(ScoreCategory.SIXES, new TurnEvaluator(mask).bestCategory(sixes));
+
+        // Keeping sixes open for later is worth more than the twelve points now
+        TurnEvaluator.FutureValue future = (category, score) -> category == ScoreCategory.SIXES.ordinal() ? 0 : 20;
+        TurnEvaluator evaluator = new TurnEvaluator(mask, future);
+        assertEquals(ScoreCategory.ONES, evaluator.bestCategory(sixes));
+        assertEquals(21.0, evaluator.stopValue(sixes), 1e-12);
+        assertEquals(evaluator.turnValue(), TurnEvaluator.turnValue(mask, future), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsAFullCard() {
+        new TurnEvaluator(ScoreTable.ALL_CATEGORIES);
+    }
+}
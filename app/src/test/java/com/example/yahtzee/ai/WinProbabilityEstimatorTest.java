@@ -0,0 +1,91 @@
+package com.example.yahtzee.ai;
+
+import com.example.yahtzee.model.*;
+import org.junit.Test;
+
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class WinProbabilityEstimatorTest {
+    /**
+     * Every category filled, alternating seats; seat 0 scores {@code seatZeroScore} per category, seat 1 nothing
+     */
+    private static GameState finished(int seatZeroScore) {
+        GameState state = GameState.initial(2);
+        for (ScoreCategory category : ScoreCategory.values()) {
+            state = state.withScore(category, state.getCurrentSeat() == 0 ? seatZeroScore : 0).withNextTurn();
+        }
+        return state;
+    }
+
+    private static GameState midGame() {
+        return GameState.initial(2)
+            .withRoll(PackedDice.pack(new int[] {5, 5, 5, 2, 1}))
+            .withScore(ScoreCategory.FIVES)
+            .withNextTurn()
+            .withRoll(PackedDice.pack(new int[] {1, 2, 3, 4, 6}));
+    }
+
+    @Test
+    public void estimate_finishedGameIsDecided() {
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(100, 8);
+        assertArrayEquals(new double[] {1, 0}, estimator.estimate(finished(10)), 0);
+        // Ties are shared
+        assertArrayEquals(new double[] {0.5, 0.5}, estimator.estimate(finished(0)), 0);
+        estimator.shutdown();
+    }
+
+    @Test
+    public void estimate_sumsToOneAndIsCachedPerState() {
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(640, 8);
+        double[] first = estimator.estimate(midGame());
+        assertEquals(1.0, first[0] + first[1], 1e-9);
+
+        // Callers get a copy, so they cannot corrupt the cached estimate
+        first[0] = 42;
+        double[] again = estimator.estimate(midGame());
+        assertEquals(1.0, again[0] + again[1], 1e-9);
+
+        // Seeded from the state: a fresh estimator reproduces it
+        WinProbabilityEstimator other = new WinProbabilityEstimator(640, 8);
+        assertArrayEquals(again, other.estimate(midGame()), 0);
+        estimator.shutdown();
+        other.shutdown();
+    }
+
+    @Test
+    public void requestUpdate_reportsCachedStatesOnTheCallersThread() {
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(100, 8);
+        GameState state = finished(10);
+        estimator.estimate(state);
+        Thread[] reportedOn = new Thread[1];
+        estimator.requestUpdate(state, (reported, probabilities) -> reportedOn[0] = Thread.currentThread());
+        assertSame(Thread.currentThread(), reportedOn[0]);
+        estimator.shutdown();
+    }
+
+    @Test
+    public void requestUpdate_newerStateCancelsTheRunningEstimate() throws InterruptedException {
+        // Far more rollouts than the test could ever wait for
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(Integer.MAX_VALUE / 2, 8);
+        BlockingQueue<GameState> reported = new LinkedBlockingQueue<>();
+        GameState stale = midGame();
+        GameState current = finished(10);
+
+        estimator.requestUpdate(stale, (state, probabilities) -> reported.add(state));
+        // Let the stale rollouts get going, so they are cancelled mid-flight
+        Thread.sleep(50);
+        estimator.requestUpdate(current, (state, probabilities) -> reported.add(state));
+
+        assertEquals(current, reported.poll(10, TimeUnit.SECONDS));
+        // The single worker ran the stale request first, so it has given up by now
+        assertNull(reported.poll(100, TimeUnit.MILLISECONDS));
+        estimator.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsEmptyCache() {
+        new WinProbabilityEstimator(100, 0);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.simulation.HeadlessTournament;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class GameColumnStoreTest {
+    private static Tournament play(long seed, ScoreCardMode mode, int seats) {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < seats; seat++) {
+            players.add(new ComputerPlayer("Computer " + seat, null, ComputerPlayerParameters.defaults()));
+        }
+        return HeadlessTournament.play(new Tournament(null, players, mode, new Dice(seed)));
+    }
+
+    @Test
+    public void appendGame_creditsEverySeatOfAPerPlayerGame() {
+        GameColumnStore store = new GameColumnStore();
+        Tournament tournament = play(4, ScoreCardMode.PER_PLAYER, 3);
+        store.appendGame(0, tournament);
+
+        assertEquals(3 * ScoreCategory.values().length, store.size());
+        for (int seat = 0; seat < 3; seat++) {
+            ScoreCard card = tournament.getScoreCard(tournament.getPlayers().get(seat));
+            assertEquals(card.getTotalScore() - card.getUpperBonus(), store.totalsByGame(seat)[0]);
+        }
+    }
+
+    @Test
+    public void appendGame_creditsSharedCategoriesToTheirScorers() {
+        GameColumnStore store = new GameColumnStore();
+        Tournament tournament = play(4, ScoreCardMode.SHARED, 3);
+        store.appendGame(0, tournament);
+
+        assertEquals(ScoreCategory.values().length, store.size());
+        for (int seat = 0; seat < 3; seat++) {
+            Player player = tournament.getPlayers().get(seat);
+            assertEquals(tournament.getPlayerScore(player) - tournament.getPlayerUpperBonus(player),
+                store.totalsByGame(seat)[0]);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.simulation.HeadlessTournament;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class GameLogTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Tournament play(long seed, ScoreCardMode mode, int seats) {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < seats; seat++) {
+            players.add(new ComputerPlayer("Computer " + seat, null, ComputerPlayerParameters.defaults()));
+        }
+        return HeadlessTournament.play(new Tournament(null, players, mode, new Dice(seed)));
+    }
+
+    @Test
+    public void averageScoreByRound_matchesSequentialScan() throws IOException {
+        File directory = folder.newFolder("log");
+        try (GameLog log = new GameLog(directory, 8)) {
+            for (int game = 0; game < 60; game++) {
+                log.append(play(game, ScoreCardMode.SHARED, 2));
+            }
+        }
+
+        GameLogQuery query = GameLogQuery.open(directory);
+        assertTrue(query.getSegmentCount() > 1);
+        ScoreByRound expected = new ScoreByRound();
+        List<GameLogRecord> records = query.stream().collect(Collectors.toList());
+        assertEquals(60, records.size());
+        for (GameLogRecord record : records) {
+            expected.add(record);
+        }
+
+        for (int run = 0; run < 5; run++) {
+            ScoreByRound actual = query.averageScoreByRound();
+            long entries = 0;
+            for (ScoreCategory category : ScoreCategory.values()) {
+                for (int round = 0; round <= ScoreCard.TOTAL_ROUNDS; round++) {
+                    assertEquals(expected.getCount(category, round), actual.getCount(category, round));
+                    assertEquals(expected.getAverage(category, round), actual.getAverage(category, round), 1e-9);
+                    entries += actual.getCount(category, round);
+                }
+            }
+            assertEquals(60L * ScoreCategory.values().length, entries);
+        }
+    }
+
+    @Test
+    public void perPlayerGame_recordsEveryCard() throws IOException {
+        File directory = folder.newFolder("log");
+        Tournament shared = play(1, ScoreCardMode.SHARED, 2);
+        Tournament perPlayer = play(2, ScoreCardMode.PER_PLAYER, 3);
+        try (GameLog log = new GameLog(directory, 4)) {
+            assertEquals(0, log.append(shared));
+            assertEquals(1, log.append(perPlayer));
+            assertEquals(4, log.getRecordCount());
+        }
+
+        GameLogQuery query = GameLogQuery.open(directory);
+        assertEquals(2, query.count());
+        GameLogRecord record = query.filter(r -> r.getGameId() == 1).stream().findFirst().get();
+        assertEquals(3, record.getSlotCount());
+        assertEquals(3 * ScoreCategory.values().length, record.getEntryCount());
+        for (int seat = 0; seat < 3; seat++) {
+            ScoreCard card = perPlayer.getScoreCard(perPlayer.getPlayers().get(seat));
+            int total = 0;
+            for (ScoreEntry entry : card.getScores().values()) {
+                total += entry.getScore();
+            }
+            assertEquals(total, record.getPlayerTotal(seat));
+        }
+        assertEquals(1, query.filter(GameFilter.scoredBeforeRound(ScoreCategory.values()[0], 2, 99)).count());
+    }
+
+    @Test
+    public void reopen_dropsTornGame() throws IOException {
+        File directory = folder.newFolder("log");
+        try (GameLog log = new GameLog(directory)) {
+            log.append(play(3, ScoreCardMode.SHARED, 2));
+            log.append(play(4, ScoreCardMode.PER_PLAYER, 2));
+        }
+        File segment = GameLog.listSegments(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - GameLogRecord.SIZE / 2);
+        }
+        assertEquals(1, GameLogQuery.open(directory).count());
+
+        try (GameLog log = new GameLog(directory)) {
+            assertEquals(1, log.getRecordCount());
+            assertEquals(1, log.append(play(5, ScoreCardMode.SHARED, 2)));
+        }
+        assertEquals(2, GameLogQuery.open(directory).count());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.ai.TurnEvaluator;
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.simulation.HeadlessTournament;
+import com.example.yahtzee.solver.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RegretAnalyzerTest {
+    private static OptimalSolver solver;
+
+    @BeforeClass
+    public static void solve() {
+        solver = OptimalSolver.solve();
+    }
+
+    /**
+     * A separate-card game of {@code player} against the heuristic computer
+     */
+    private static Tournament play(Player player, long seed) {
+        List<Player> players = Arrays.asList(player,
+            new ComputerPlayer("Opponent", null, ComputerPlayerParameters.defaults()));
+        return HeadlessTournament.play(new Tournament(null, players, ScoreCardMode.PER_PLAYER, new Dice(seed)));
+    }
+
+    @Test
+    public void analyze_solverPlayHasNoRegret() {
+        Tournament game = play(new OptimalPlayer("Solver", null, solver), 3);
+        RegretReport report = new RegretAnalyzer(solver, true).analyze(Collections.singletonList(game));
+
+        assertFalse(report.getDecisions().isEmpty());
+        for (RegretReport.Decision decision : report.getDecisions()) {
+            if (!decision.getPlayerName().equals("Solver")) continue;
+            // Only float rounding of the stored values separates the two
+            assertEquals(decision.getKind() + " " + decision.getDice(),
+                decision.getOptimalValue(), decision.getChosenValue(), 1e-4);
+        }
+        RegretReport.PlayerSummary summary = report.getPlayerSummary("Solver");
+        assertEquals(ScoreTable.CATEGORIES, summary.getDecisionCount(RegretReport.Kind.CATEGORY));
+        assertEquals(0, summary.getMistakeCount(RegretReport.Kind.HOLD));
+        assertEquals(0, summary.getMistakeCount(RegretReport.Kind.CATEGORY));
+    }
+
+    @Test
+    public void analyze_valuesEachHoldByTheDiceKeptForTheNextRoll() {
+        Tournament game = play(new ComputerPlayer("Heuristic", null, ComputerPlayerParameters.defaults()), 8);
+        RegretReport report = new RegretAnalyzer(solver, true).analyze(Collections.singletonList(game));
+        List<RegretReport.Decision> own = new ArrayList<>();
+        for (RegretReport.Decision decision : report.getDecisions()) {
+            if (decision.getPlayerName().equals("Heuristic")) own.add(decision);
+        }
+        Iterator<RegretReport.Decision> decisions = own.iterator();
+
+        int holds = 0;
+        for (List<TurnRecord> turn : game.getCompletedTurns()) {
+            TurnRecord first = turn.get(0);
+            if (!first.getPlayer().getName().equals("Heuristic")) continue;
+            TurnEvaluator evaluator = solver.evaluator(first.getFilledMask(), first.getUpperScore());
+            for (int i = 0; i < turn.size(); i++) {
+                TurnRecord record = turn.get(i);
+                if (record.getDice().contains(0) || record.getRollsLeft() >= GameState.MAX_ROLLS) continue;
+                RegretReport.Decision decision = decisions.next();
+                int dice = PackedDice.pack(record.getDice());
+                assertEquals(record.getDice(), decision.getDice());
+                assertEquals(evaluator.value(dice, record.getRollsLeft()), decision.getOptimalValue(), 1e-9);
+                if (i + 1 < turn.size()) {
+                    // The indices stored with a roll are the dice held going into it
+                    int hold = PackedDice.holdMask(turn.get(i + 1).getHeldDiceIndices());
+                    assertEquals(RegretReport.Kind.HOLD, decision.getKind());
+                    assertEquals(evaluator.holdValue(dice, record.getRollsLeft(), hold), decision.getChosenValue(), 1e-9);
+                    assertTrue(decision.getChosenValue() <= decision.getOptimalValue() + 1e-9);
+                    holds++;
+                } else {
+                    assertEquals(RegretReport.Kind.CATEGORY, decision.getKind());
+                }
+            }
+        }
+        assertFalse(decisions.hasNext());
+        assertTrue(holds > 0);
+        assertEquals(holds, report.getPlayerSummary("Heuristic").getDecisionCount(RegretReport.Kind.HOLD));
+    }
+}
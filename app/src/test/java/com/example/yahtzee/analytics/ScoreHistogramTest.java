@@ -0,0 +1,108 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.simulation.SoloGame;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ScoreHistogramTest {
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    @Test
+    public void quantile_matchesSortedValues() {
+        Random random = new Random(1);
+        int[] values = new int[1001];
+        ScoreHistogram histogram = new ScoreHistogram(ScoreStatistics.MAX_TOTAL);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(ScoreStatistics.MAX_TOTAL + 1);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double q : QUANTILES) {
+            int rank = Math.max(1, (int) Math.ceil(q * values.length));
+            assertEquals("q=" + q, values[rank - 1], histogram.quantile(q));
+        }
+    }
+
+    @Test
+    public void merge_equalsSinglePass() {
+        Random random = new Random(2);
+        ScoreHistogram single = new ScoreHistogram(ScoreStatistics.MAX_TOTAL);
+        ScoreHistogram[] parts = new ScoreHistogram[4];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new ScoreHistogram(ScoreStatistics.MAX_TOTAL);
+        }
+        for (int i = 0; i < 5000; i++) {
+            int value = (int) Math.round(Math.abs(180 + 40 * random.nextGaussian()));
+            single.record(value);
+            parts[random.nextInt(parts.length)].record(value);
+        }
+        ScoreHistogram merged = new ScoreHistogram(ScoreStatistics.MAX_TOTAL);
+        for (ScoreHistogram part : parts) {
+            merged.merge(part);
+        }
+        assertArrayEquals(single.toArray(), merged.toArray());
+        assertEquals(single.getCount(), merged.getCount());
+        assertEquals(single.getMean(), merged.getMean(), 1e-12);
+        for (double q : QUANTILES) {
+            assertEquals(single.quantile(q), merged.quantile(q));
+        }
+    }
+
+    @Test
+    public void collector_mergesEveryThreadsStatistics() throws Exception {
+        ScoreStatisticsCollector collector = new ScoreStatisticsCollector();
+        ScoreStatistics expected = new ScoreStatistics();
+        List<ScoreCard> cards = new ArrayList<>();
+        for (int game = 0; game < 64; game++) {
+            cards.add(SoloGame.play(new ComputerPlayer(null), new Dice(game)));
+            expected.recordScoreCard(cards.get(game));
+        }
+        Thread[] workers = new Thread[4];
+        for (int w = 0; w < workers.length; w++) {
+            int worker = w;
+            workers[w] = new Thread(() -> IntStream.range(0, cards.size())
+                .filter(game -> game % workers.length == worker)
+                .forEach(game -> collector.local().recordScoreCard(cards.get(game))));
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        ScoreStatistics merged = collector.merged();
+        assertEquals(expected.getScoreCardCount(), merged.getScoreCardCount());
+        assertArrayEquals(expected.getTotals().toArray(), merged.getTotals().toArray());
+        assertEquals(expected.getUpperBonusRate(), merged.getUpperBonusRate(), 1e-12);
+        for (ScoreCategory category : ScoreCategory.values()) {
+            assertArrayEquals(expected.getCategoryScores(category).toArray(),
+                merged.getCategoryScores(category).toArray());
+        }
+        for (int round = 1; round <= ScoreCard.TOTAL_ROUNDS; round++) {
+            assertArrayEquals(expected.getRoundPoints(round).toArray(), merged.getRoundPoints(round).toArray());
+        }
+    }
+
+    @Test
+    public void maxTotal_isTheBestPossibleCard() {
+        int best = ScoreCard.UPPER_BONUS_POINTS;
+        int[] dice = new int[PackedDice.NUM_DICE];
+        for (ScoreCategory category : ScoreCategory.values()) {
+            int max = 0;
+            for (int h = 0; h < 7776; h++) {
+                int rest = h;
+                for (int i = 0; i < dice.length; i++) {
+                    dice[i] = rest % 6 + 1;
+                    rest /= 6;
+                }
+                max = Math.max(max, ScoreTable.score(PackedDice.pack(dice), category));
+            }
+            best += max;
+        }
+        assertEquals(best, ScoreStatistics.MAX_TOTAL);
+    }
+}
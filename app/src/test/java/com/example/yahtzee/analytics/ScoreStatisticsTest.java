@@ -0,0 +1,58 @@
+package com.example.yahtzee.analytics;
+
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.simulation.HeadlessTournament;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ScoreStatisticsTest {
+    private static Tournament play(long seed, ScoreCardMode mode, int seats) {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < seats; seat++) {
+            players.add(new ComputerPlayer("Computer " + seat, null, ComputerPlayerParameters.defaults()));
+        }
+        return HeadlessTournament.play(new Tournament(null, players, mode, new Dice(seed)));
+    }
+
+    @Test
+    public void recordGame_recordsEveryCardOfAPerPlayerGame() {
+        ScoreStatistics statistics = new ScoreStatistics();
+        Tournament tournament = play(9, ScoreCardMode.PER_PLAYER, 3);
+        statistics.recordGame(tournament);
+
+        assertEquals(3, statistics.getScoreCardCount());
+        assertEquals(3, statistics.getTotals().getCount());
+        for (ScoreCategory category : ScoreCategory.values()) {
+            assertEquals(3, statistics.getCategoryScores(category).getCount());
+        }
+        long bonuses = 0;
+        for (Player player : tournament.getPlayers()) {
+            if (tournament.getScoreCard(player).getUpperBonus() > 0) bonuses++;
+        }
+        assertEquals(bonuses / 3.0, statistics.getUpperBonusRate(), 1e-9);
+    }
+
+    @Test
+    public void histogram_keepsValuesAboveItsInitialRangeExact() {
+        // A five-seat shared round can collect far more than two categories' worth
+        ScoreHistogram round = new ScoreHistogram(100);
+        int[] values = {30, 250, 120, 50, 180};
+        for (int value : values) {
+            round.record(value);
+        }
+        assertEquals(250, round.quantile(1.0));
+        assertEquals(120, round.quantile(0.5));
+        assertEquals(1, round.getCount(180));
+        assertEquals(126.0, round.getMean(), 1e-9);
+
+        ScoreHistogram small = new ScoreHistogram(10);
+        small.record(5);
+        small.merge(round);
+        assertEquals(6, small.getCount());
+        assertEquals(250, small.quantile(1.0));
+        assertEquals(5, small.quantile(0.0));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.yahtzee.model;
+
+import com.example.yahtzee.replay.ReplayEngine;
+import com.example.yahtzee.simulation.HeadlessTournament;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class GameStateTest {
+    private static List<Player> computers(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < count; seat++) {
+            players.add(new ComputerPlayer("Computer " + seat, null, ComputerPlayerParameters.defaults()));
+        }
+        return players;
+    }
+
+    @Test
+    public void fromGameState_roundTripsEveryStepOfAGame() {
+        Tournament played = HeadlessTournament.play(
+            new Tournament(null, computers(3), ScoreCardMode.SHARED, new Dice(11)));
+        ReplayEngine replay = ReplayEngine.of(played);
+        for (int step = 0; step <= replay.getStepCount(); step++) {
+            Tournament tournament = replay.seek(step);
+            if (tournament.isGameOver()) continue;
+            GameState state = tournament.toGameState();
+            for (int seat = 0; seat < 3; seat++) {
+                Player player = tournament.getPlayers().get(seat);
+                assertEquals("step " + step, tournament.getPlayerScore(player), state.getPlayerScore(seat));
+            }
+            assertEquals(tournament.getScoreCard().getFilledMask(), state.getFilledMask());
+
+            Tournament rebuilt = Tournament.fromGameState(state, computers(3), new Dice(1), null);
+            GameState again = rebuilt.toGameState();
+            assertEquals("step " + step, state, again);
+            assertEquals(state.hashCode(), again.hashCode());
+        }
+    }
+
+    @Test
+    public void transitions_leaveTheOriginalUntouched() {
+        GameState initial = GameState.initial(2);
+        GameState rolled = initial.withRoll(PackedDice.pack(new int[] {6, 6, 6, 2, 3}));
+        GameState scored = rolled.withScore(ScoreCategory.SIXES);
+
+        assertEquals(GameState.MAX_ROLLS, initial.getRollsLeft());
+        assertEquals(GameState.MAX_ROLLS - 1, rolled.getRollsLeft());
+        assertFalse(rolled.isFilled(ScoreCategory.SIXES));
+        assertTrue(scored.isFilled(ScoreCategory.SIXES));
+        assertEquals(18, scored.getScore(ScoreCategory.SIXES));
+        assertEquals(18, scored.getPlayerScore(0));
+        assertEquals(0, scored.getOwner(ScoreCategory.SIXES));
+        assertEquals(scored, scored.fork());
+        assertNotEquals(rolled, scored);
+    }
+
+    @Test
+    public void withNextTurn_rotatesSeatsAndRoundStarter() {
+        GameState state = GameState.initial(3);
+        int[] expectedSeats = {0, 1, 2, 1, 2, 0, 2, 0, 1};
+        for (int turn = 0; turn < expectedSeats.length; turn++) {
+            assertEquals(expectedSeats[turn], state.getCurrentSeat());
+            assertEquals(turn / 3 + 1, state.getRoundNumber());
+            state = state.withNextTurn();
+        }
+    }
+
+    @Test
+    public void withScore_creditsUpperBonusToTheSeatThatReachesIt() {
+        GameState state = GameState.initial(2)
+            .withScore(ScoreCategory.SIXES, 30).withNextTurn()
+            .withScore(ScoreCategory.FIVES, 25).withNextTurn();
+        assertEquals(-1, state.getUpperBonusSeat());
+        state = state.withNextTurn().withScore(ScoreCategory.FOURS, 8);
+        assertEquals(state.getCurrentSeat(), state.getUpperBonusSeat());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void withScore_rejectsFilledCategory() {
+        GameState.initial(2).withScore(ScoreCategory.ONES, 3).withNextTurn().withScore(ScoreCategory.ONES, 2);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.yahtzee.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OpponentModelTest {
+    private static final int NONE_FILLED = 0;
+
+    private static double openSum(OpponentModel model, int filledMask) {
+        double sum = 0;
+        for (ScoreCategory category : ScoreCategory.values()) {
+            if ((filledMask & (1 << category.ordinal())) == 0) {
+                sum += model.claimProbability(category, filledMask);
+            }
+        }
+        return sum;
+    }
+
+    @Test
+    public void claimProbability_isUniformBeforeAnyPlay() {
+        OpponentModel model = new OpponentModel();
+        int filled = (1 << ScoreCategory.ONES.ordinal()) | (1 << ScoreCategory.YAHTZEE.ordinal());
+        for (ScoreCategory category : ScoreCategory.values()) {
+            double expected = (filled & (1 << category.ordinal())) != 0 ? 0 : 1.0 / (ScoreTable.CATEGORIES - 2);
+            assertEquals(category.name(), expected, model.claimProbability(category, filled), 1e-12);
+        }
+    }
+
+    @Test
+    public void claimProbability_sumsToOneOverOpenCategories() {
+        OpponentModel model = new OpponentModel();
+        int filled = NONE_FILLED;
+        ScoreCategory[] choices = {ScoreCategory.YAHTZEE, ScoreCategory.SIXES, ScoreCategory.FULL_HOUSE,
+            ScoreCategory.ONES, ScoreCategory.LARGE_STRAIGHT};
+        for (ScoreCategory choice : choices) {
+            model.observe(choice, filled);
+            filled |= 1 << choice.ordinal();
+        }
+        assertEquals(choices.length, model.getObservationCount());
+
+        int[] masks = {NONE_FILLED, filled, ScoreTable.ALL_CATEGORIES & ~(1 << ScoreCategory.TWOS.ordinal()), 0b101010101010};
+        for (int mask : masks) {
+            assertEquals("mask " + mask, 1.0, openSum(model, mask), 1e-12);
+            for (ScoreCategory category : ScoreCategory.values()) {
+                if ((mask & (1 << category.ordinal())) != 0) {
+                    assertEquals(0.0, model.claimProbability(category, mask), 0);
+                }
+            }
+        }
+        // The last open category is certain
+        assertEquals(1.0, model.claimProbability(ScoreCategory.TWOS, masks[2]), 1e-12);
+    }
+
+    @Test
+    public void observe_favorsCategoriesChosenWhileOthersWereOpen() {
+        OpponentModel model = new OpponentModel();
+        for (int i = 0; i < 5; i++) {
+            model.observe(ScoreCategory.YAHTZEE, NONE_FILLED);
+        }
+        double yahtzee = model.claimProbability(ScoreCategory.YAHTZEE, NONE_FILLED);
+        for (ScoreCategory category : ScoreCategory.values()) {
+            if (category != ScoreCategory.YAHTZEE) {
+                assertTrue(category.name(), yahtzee > model.claimProbability(category, NONE_FILLED));
+            }
+        }
+    }
+
+    @Test
+    public void observe_weighsRecentHabitsMore() {
+        OpponentModel model = new OpponentModel();
+        for (int i = 0; i < 20; i++) {
+            model.observe(ScoreCategory.SIXES, NONE_FILLED);
+        }
+        for (int i = 0; i < 20; i++) {
+            model.observe(ScoreCategory.FIVES, NONE_FILLED);
+        }
+        assertTrue(model.claimProbability(ScoreCategory.FIVES, NONE_FILLED)
+            > model.claimProbability(ScoreCategory.SIXES, NONE_FILLED));
+        assertEquals(1.0, openSum(model, NONE_FILLED), 1e-12);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.yahtzee.model;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ScoreTableTest {
+    @Test
+    public void scoreAll_matchesCategoryRulesForEveryOrderedHand() {
+        int[] hands = new int[7776];
+        int[] dice = new int[PackedDice.NUM_DICE];
+        for (int h = 0; h < hands.length; h++) {
+            int rest = h;
+            for (int i = 0; i < dice.length; i++) {
+                dice[i] = rest % 6 + 1;
+                rest /= 6;
+            }
+            hands[h] = PackedDice.pack(dice);
+        }
+
+        int[] scores = new int[hands.length];
+        for (ScoreCategory category : ScoreCategory.values()) {
+            ScoreTable.scoreAll(hands, category, scores);
+            for (int h = 0; h < hands.length; h++) {
+                List<Integer> hand = PackedDice.unpack(hands[h]);
+                assertEquals(category + " " + hand, category.calculateScore(hand), scores[h]);
+                assertEquals(category + " " + hand, scores[h], ScoreTable.score(hands[h], category));
+            }
+        }
+    }
+
+    @Test
+    public void nonZeroMaskAndBestCategory_matchScores() {
+        int[] dice = new int[PackedDice.NUM_DICE];
+        for (int h = 0; h < 7776; h++) {
+            int rest = h;
+            for (int i = 0; i < dice.length; i++) {
+                dice[i] = rest % 6 + 1;
+                rest /= 6;
+            }
+            int packed = PackedDice.pack(dice);
+            int nonZero = 0;
+            for (int ordinal = 0; ordinal < ScoreTable.CATEGORIES; ordinal++) {
+                if (ScoreTable.score(packed, ordinal) > 0) nonZero |= 1 << ordinal;
+            }
+            assertEquals(nonZero, ScoreTable.nonZeroMask(packed));
+
+            for (int mask = 0; mask <= ScoreTable.ALL_CATEGORIES; mask += 13) {
+                int best = -1;
+                for (int ordinal = 0; ordinal < ScoreTable.CATEGORIES; ordinal++) {
+                    if ((mask & (1 << ordinal)) != 0
+                            && (best < 0 || ScoreTable.score(packed, ordinal) > ScoreTable.score(packed, best))) {
+                        best = ordinal;
+                    }
+                }
+                assertEquals(best, ScoreTable.bestCategory(packed, mask));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scoreAll_rejectsShortOutput() {
+        ScoreTable.scoreAll(new int[2], 0, new int[1]);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.yahtzee.model;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+    private static List<Player> humans(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < count; seat++) {
+            players.add(new HumanPlayer("Player " + seat));
+        }
+        return players;
+    }
+
+    /**
+     * Deal every turn once and score the best open category, recording the seat of each turn
+     */
+    private static List<Integer> playGreedily(Tournament tournament) {
+        List<Integer> seats = new ArrayList<>();
+        while (!tournament.isGameOver()) {
+            Player player = tournament.getCurrentPlayer();
+            seats.add(tournament.getPlayerIndex(player));
+            Turn turn = tournament.getCurrentTurn();
+            turn.dealDice();
+            int packed = PackedDice.pack(turn.getDice());
+            int open = ScoreTable.ALL_CATEGORIES & ~tournament.getScoreCard(player).getFilledMask();
+            tournament.scoreCategory(ScoreCategory.values()[ScoreTable.bestCategory(packed, open)]);
+            tournament.completeTurn();
+        }
+        return seats;
+    }
+
+    @Test
+    public void perPlayer_everySeatFillsItsOwnCardWithRotatingStarter() {
+        List<Player> players = humans(3);
+        Tournament tournament = new Tournament(null, players, ScoreCardMode.PER_PLAYER, new Dice(5));
+        List<Integer> seats = playGreedily(tournament);
+
+        assertEquals(3 * ScoreTable.CATEGORIES, seats.size());
+        for (int turn = 0; turn < seats.size(); turn++) {
+            int starter = (turn / 3) % 3;
+            assertEquals("turn " + turn, (starter + turn % 3) % 3, (int) seats.get(turn));
+        }
+        Set<ScoreCard> cards = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Player player : players) {
+            assertTrue(tournament.getScoreCard(player).isComplete());
+            cards.add(tournament.getScoreCard(player));
+        }
+        assertEquals(3, cards.size());
+        assertTrue(tournament.areScoreCardsComplete());
+    }
+
+    @Test
+    public void shared_endsWhenTheCardFillsPartWayThroughARound() {
+        Tournament tournament = new Tournament(null, humans(5), ScoreCardMode.SHARED, new Dice(5));
+        List<Integer> seats = playGreedily(tournament);
+
+        // 12 categories over 5 seats: two full rounds, then two turns of the third
+        assertEquals(ScoreTable.CATEGORIES, seats.size());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 1, 2, 3, 4, 0, 2, 3), seats);
+        assertTrue(tournament.getScoreCard().isComplete());
+    }
+
+    @Test
+    public void playerTotals_matchScoresRecomputedFromTheCards() {
+        for (long seed = 0; seed < 20; seed++) {
+            Tournament shared = new Tournament(null, humans(3), ScoreCardMode.SHARED, new Dice(seed));
+            playGreedily(shared);
+            ScoreCard card = shared.getScoreCard();
+            int sum = 0;
+            for (Player player : shared.getPlayers()) {
+                int expected = 0;
+                for (ScoreCategory category : ScoreCategory.values()) {
+                    if (shared.getCategoryScorer(category) == player) expected += card.getScore(category);
+                }
+                if (card.getUpperBonusPlayer() == player) expected += card.getUpperBonus();
+                assertEquals("seed " + seed, expected, shared.getPlayerScore(player));
+                assertEquals(card.getUpperBonusPlayer() == player ? card.getUpperBonus() : 0,
+                    shared.getPlayerUpperBonus(player));
+                sum += shared.getPlayerScore(player);
+            }
+            assertEquals(card.getTotalScore(), sum);
+
+            Tournament perPlayer = new Tournament(null, humans(3), ScoreCardMode.PER_PLAYER, new Dice(seed));
+            playGreedily(perPlayer);
+            int best = Integer.MIN_VALUE;
+            for (Player player : perPlayer.getPlayers()) {
+                assertEquals(perPlayer.getScoreCard(player).getTotalScore(), perPlayer.getPlayerScore(player));
+                assertEquals(perPlayer.getPlayerScore(player),
+                    (int) perPlayer.calculatePlayerScores().get(player));
+                best = Math.max(best, perPlayer.getPlayerScore(player));
+            }
+            assertEquals(best, perPlayer.getPlayerScore(perPlayer.determineWinner()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsASinglePlayer() {
+        new Tournament(null, humans(1), ScoreCardMode.SHARED, new Dice(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsDuplicateNames() {
+        new Tournament(null, Arrays.asList(new HumanPlayer("Same"), new HumanPlayer("Same")),
+            ScoreCardMode.PER_PLAYER, new Dice(1));
+    }
+
+    @Test
+    public void positionalDice_dealDependsOnlyOnPosition() {
+        Dice drawnFrom = new PositionalDice(11);
+        // Sequential draws made before the game must not shift any deal
+        for (int i = 0; i < 7; i++) {
+            drawnFrom.roll();
+        }
+        Tournament fresh = new Tournament(null, humans(2), ScoreCardMode.PER_PLAYER, new PositionalDice(11));
+        Tournament drawn = new Tournament(null, humans(2), ScoreCardMode.PER_PLAYER, drawnFrom);
+        while (!fresh.isGameOver()) {
+            Turn expected = fresh.getCurrentTurn();
+            Turn actual = drawn.getCurrentTurn();
+            expected.dealDice();
+            actual.dealDice();
+            assertEquals(expected.getDice(), actual.getDice());
+            int round = fresh.getCurrentRound().getRoundNumber();
+            int seat = fresh.getPlayerIndex(fresh.getCurrentPlayer());
+            for (int die = 0; die < 5; die++) {
+                assertEquals((int) expected.getDice().get(die), new PositionalDice(11).roll(round, seat, -1, die));
+            }
+            for (Tournament tournament : new Tournament[] {fresh, drawn}) {
+                Player player = tournament.getCurrentPlayer();
+                int packed = PackedDice.pack(tournament.getCurrentTurn().getDice());
+                int open = ScoreTable.ALL_CATEGORIES & ~tournament.getScoreCard(player).getFilledMask();
+                tournament.scoreCategory(ScoreCategory.values()[ScoreTable.bestCategory(packed, open)]);
+                tournament.completeTurn();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.yahtzee.replay;
+
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.simulation.HeadlessTournament;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ReplayEngineTest {
+    private static Tournament playPerPlayerGame() {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < 3; seat++) {
+            players.add(new ComputerPlayer("Computer " + seat, null, ComputerPlayerParameters.defaults()));
+        }
+        return HeadlessTournament.play(
+            new Tournament(null, players, ScoreCardMode.PER_PLAYER, new PositionalDice(42)));
+    }
+
+    private static void assertSameGame(Tournament expected, Tournament actual) {
+        assertEquals(expected.getScoreCardMode(), actual.getScoreCardMode());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+        assertEquals(expected.getCurrentTurn().getDice(), actual.getCurrentTurn().getDice());
+        assertEquals(expected.getPlayerIndex(expected.getCurrentPlayer()),
+            actual.getPlayerIndex(actual.getCurrentPlayer()));
+        for (int seat = 0; seat < expected.getPlayers().size(); seat++) {
+            Player e = expected.getPlayers().get(seat);
+            Player a = actual.getPlayers().get(seat);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getClass(), a.getClass());
+            assertEquals(expected.getPlayerScore(e), actual.getPlayerScore(a));
+            ScoreCard expectedCard = expected.getScoreCard(e);
+            ScoreCard actualCard = actual.getScoreCard(a);
+            assertEquals(expectedCard.getFilledMask(), actualCard.getFilledMask());
+            for (ScoreCategory category : ScoreCategory.values()) {
+                assertEquals(expectedCard.getScore(category), actualCard.getScore(category));
+            }
+        }
+    }
+
+    @Test
+    public void replayAll_reproducesPerPlayerGameOnPositionalDice() {
+        Tournament played = playPerPlayerGame();
+        Tournament replayed = ReplayEngine.of(played).replayAll();
+        assertTrue(replayed.isGameOver());
+        assertSameGame(played, replayed);
+        assertEquals(played.getDecisionLog().size(), replayed.getDecisionLog().size());
+    }
+
+    @Test
+    public void seek_matchesReplayFromStartAtEveryStep() {
+        Tournament played = playPerPlayerGame();
+        ReplayEngine indexed = new ReplayEngine(played::newGame, played.getDecisionLog(), 5);
+        ReplayEngine unindexed = new ReplayEngine(played::newGame, played.getDecisionLog(), Integer.MAX_VALUE);
+        int steps = indexed.getStepCount();
+        // Seek backwards and forwards so later seeks start from checkpoints
+        for (int step : new int[] {steps, steps / 2, 0, steps - 1, 7, steps / 3}) {
+            assertSameGame(new ReplayEngine(played::newGame, played.getDecisionLog(), Integer.MAX_VALUE).seek(step),
+                indexed.seek(step));
+            assertSameGame(unindexed.seek(step), indexed.seek(step));
+        }
+    }
+
+    @Test
+    public void seek_returnsIndependentCopies() {
+        Tournament played = playPerPlayerGame();
+        ReplayEngine engine = ReplayEngine.of(played);
+        Tournament first = engine.seek(20);
+        Tournament copy = engine.seek(20);
+        Turn turn = first.getCurrentTurn();
+        if (turn.getRollsLeft() > 0) turn.roll();
+        first.skipTurn();
+        assertSameGame(engine.seek(20), copy);
+    }
+
+    @Test
+    public void seedConstructor_replaysDefaultGame() {
+        Tournament played = new Tournament(null, 7);
+        Turn turn = played.getCurrentTurn();
+        turn.dealDice();
+        turn.holdDie(0);
+        turn.roll();
+        played.scoreCategory(ScoreCategory.THREE_OF_A_KIND);
+        played.completeTurn();
+
+        ReplayEngine engine = new ReplayEngine(7, played.getDecisionLog());
+        assertSameGame(played, engine.replayAll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void seek_rejectsStepPastLog() {
+        Tournament played = playPerPlayerGame();
+        ReplayEngine engine = ReplayEngine.of(played);
+        engine.seek(engine.getStepCount() + 1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.model.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StrategyComparisonTest {
+    private static ComputerPlayerParameters impatient() {
+        // Keeps almost any first roll, so it scores far below the defaults
+        return ComputerPlayerParameters.defaults()
+            .with(ComputerPlayerParameters.Parameter.MIN_ROLL_THRESHOLD, 0.0)
+            .with(ComputerPlayerParameters.Parameter.MAX_ROLL_THRESHOLD, 0.5)
+            .with(ComputerPlayerParameters.Parameter.ROLL_THRESHOLD_DEFAULT, 0.3);
+    }
+
+    @Test
+    public void inverseNormal_matchesKnownQuantiles() {
+        assertEquals(0.0, StrategyComparison.inverseNormal(0.5), 1e-9);
+        assertEquals(1.959964, StrategyComparison.inverseNormal(0.975), 1e-6);
+        assertEquals(2.575829, StrategyComparison.inverseNormal(0.995), 1e-6);
+        // Tail branch of the approximation
+        assertEquals(-3.090232, StrategyComparison.inverseNormal(0.001), 1e-6);
+        for (double p : new double[] {0.001, 0.01, 0.2, 0.4}) {
+            assertEquals(-StrategyComparison.inverseNormal(p), StrategyComparison.inverseNormal(1 - p), 1e-8);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void inverseNormal_rejectsCertainty() {
+        StrategyComparison.inverseNormal(1.0);
+    }
+
+    @Test
+    public void pairedStatistics_matchesTwoPassFormulas() {
+        double[] a = {100, 140, 180, 120, 210, 160};
+        double[] b = {110, 135, 200, 130, 205, 180};
+        StrategyComparison.PairedStatistics statistics = new StrategyComparison.PairedStatistics();
+        for (int i = 0; i < a.length; i++) {
+            statistics.add(a[i], b[i]);
+        }
+
+        int n = a.length;
+        double meanDiff = 0;
+        double meanA = 0;
+        double meanB = 0;
+        for (int i = 0; i < n; i++) {
+            meanDiff += (b[i] - a[i]) / n;
+            meanA += a[i] / n;
+            meanB += b[i] / n;
+        }
+        double sumDiff = 0;
+        double sumA = 0;
+        double sumB = 0;
+        for (int i = 0; i < n; i++) {
+            sumDiff += Math.pow(b[i] - a[i] - meanDiff, 2);
+            sumA += Math.pow(a[i] - meanA, 2);
+            sumB += Math.pow(b[i] - meanB, 2);
+        }
+        assertEquals(meanDiff, statistics.meanDifference(), 1e-9);
+        assertEquals(sumDiff / (n - 1), statistics.varianceDifference(), 1e-9);
+        assertEquals(Math.sqrt(sumDiff / (n - 1) / n), statistics.standardError(), 1e-9);
+        // Correlated scores: the paired variance is far smaller than the unpaired one
+        assertEquals((sumA + sumB) / sumDiff, statistics.varianceReduction(), 1e-9);
+        assertTrue(statistics.varianceReduction() > 10);
+    }
+
+    @Test
+    public void pairedStatistics_hasNoErrorEstimateFromOneGame() {
+        StrategyComparison.PairedStatistics statistics = new StrategyComparison.PairedStatistics();
+        statistics.add(150, 160);
+        assertEquals(10.0, statistics.meanDifference(), 0);
+        assertEquals(Double.POSITIVE_INFINITY, statistics.standardError(), 0);
+        assertTrue(Double.isNaN(statistics.varianceReduction()));
+    }
+
+    @Test
+    public void run_identicalStrategiesStopAtMinGamesWithZeroDifference() {
+        StrategyComparison comparison = new StrategyComparison(
+            () -> new ComputerPlayer(null, ComputerPlayerParameters.defaults()),
+            () -> new ComputerPlayer(null, ComputerPlayerParameters.defaults()));
+        comparison.setMinGames(100);
+        comparison.setBatchSize(50);
+        comparison.setMaxGames(1000);
+        ComparisonResult result = comparison.run();
+
+        // Common random numbers: the same strategy on the same seed scores the same
+        assertEquals(100, result.getGames());
+        assertTrue(result.isStoppedEarly());
+        assertEquals(0.0, result.getMeanDifference(), 0);
+        assertEquals(result.getBaselineMean(), result.getCandidateMean(), 0);
+        assertEquals(ComparisonResult.Verdict.INCONCLUSIVE, result.getVerdict());
+    }
+
+    @Test
+    public void run_stopsEarlyOnceTheIntervalExcludesZero() {
+        StrategyComparison comparison = new StrategyComparison(
+            () -> new ComputerPlayer(null, impatient()),
+            () -> new ComputerPlayer(null, ComputerPlayerParameters.defaults()));
+        comparison.setMinGames(100);
+        comparison.setBatchSize(100);
+        comparison.setMaxGames(2000);
+        ComparisonResult result = comparison.run();
+
+        assertEquals(ComparisonResult.Verdict.CANDIDATE_BETTER, result.getVerdict());
+        assertTrue(result.isStoppedEarly());
+        assertTrue(result.getGames() < 2000);
+        assertEquals(result.getCandidateMean() - result.getBaselineMean(), result.getMeanDifference(), 1e-9);
+        assertTrue(result.getLowerBound() > 0);
+    }
+
+    @Test
+    public void run_widensTheIntervalForEveryInterimLook() {
+        ComparisonResult[] results = new ComparisonResult[2];
+        int[] maxGames = {100, 1000};
+        for (int i = 0; i < 2; i++) {
+            StrategyComparison comparison = new StrategyComparison(
+                () -> new ComputerPlayer(null, impatient()),
+                () -> new ComputerPlayer(null, ComputerPlayerParameters.defaults()));
+            comparison.setMinGames(100);
+            comparison.setBatchSize(100);
+            comparison.setMaxGames(maxGames[i]);
+            results[i] = comparison.run();
+        }
+
+        // Both runs stop after the same 100 games; one planned look uses z(0.975),
+        // ten looks split the error budget and use z(1 - 0.025 / 10)
+        assertEquals(100, results[0].getGames());
+        assertEquals(100, results[1].getGames());
+        assertFalse(results[0].isStoppedEarly());
+        assertEquals(results[0].getMeanDifference(), results[1].getMeanDifference(), 0);
+        double single = results[0].getUpperBound() - results[0].getLowerBound();
+        double bonferroni = results[1].getUpperBound() - results[1].getLowerBound();
+        assertEquals(StrategyComparison.inverseNormal(1 - 0.025 / 10) / StrategyComparison.inverseNormal(0.975),
+            bonferroni / single, 1e-9);
+    }
+}
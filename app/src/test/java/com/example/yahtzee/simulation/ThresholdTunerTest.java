@@ -0,0 +1,78 @@
+package com.example.yahtzee.simulation;
+
+import com.example.yahtzee.model.*;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ThresholdTunerTest {
+    private static ThresholdTuner smallTuner(long seed) {
+        ThresholdTuner tuner = new ThresholdTuner();
+        tuner.setBaseSeed(seed);
+        tuner.setGenerations(3);
+        tuner.setPopulationSize(6);
+        tuner.setGamesPerCandidate(20);
+        tuner.setEliteFraction(0.5);
+        return tuner;
+    }
+
+    @Test
+    public void evaluate_scoresEveryCandidateOnTheSameSeeds() {
+        ThresholdTuner tuner = smallTuner(5);
+        ComputerPlayerParameters defaults = ComputerPlayerParameters.defaults();
+        ComputerPlayerParameters[] population = {defaults, defaults};
+        double[] scores = tuner.evaluate(population, 40);
+
+        long total = 0;
+        for (long seed = 40; seed < 60; seed++) {
+            total += SoloGame.play(new ComputerPlayer(null, defaults), new PositionalDice(seed)).getTotalScore();
+        }
+        assertEquals(total / 20.0, scores[0], 1e-9);
+        assertEquals(scores[0], scores[1], 0);
+    }
+
+    @Test
+    public void tune_reportsEveryGenerationAndNeverLosesTheBestScore() {
+        ThresholdTuner tuner = smallTuner(11);
+        List<Double> bestScores = new ArrayList<>();
+        List<Integer> generations = new ArrayList<>();
+        tuner.setListener((generation, eliteMean, best, bestScore) -> {
+            generations.add(generation);
+            bestScores.add(bestScore);
+            assertTrue(eliteMean <= bestScore);
+        });
+        tuner.tune();
+
+        assertEquals(Arrays.asList(0, 1, 2), generations);
+        for (int i = 1; i < bestScores.size(); i++) {
+            assertTrue(bestScores.get(i) >= bestScores.get(i - 1));
+        }
+    }
+
+    @Test
+    public void tune_isReproducibleAndKeepsOpponentParametersAtDefault() {
+        ComputerPlayerParameters first = smallTuner(3).tune();
+        ComputerPlayerParameters second = smallTuner(3).tune();
+
+        assertEquals(first, second);
+        // Solo games cannot measure denial, so the search leaves it alone
+        ComputerPlayerParameters.Parameter denial = ComputerPlayerParameters.Parameter.DENIAL_WEIGHT;
+        assertEquals(denial.getDefaultValue(), first.get(denial), 0);
+        for (ComputerPlayerParameters.Parameter parameter : ComputerPlayerParameters.Parameter.values()) {
+            assertTrue(first.get(parameter) >= parameter.getMin());
+            assertTrue(first.get(parameter) <= parameter.getMax());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setPopulationSize_rejectsASingleCandidate() {
+        new ThresholdTuner().setPopulationSize(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setEliteFraction_rejectsAnEmptyElite() {
+        new ThresholdTuner().setEliteFraction(0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.yahtzee.solver;
+
+import com.example.yahtzee.model.*;
+import com.example.yahtzee.simulation.HeadlessTournament;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class CompactValueTableTest {
+    private static OptimalSolver solver;
+
+    @BeforeClass
+    public static void solve() {
+        solver = OptimalSolver.solve();
+    }
+
+    @Test
+    public void solver_expectedScoreOfEmptyCard() {
+        assertEquals(205.95, solver.expectedScore(0, 0), 0.01);
+        assertEquals(0, solver.expectedScore(OptimalSolver.FULL_MASK, 0), 0);
+    }
+
+    @Test
+    public void encode16_decodesEveryStateClosely() {
+        CompactValueTable table = CompactValueTable.encode(solver, 16, false);
+        for (int mask = 0; mask < OptimalSolver.FULL_MASK; mask++) {
+            assertTrue(table.covers(mask, 0));
+            for (int upper = 0; upper <= OptimalSolver.maxUpper(mask); upper++) {
+                assertEquals(solver.expectedScore(mask, upper), table.expectedScore(mask, upper), 0.01);
+            }
+        }
+    }
+
+    @Test
+    public void writeAndRead_roundTrips() throws IOException {
+        CompactValueTable table = CompactValueTable.encode(solver, 8, true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.write(out);
+        CompactValueTable read = CompactValueTable.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(table.getBits(), read.getBits());
+        assertEquals(table.getStateCount(), read.getStateCount());
+        for (int mask = 0; mask < OptimalSolver.FULL_MASK; mask++) {
+            if (!table.covers(mask, 0)) continue;
+            for (int upper = 0; upper < OptimalSolver.UPPER_STATES; upper++) {
+                assertEquals(table.expectedScore(mask, upper), read.expectedScore(mask, upper), 0);
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsOtherData() throws IOException {
+        CompactValueTable.read(new ByteArrayInputStream(new byte[64]));
+    }
+
+    @Test
+    public void loadDefault_matchesSolverOnStartingCard() {
+        CompactValueTable table = CompactValueTable.loadDefault();
+        assertEquals(8, table.getBits());
+        assertTrue(table.covers(0, 0));
+        assertEquals(solver.expectedScore(0, 0), table.expectedScore(0, 0), 1.0);
+        assertEquals(solver.turnValue(0, 0), table.turnValue(0, 0), 1.0);
+    }
+
+    @Test
+    public void bundledTable_drivesComputerOnItsOwnCard() {
+        Player computer = new OptimalPlayer("Computer", null, CompactValueTable.loadDefault());
+        Player opponent = new ComputerPlayer("Opponent", null, ComputerPlayerParameters.defaults());
+        Tournament tournament = HeadlessTournament.play(new Tournament(null, Arrays.asList(opponent, computer),
+            ScoreCardMode.PER_PLAYER, new PositionalDice(3)));
+
+        assertTrue(tournament.getScoreCard(computer).isComplete());
+        int decided = 0;
+        for (List<TurnRecord> turn : tournament.getCompletedTurns()) {
+            TurnRecord last = turn.get(turn.size() - 1);
+            if (last.getPlayer() == computer) {
+                // Categories chosen from the table come with its expected points
+                assertTrue(last.getExplanation(), last.getExplanation().contains("points to come"));
+                decided++;
+            }
+        }
+        assertEquals(ScoreTable.CATEGORIES, decided);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.yahtzee.solver;
+
+import com.example.yahtzee.model.ScoreCategory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+
+import static org.junit.Assert.*;
+
+public class LazySolverTest {
+    // Eight categories filled: small enough to solve from scratch in a test
+    private static final int LATE_MASK = 0b1011_0110_1011;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Exact values of every state from LATE_MASK on, by the layered backward pass
+     */
+    private static OptimalSolver solveLate() {
+        float[] expected = new float[(OptimalSolver.FULL_MASK + 1) * OptimalSolver.UPPER_STATES];
+        OptimalSolver solver = new OptimalSolver(expected);
+        for (int layer = OptimalSolver.CATEGORIES - 1; layer >= Integer.bitCount(LATE_MASK); layer--) {
+            for (int mask = 0; mask < OptimalSolver.FULL_MASK; mask++) {
+                if (Integer.bitCount(mask) != layer || (mask & LATE_MASK) != LATE_MASK) continue;
+                for (int upper = 0; upper <= OptimalSolver.maxUpper(mask); upper++) {
+                    expected[mask * OptimalSolver.UPPER_STATES + upper] = (float) solver.turnValue(mask, upper);
+                }
+            }
+        }
+        return solver;
+    }
+
+    @Test
+    public void expectedScore_matchesFullSolve() {
+        OptimalSolver exact = solveLate();
+        LazySolver lazy = new LazySolver();
+        for (int upper = 0; upper <= OptimalSolver.maxUpper(LATE_MASK); upper += 7) {
+            assertEquals(exact.expectedScore(LATE_MASK, upper), lazy.expectedScore(LATE_MASK, upper), 1e-3);
+        }
+        assertEquals(exact.turnValue(LATE_MASK, 20), lazy.evaluator(LATE_MASK, 20).turnValue(), 1e-3);
+    }
+
+    @Test
+    public void smallCache_staysBoundedAndCorrect() {
+        OptimalSolver exact = solveLate();
+        LazySolver lazy = new LazySolver(20);
+        for (int upper = 0; upper <= OptimalSolver.maxUpper(LATE_MASK); upper += 5) {
+            assertEquals(exact.expectedScore(LATE_MASK, upper), lazy.expectedScore(LATE_MASK, upper), 1e-3);
+            assertTrue(lazy.getCachedStateCount() <= 20);
+        }
+    }
+
+    @Test
+    public void saveAndLoad_keepsCachedStates() throws IOException {
+        LazySolver warm = new LazySolver();
+        double value = warm.expectedScore(LATE_MASK, 10);
+        File file = folder.newFile("cache.bin");
+        warm.save(file);
+
+        LazySolver restored = new LazySolver();
+        assertEquals(warm.getCachedStateCount(), restored.load(file));
+        assertEquals(value, restored.expectedScore(LATE_MASK, 10), 0);
+        assertEquals(0, restored.getComputedStateCount());
+    }
+
+    @Test
+    public void prewarm_keepsEarlyLayersForLaterLookups() {
+        LazySolver lazy = new LazySolver();
+        assertTrue(lazy.prewarm() > LazySolver.DEFAULT_CACHE_SIZE);
+        assertEquals(LazySolver.DEFAULT_CACHE_SIZE, lazy.getCachedStateCount());
+        assertEquals(0, lazy.prewarm());
+        long computed = lazy.getComputedStateCount();
+        // A card after the first turn and the cards one category on are all cached
+        lazy.evaluator(1 << ScoreCategory.FOURS.ordinal(), 12);
+        assertEquals(computed, lazy.getComputedStateCount());
+    }
+
+    @Test
+    public void load_missingFileIsEmpty() throws IOException {
+        assertEquals(0, new LazySolver().load(new File(folder.getRoot(), "absent.bin")));
+    }
+
+    @Test(expected = IOException.class)
+    public void load_rejectsFullCardKey() throws IOException {
+        File file = folder.newFile("corrupt.bin");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x595a4c53);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(OptimalSolver.FULL_MASK * OptimalSolver.UPPER_STATES);
+            out.writeFloat(0f);
+        }
+        new LazySolver().load(file);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.yahtzee.solver;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ShardedSolverTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final int TOP = OptimalSolver.CATEGORIES - 1;
+
+    // Shards each launch computed, as layer * 100 + shard
+    private final List<Integer> launched = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Runs the shards of a layer one after another in this JVM, skipping finished ones
+     */
+    private final ShardedSolver.WorkerLauncher inProcess = (directory, layer, shards) -> {
+        for (int shard = 0; shard < shards; shard++) {
+            if (!ShardedSolver.isShardDone(directory, layer, shard, shards)) {
+                ShardedSolver.solveShard(directory, layer, shard, shards);
+                launched.add(layer * 100 + shard);
+            }
+        }
+    };
+
+    /**
+     * A directory with the top layer merged and every shard of the next one written
+     */
+    private ShardedSolver solveTopLayers(File directory, int shards) throws Exception {
+        ShardedSolver sharded = new ShardedSolver(directory, shards);
+        inProcess.runLayer(directory, TOP, shards);
+        sharded.merge(TOP);
+        inProcess.runLayer(directory, TOP - 1, shards);
+        launched.clear();
+        return sharded;
+    }
+
+    private static void truncate(File file) throws IOException {
+        try (RandomAccessFile access = new RandomAccessFile(file, "rw")) {
+            access.setLength(access.length() - 7);
+        }
+    }
+
+    @Test
+    public void solve_mergesShardsIntoTheSingleProcessValues() throws Exception {
+        ShardedSolver sharded = new ShardedSolver(folder.newFolder("solve"), 3);
+        sharded.setLauncher(inProcess);
+        OptimalSolver merged = sharded.solve();
+        OptimalSolver single = OptimalSolver.solve();
+
+        assertEquals(3 * OptimalSolver.CATEGORIES, launched.size());
+        for (int mask = 0; mask < OptimalSolver.FULL_MASK; mask++) {
+            for (int upper = 0; upper <= OptimalSolver.maxUpper(mask); upper++) {
+                assertEquals(single.expectedScore(mask, upper), merged.expectedScore(mask, upper), 0);
+            }
+        }
+    }
+
+    @Test
+    public void resume_recomputesOnlyTruncatedShard() throws Exception {
+        File directory = folder.newFolder("resume");
+        ShardedSolver sharded = solveTopLayers(directory, 3);
+        truncate(ShardedSolver.shardFile(directory, TOP - 1, 1, 3));
+
+        inProcess.runLayer(directory, TOP - 1, 3);
+        assertEquals(Collections.singletonList((TOP - 1) * 100 + 1), launched);
+        sharded.merge(TOP - 1);
+        assertTrue(ShardedSolver.isComplete(ShardedSolver.layerFile(directory, TOP - 1), TOP - 1,
+            ShardedSolver.shardMasks(TOP - 1, 0, 1).length));
+    }
+
+    @Test
+    public void resume_redoesTruncatedLayerAndKeepsWholeOnes() throws Exception {
+        File directory = folder.newFolder("layers");
+        ShardedSolver sharded = solveTopLayers(directory, 2);
+        sharded.merge(TOP - 1);
+        truncate(ShardedSolver.layerFile(directory, TOP - 1));
+        sharded.setLauncher(inProcess);
+        sharded.solve();
+
+        // The top layer was kept; the truncated one and all below it were solved
+        for (int shard : launched) {
+            assertTrue(shard / 100 <= TOP - 1);
+        }
+        assertTrue(launched.contains((TOP - 1) * 100));
+    }
+
+    @Test(expected = IOException.class)
+    public void merge_rejectsTruncatedShard() throws Exception {
+        File directory = folder.newFolder("truncated");
+        ShardedSolver sharded = solveTopLayers(directory, 3);
+        truncate(ShardedSolver.shardFile(directory, TOP - 1, 2, 3));
+        sharded.merge(TOP - 1);
+    }
+
+    @Test
+    public void merge_rejectsStrayShardWithAnotherShardsMasks() throws Exception {
+        File directory = folder.newFolder("stray");
+        ShardedSolver sharded = solveTopLayers(directory, 3);
+        // Layer 10 has 66 masks, 22 per shard, so the copy looks complete
+        Files.copy(ShardedSolver.shardFile(directory, TOP - 1, 1, 3).toPath(),
+            ShardedSolver.shardFile(directory, TOP - 1, 0, 3).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertTrue(ShardedSolver.isShardDone(directory, TOP - 1, 0, 3));
+        try {
+            sharded.merge(TOP - 1);
+            fail("merged a layer with a duplicated shard");
+        } catch (IOException e) {
+            assertFalse(ShardedSolver.layerFile(directory, TOP - 1).exists());
+        }
+    }
+
+    @Test
+    public void merge_ignoresShardsOfAnotherShardCount() throws Exception {
+        File directory = folder.newFolder("other-count");
+        ShardedSolver sharded = solveTopLayers(directory, 3);
+        File other = ShardedSolver.shardFile(directory, TOP - 1, 0, 5);
+        Files.copy(ShardedSolver.shardFile(directory, TOP - 1, 0, 3).toPath(), other.toPath());
+        sharded.merge(TOP - 1);
+        assertTrue(ShardedSolver.layerFile(directory, TOP - 1).isFile());
+    }
+
+    @Test
+    public void solve_reportsPeriodicallyWhileLayersRun() throws Exception {
+        ShardedSolver sharded = new ShardedSolver(folder.newFolder("solve"), 2);
+        sharded.setLauncher(inProcess);
+        sharded.setReportIntervalMillis(100);
+        List<ShardedSolver.Progress> reports = Collections.synchronizedList(new ArrayList<>());
+        sharded.setListener(reports::add);
+        sharded.solve();
+
+        Set<Long> layerBoundaries = new HashSet<>();
+        long done = 0;
+        for (int layer = OptimalSolver.CATEGORIES - 1; layer >= 0; layer--) {
+            done += ShardedSolver.layerStates(layer);
+            layerBoundaries.add(done);
+        }
+        boolean midLayer = false;
+        for (ShardedSolver.Progress progress : reports) {
+            if (progress.getWorkers() > 0) {
+                // A worker's own count and heap, part-way through a layer
+                assertFalse(layerBoundaries.contains(progress.getStatesDone()));
+                assertTrue(progress.getWorkerMemory() > 0);
+                assertTrue(progress.getStatesPerSecond() > 0);
+                midLayer = true;
+            }
+        }
+        assertTrue("no report from a running layer", midLayer);
+        ShardedSolver.Progress last = reports.get(reports.size() - 1);
+        assertEquals(last.getTotalStates(), last.getStatesDone());
+        assertEquals(0, last.getEtaMillis());
+    }
+}